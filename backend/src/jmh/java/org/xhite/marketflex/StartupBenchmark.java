@@ -0,0 +1,119 @@
+package org.xhite.marketflex;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from process start until {@code GET /api/v1/products} answers 200, for the plain
+ * boot jar and for the fast-startup directory built by {@code ./gradlew startupArchive}
+ * (Spring AOT, class archive, {@code fast-startup} profile). That is how long a new
+ * instance takes to be useful when scaling out, so it includes JVM start, context
+ * refresh, Flyway, the connection pool and the first dispatch. Not a JMH benchmark: each
+ * sample is a fresh JVM.
+ *
+ * <p>Run with {@code ./gradlew startupBenchmark [-Pstartup.runs=5]}. The application
+ * connects to the database from DB_URL, DB_USER and DB_PASSWORD like a normal start.
+ * Each run's output goes to {@code build/fast-startup/benchmark-*.log}.
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private final String java = ProcessHandle.current().info().command().orElse("java");
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    private final File bootJar;
+    private final File fastStartupDir;
+
+    private StartupBenchmark(File bootJar, File fastStartupDir) {
+        this.bootJar = bootJar;
+        this.fastStartupDir = fastStartupDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark(new File(args[0]), new File(args[1]));
+        int runs = Integer.parseInt(args[2]);
+        List<String> plain = List.of("-jar", benchmark.bootJar.getAbsolutePath());
+        List<String> fast = List.of("@java.args", "-jar", benchmark.bootJar.getName());
+
+        List<Long> plainMillis = new ArrayList<>();
+        List<Long> fastMillis = new ArrayList<>();
+        // Alternate so that disk cache and database state favour neither
+        for (int i = 0; i < runs; i++) {
+            plainMillis.add(benchmark.timeToFirstRequest("jar", i, plain));
+            fastMillis.add(benchmark.timeToFirstRequest("fast-startup", i, fast));
+        }
+        System.out.printf("%-14s %5s %8s %8s %8s%n", "Mode", "Runs", "Min ms", "Median", "Max ms");
+        report("jar", plainMillis);
+        report("fast-startup", fastMillis);
+    }
+
+    private long timeToFirstRequest(String mode, int run, List<String> launch) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(launch);
+        command.add("--server.port=" + port);
+        Path log = fastStartupDir.toPath().resolve("benchmark-" + mode + "-" + run + ".log");
+        Process process = new ProcessBuilder(command)
+            .directory(fastStartupDir)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/products"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (ok(request)) {
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    System.out.printf("%s run %d: %d ms%n", mode, run + 1, millis);
+                    return millis;
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(mode + " did not answer within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private boolean ok(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(String mode, List<Long> millis) {
+        Long[] sorted = millis.toArray(Long[]::new);
+        Arrays.sort(sorted);
+        System.out.printf("%-14s %5d %8d %8d %8d%n", mode, sorted.length, sorted[0], sorted[sorted.length / 2],
+            Collections.max(millis));
+    }
+}
@@ -0,0 +1,148 @@
+package org.xhite.marketflex.config;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.xhite.marketflex.dto.OrderDto;
+import org.xhite.marketflex.dto.OrderItemDto;
+import org.xhite.marketflex.dto.ProductDto;
+import org.xhite.marketflex.model.enums.OrderStatus;
+import org.xhite.marketflex.model.enums.PaymentMethod;
+
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Writing and reading a 100-product list and a 20-order history (three items each)
+ * as JSON, CBOR and Smile, with the mappers the API negotiates between. Writing is the
+ * server's cost per response, reading the client's. Payload sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatsBenchmark {
+
+    private static final TypeReference<List<ProductDto>> PRODUCTS = new TypeReference<>() {};
+
+    private static final TypeReference<List<OrderDto>> ORDERS = new TypeReference<>() {};
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"products", "orders"})
+    private String payload;
+
+    private ObjectMapper mapper;
+    private List<?> value;
+    private TypeReference<? extends List<?>> type;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = switch (format) {
+            case "json" -> JsonMapper.builder().build();
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> new JacksonConfig()
+                .smileMapper(new StaticListableBeanFactory().getBeanProvider(JacksonModule.class));
+            default -> throw new IllegalArgumentException(format);
+        };
+        List<ProductDto> products = products(100);
+        if (payload.equals("products")) {
+            value = products;
+            type = PRODUCTS;
+        } else {
+            value = orders(20, products);
+            type = ORDERS;
+        }
+        encoded = mapper.writeValueAsBytes(value);
+        System.out.printf("%n%s %s: %d bytes%n", payload, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] write() {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public List<?> read() {
+        return mapper.readValue(encoded, type);
+    }
+
+    private static List<ProductDto> products(int count) {
+        List<ProductDto> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String image = "https://storage.googleapis.com/marketflex/products/" + i + ".jpg";
+            products.add(ProductDto.builder()
+                .id((long) i)
+                .name("Product " + i)
+                .description("Hand-finished oak with a matte oil coating, shipped flat-packed. ".repeat(4))
+                .price(BigDecimal.valueOf(1999 + i, 2))
+                .stockQuantity(12 + i)
+                .categoryId(3L)
+                .categoryName("Home & Living")
+                .imageUrl(image)
+                .thumbnailUrl(image.replace(".jpg", "-thumb.webp"))
+                .cardImageUrl(image.replace(".jpg", "-card.webp"))
+                .detailImageUrl(image.replace(".jpg", "-detail.webp"))
+                .active(true)
+                .vendorId(7L)
+                .vendorStoreName("HomeNest Living")
+                .build());
+        }
+        return products;
+    }
+
+    private static List<OrderDto> orders(int count, List<ProductDto> products) {
+        LocalDateTime placed = LocalDateTime.of(2025, 3, 14, 9, 30);
+        List<OrderDto> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<OrderItemDto> items = new ArrayList<>(3);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int j = 0; j < 3; j++) {
+                ProductDto product = products.get((i * 3 + j) % products.size());
+                BigDecimal subtotal = product.price().multiply(BigDecimal.valueOf(j + 1));
+                items.add(OrderItemDto.builder()
+                    .id((long) (i * 3 + j))
+                    .product(product)
+                    .quantity(j + 1)
+                    .price(product.price())
+                    .subtotal(subtotal)
+                    .build());
+                total = total.add(subtotal);
+            }
+            orders.add(OrderDto.builder()
+                .id((long) i)
+                .totalPrice(total)
+                .status(OrderStatus.values()[i % OrderStatus.values().length])
+                .shippingAddress("221B Baker Street, London NW1 6XE")
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .items(items)
+                .createdAt(placed.plusDays(i))
+                .updatedAt(placed.plusDays(i).plusHours(2))
+                .build());
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,142 @@
+package org.xhite.marketflex.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Database loads per expiry of one hot list under 500 concurrent readers, with a 20 ms
+ * sleep standing in for the query. {@code expireOnly} is the previous setup: the entry
+ * expires and every reader that misses before it is back runs the query.
+ * {@code refreshAhead} is how {@link CacheConfig} declares caches now: synchronized
+ * misses, and a single background reload per refresh period while readers keep getting
+ * the old list. Loads per period are printed after each iteration next to throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@Threads(500)
+public class CacheStampedeBenchmark {
+
+    private static final Duration PERIOD = Duration.ofMillis(100);
+
+    private static final AtomicLong LOADS = new AtomicLong();
+
+    @State(Scope.Benchmark)
+    public static class CatalogState {
+        @Param({"expireOnly", "refreshAhead"})
+        String mode;
+
+        AnnotationConfigApplicationContext context;
+        Catalog catalog;
+        boolean refreshAhead;
+        long loadsAtStart;
+        long startNanos;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            refreshAhead = mode.equals("refreshAhead");
+            context = new AnnotationConfigApplicationContext();
+            context.register(CachingConfig.class);
+            context.registerBean(Catalog.class);
+            context.registerBean(CacheManager.class, () -> {
+                CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+                cacheManager.setCacheNames(List.of());
+                if (refreshAhead) {
+                    CacheSpec.builder()
+                        .name(CacheNames.CATEGORIES)
+                        .maximumWeight(2_000)
+                        .expireAfterWrite(PERIOD.multipliedBy(10))
+                        .refreshAfterWrite(PERIOD)
+                        .build()
+                        .registerWith(cacheManager, key -> Catalog.query());
+                } else {
+                    CacheSpec.builder()
+                        .name(CacheNames.CATEGORIES)
+                        .maximumWeight(2_000)
+                        .expireAfterWrite(PERIOD)
+                        .build()
+                        .registerWith(cacheManager, null);
+                }
+                return cacheManager;
+            });
+            context.refresh();
+            catalog = context.getBean(Catalog.class);
+        }
+
+        @Setup(Level.Iteration)
+        public void startIteration() {
+            loadsAtStart = LOADS.get();
+            startNanos = System.nanoTime();
+        }
+
+        @TearDown(Level.Iteration)
+        public void reportLoads() {
+            double periods = (double) (System.nanoTime() - startNanos) / PERIOD.toNanos();
+            System.out.printf("%n%s: %.1f loads per %d ms period%n",
+                mode, (LOADS.get() - loadsAtStart) / periods, PERIOD.toMillis());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+    }
+
+    public static class Catalog {
+
+        @Cacheable(cacheNames = CacheNames.CATEGORIES, key = "'all'")
+        public List<String> expireOnly() {
+            return query();
+        }
+
+        @Cacheable(cacheNames = CacheNames.CATEGORIES, key = "'all'", sync = true)
+        public List<String> refreshAhead() {
+            return query();
+        }
+
+        static List<String> query() {
+            LOADS.incrementAndGet();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("Electronics", "Books", "Garden");
+        }
+    }
+
+    @Benchmark
+    public List<String> read(CatalogState state) {
+        return state.refreshAhead ? state.catalog.refreshAhead() : state.catalog.expireOnly();
+    }
+}
@@ -0,0 +1,138 @@
+package org.xhite.marketflex.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Requests per millisecond when each one logs like a stock update does: two INFO lines
+ * from {@code ProductServiceImpl} and one from {@code OrderServiceImpl}, as ECS JSON,
+ * around a little work of its own. The sink is a file flushed per event, which stands
+ * in for a console that is a pipe to the container runtime.
+ *
+ * <ul>
+ * <li>{@code sync}: encoder and write on the request thread, as before.
+ * <li>{@code async}: {@link AsyncLogAppender} in front of the same file appender.
+ * <li>{@code sampled}: async plus the default {@link LogSamplingFilter} limits.
+ * </ul>
+ *
+ * Async numbers include events lost to a full queue, printed at the end of each trial;
+ * on a single CPU the writer thread competes with the request thread for it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+@Threads(1)
+public class LoggingPipelineBenchmark {
+
+    private static final String PRODUCT_LOGGER = "org.xhite.marketflex.service.impl.ProductServiceImpl";
+    private static final String ORDER_LOGGER = "org.xhite.marketflex.service.impl.OrderServiceImpl";
+
+    @State(Scope.Benchmark)
+    public static class PipelineState {
+
+        @Param({"sync", "async", "sampled"})
+        String pipeline;
+
+        LoggerContext context;
+        Logger products;
+        Logger orders;
+        AsyncLogAppender async;
+        LogSamplingFilter sampling;
+        File file;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            context = new LoggerContext();
+            context.setMDCAdapter(new LogbackMDCAdapter());
+            context.putObject(Environment.class.getName(), new StandardEnvironment());
+            file = File.createTempFile("logging-benchmark-", ".json");
+
+            StructuredLogEncoder encoder = new StructuredLogEncoder();
+            encoder.setContext(context);
+            encoder.setFormat("ecs");
+            encoder.setCharset(StandardCharsets.UTF_8);
+            encoder.start();
+            FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+            fileAppender.setContext(context);
+            fileAppender.setName("FILE");
+            fileAppender.setFile(file.getAbsolutePath());
+            fileAppender.setAppend(false);
+            fileAppender.setEncoder(encoder);
+            fileAppender.start();
+
+            Appender<ILoggingEvent> root = fileAppender;
+            if (!pipeline.equals("sync")) {
+                async = new AsyncLogAppender();
+                async.setContext(context);
+                async.setName("ASYNC");
+                async.setDiscardingThreshold(1024);
+                async.addAppender(fileAppender);
+                async.start();
+                root = async;
+            }
+            if (pipeline.equals("sampled")) {
+                sampling = new LogSamplingFilter();
+                sampling.setContext(context);
+                sampling.setLimits(PRODUCT_LOGGER + "=20," + ORDER_LOGGER + "=50");
+                sampling.start();
+                context.addTurboFilter(sampling);
+            }
+            context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(root);
+            products = context.getLogger(PRODUCT_LOGGER);
+            orders = context.getLogger(ORDER_LOGGER);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (async != null) {
+                System.out.printf("%n%s: %d discarded, %d dropped%n", pipeline, async.getDiscardedCount(),
+                    async.getDroppedCount());
+            }
+            if (sampling != null) {
+                System.out.printf("%s: %s sampled out%n", pipeline, sampling.getSuppressedCounts());
+            }
+            context.stop();
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    public void request(PipelineState state, Blackhole blackhole) {
+        Blackhole.consumeCPU(500);
+        state.orders.info("Order created successfully with ID: {}", 1042);
+        state.products.info("Updated stock for product: {}, new stock: {}", "Ceramic Mug", 41);
+        Blackhole.consumeCPU(500);
+        state.products.info("Updated stock for product: {}, new stock: {}", "Espresso Cup", 17);
+        blackhole.consume(state);
+    }
+}
@@ -0,0 +1,83 @@
+package org.xhite.marketflex.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.aop.framework.ProxyFactory;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Per-call cost of {@link TimedInterceptor} on a proxy, against the same proxy calling
+ * an untimed method. The difference is what every checkout, cart change and product
+ * filter pays for its histogram, recorded into the Prometheus registry used in
+ * production. Run with more threads to see contention on the shared timer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class TimedInterceptorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RegistryState {
+        PrometheusMeterRegistry registry;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ProxyState {
+        Service service;
+
+        @Setup(Level.Trial)
+        public void setUp(RegistryState registryState) {
+            ProxyFactory factory = new ProxyFactory(new Service());
+            factory.addAdvice(new TimedInterceptor(() -> registryState.registry));
+            service = (Service) factory.getProxy();
+        }
+    }
+
+    @Benchmark
+    public void untimed(ProxyState state, Blackhole blackhole) {
+        blackhole.consume(state.service.untimed());
+    }
+
+    @Benchmark
+    public void timed(ProxyState state, Blackhole blackhole) {
+        blackhole.consume(state.service.timed());
+    }
+
+    public static class Service {
+
+        private long calls;
+
+        @Timed(value = "benchmark.timed", histogram = true)
+        public long timed() {
+            return calls++;
+        }
+
+        public long untimed() {
+            return calls++;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.xhite.marketflex.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Requests per second for upload downloads through an embedded Tomcat, comparing the
+ * resource handler {@code /uploads/**} used to be registered with (one hour cache
+ * period, cached resource chain) against {@link UploadResourceHandler}. Revalidation
+ * uses whichever validator each handler emits.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class UploadHandlerBenchmark {
+
+    @Param({"16384", "1048576"})
+    int fileSize;
+
+    private Path baseDir;
+    private Tomcat tomcat;
+    private HttpClient client;
+
+    private HttpRequest legacyGet;
+    private HttpRequest uploadGet;
+    private HttpRequest legacyRevalidate;
+    private HttpRequest uploadRevalidate;
+    private HttpRequest uploadRange;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        baseDir = Files.createTempDirectory("upload-bench");
+        Path uploads = Files.createDirectories(baseDir.resolve("uploads"));
+        byte[] content = new byte[fileSize];
+        new Random(fileSize).nextBytes(content);
+        Files.write(uploads.resolve("photo.jpg"), content);
+
+        ResourceHttpRequestHandler legacy = new ResourceHttpRequestHandler();
+        legacy.setLocations(List.of(new FileSystemResource(uploads.toString() + "/")));
+        legacy.setCacheSeconds(3600);
+        legacy.setResourceResolvers(List.of(
+                new CachingResourceResolver(new ConcurrentMapCache("uploads")), new PathResourceResolver()));
+        legacy.afterPropertiesSet();
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        tomcat.setConnector(connector);
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "legacy", servlet(legacy));
+        context.addServletMappingDecoded("/legacy/*", "legacy");
+        Tomcat.addServlet(context, "uploads", servlet(new UploadResourceHandler(uploads)));
+        context.addServletMappingDecoded("/uploads/*", "uploads");
+        tomcat.start();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String base = "http://localhost:" + connector.getLocalPort();
+        legacyGet = HttpRequest.newBuilder(URI.create(base + "/legacy/photo.jpg")).build();
+        uploadGet = HttpRequest.newBuilder(URI.create(base + "/uploads/photo.jpg")).build();
+
+        String lastModified = client.send(legacyGet, HttpResponse.BodyHandlers.discarding())
+                .headers().firstValue("Last-Modified").orElseThrow();
+        legacyRevalidate = HttpRequest.newBuilder(legacyGet.uri()).header("If-Modified-Since", lastModified).build();
+        String etag = client.send(uploadGet, HttpResponse.BodyHandlers.discarding())
+                .headers().firstValue("ETag").orElseThrow();
+        uploadRevalidate = HttpRequest.newBuilder(uploadGet.uri()).header("If-None-Match", etag).build();
+        uploadRange = HttpRequest.newBuilder(uploadGet.uri()).header("Range", "bytes=0-" + (fileSize / 4 - 1)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+        client.close();
+        FileSystemUtils.deleteRecursively(baseDir);
+    }
+
+    private static HttpServlet servlet(HttpRequestHandler handler) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response)
+                    throws ServletException, IOException {
+                // What the handler mapping would expose in the application
+                request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE,
+                        request.getPathInfo().substring(1));
+                handler.handleRequest(request, response);
+            }
+        };
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int legacyGet() throws Exception {
+        return send(legacyGet);
+    }
+
+    @Benchmark
+    public int uploadGet() throws Exception {
+        return send(uploadGet);
+    }
+
+    @Benchmark
+    public int legacyRevalidate() throws Exception {
+        return send(legacyRevalidate);
+    }
+
+    @Benchmark
+    public int uploadRevalidate() throws Exception {
+        return send(uploadRevalidate);
+    }
+
+    @Benchmark
+    public int uploadRange() throws Exception {
+        return send(uploadRange);
+    }
+}
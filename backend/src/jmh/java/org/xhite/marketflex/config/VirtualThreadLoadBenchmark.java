@@ -0,0 +1,136 @@
+package org.xhite.marketflex.config;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.tomcat.autoconfigure.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.tomcat.servlet.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Request latency on embedded Tomcat with Boot's default 200 platform workers against
+ * Boot's virtual-thread executor. 300 clients call {@code /db}, which holds one of five
+ * connections behind a {@link LimitingDataSource} for 10 ms, while 8 clients call
+ * {@code /cached}, which answers straight away. On platform threads the blocked database
+ * calls use up the workers and cached requests queue behind them; on virtual threads
+ * the waiting happens on the semaphore and cached requests are served at once.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Group)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int POOL_SIZE = 5;
+
+    private static final long QUERY_MILLIS = 10;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private WebServer server;
+    private HttpClient client;
+    private HttpRequest dbRequest;
+    private HttpRequest cachedRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DataSource dataSource = new LimitingDataSource(new SlowDataSource(), POOL_SIZE, 30_000);
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if (threads.equals("virtual")) {
+            new TomcatVirtualThreadsWebServerFactoryCustomizer().customize(factory);
+        }
+        server = factory.getWebServer(context -> {
+            context.addServlet("db", new HttpServlet() {
+                // The connection is only held, as a query would hold it
+                @Override
+                @SuppressWarnings("try")
+                protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                    try (Connection ignored = dataSource.getConnection()) {
+                        Thread.sleep(QUERY_MILLIS);
+                    } catch (Exception e) {
+                        response.sendError(503);
+                        return;
+                    }
+                    response.getWriter().write("db");
+                }
+            }).addMapping("/db");
+            context.addServlet("cached", new HttpServlet() {
+                @Override
+                protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                    response.getWriter().write("cached");
+                }
+            }).addMapping("/cached");
+        });
+        server.start();
+        String base = "http://localhost:" + server.getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        dbRequest = HttpRequest.newBuilder(URI.create(base + "/db")).build();
+        cachedRequest = HttpRequest.newBuilder(URI.create(base + "/cached")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(300)
+    public int db() throws Exception {
+        return client.send(dbRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(8)
+    public int cached() throws Exception {
+        return client.send(cachedRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** Stands in for the pool: connections come back at once, the query time is in the servlet. */
+    private static final class SlowDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return getConnection();
+        }
+    }
+}
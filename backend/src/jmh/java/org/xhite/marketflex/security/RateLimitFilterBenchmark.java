@@ -0,0 +1,111 @@
+package org.xhite.marketflex.security;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Per-request cost of {@link RateLimitFilter}. Limits are set high enough that no
+ * request is rejected, so the numbers are the overhead paid by normal traffic:
+ * route resolution, the bucket map lookup and the CAS on the packed state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class RateLimitFilterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class FilterState {
+        RateLimitFilter filter;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ClientIpResolver clientIpResolver = new ClientIpResolver();
+            ReflectionTestUtils.setField(clientIpResolver, "trustedProxies", "169.254.0.0/16");
+            clientIpResolver.init();
+            filter = new RateLimitFilter(new ObjectMapper(), clientIpResolver);
+            ReflectionTestUtils.setField(filter, "enabled", true);
+            ReflectionTestUtils.setField(filter, "maxClients", 20_000L);
+            for (String route : new String[] {"auth", "search", "orders"}) {
+                ReflectionTestUtils.setField(filter, route + "Capacity", 8_000);
+                ReflectionTestUtils.setField(filter, route + "RefillPerMinute", 1_000_000_000);
+            }
+            filter.init();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RequestState {
+        MockHttpServletRequest unlimited;
+        MockHttpServletRequest search;
+        MockHttpServletRequest anonymousSearch;
+        String[] clientAddresses;
+        MockHttpServletResponse response;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            unlimited = new MockHttpServletRequest("GET", "/api/v1/products");
+            search = searchRequest("10.0.0.1");
+            anonymousSearch = searchRequest("10.1.0.0");
+            clientAddresses = new String[CLIENTS];
+            for (int i = 0; i < CLIENTS; i++) {
+                clientAddresses[i] = "10.1." + (i / 256) + "." + (i % 256);
+            }
+            response = new MockHttpServletResponse();
+        }
+
+        private static MockHttpServletRequest searchRequest(String remoteAddr) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/filter");
+            request.setParameter("search", "headphones");
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        }
+    }
+
+    @Benchmark
+    public long unlimitedRoute(FilterState state, RequestState request) {
+        return state.filter.acquire(request.unlimited);
+    }
+
+    @Benchmark
+    public long limitedRouteHotClient(FilterState state, RequestState request) {
+        return state.filter.acquire(request.search);
+    }
+
+    @Benchmark
+    public long limitedRouteManyClients(FilterState state, RequestState request) {
+        request.anonymousSearch.setRemoteAddr(request.clientAddresses[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+        return state.filter.acquire(request.anonymousSearch);
+    }
+
+    @Benchmark
+    public Object fullFilterPass(FilterState state, RequestState request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        request.search.removeAttribute(state.filter.getClass().getName() + ".FILTERED");
+        state.filter.doFilter(request.search, request.response, chain);
+        return chain.getRequest();
+    }
+}
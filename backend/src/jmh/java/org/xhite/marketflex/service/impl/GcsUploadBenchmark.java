@@ -0,0 +1,148 @@
+package org.xhite.marketflex.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.google.cloud.NoCredentials;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+
+/**
+ * Client-side cost of one upload to the in-process fake GCS server: the old
+ * {@code storage.create(blobInfo, file.getBytes())} path against the streaming
+ * {@link GcsStorageService#store}, and a re-upload of content that is already stored. Run with {@code -Pjmh.profilers=gc} and compare
+ * {@code gc.alloc.rate.norm}; the fake server only keeps checksums so its own
+ * allocation stays flat across both paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class GcsUploadBenchmark {
+
+    @Param({"1048576", "5242880"})
+    private int size;
+
+    private FakeGcsServer gcs;
+    private Storage storage;
+    private GcsStorageService storageService;
+    private GcsStorageService deduplicatingService;
+    private Path spooled;
+    private SpooledMultipartFile file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        gcs = FakeGcsServer.start();
+        gcs.retainContent(false);
+        storage = StorageOptions.newBuilder()
+            .setProjectId("bench")
+            .setHost(gcs.endpoint())
+            .setCredentials(NoCredentials.getInstance())
+            .build()
+            .getService();
+        // Every iteration stores the same bytes, so content reuse is switched off to
+        // measure the upload itself; storeDuplicate measures the reuse path
+        StoredFileReferences alwaysNew = new InMemoryStoredFileReferences() {
+            @Override
+            public Optional<String> acquire(String contentHash) {
+                return Optional.empty();
+            }
+        };
+        storageService = GcsStorageServiceTest.newStorageService(gcs, alwaysNew, 8, 5_000);
+        deduplicatingService = GcsStorageServiceTest.newStorageService(gcs, new InMemoryStoredFileReferences(), 8, 5_000);
+
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        spooled = Files.createTempFile("upload", ".jpg");
+        Files.write(spooled, content);
+        file = new SpooledMultipartFile(spooled);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        gcs.close();
+        Files.deleteIfExists(spooled);
+    }
+
+    @Benchmark
+    public Object createFromBytes() throws IOException {
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of("test-bucket", "products/" + UUID.randomUUID() + ".jpg"))
+            .setContentType(file.getContentType())
+            .build();
+        return storage.create(blobInfo, file.getBytes());
+    }
+
+    @Benchmark
+    public String streamingStore() {
+        return storageService.store(file);
+    }
+
+    @Benchmark
+    public String storeDuplicate() {
+        return deduplicatingService.store(file);
+    }
+
+    /**
+     * Behaves like a multipart part the container has spooled to disk: bytes are read
+     * from the file on every call rather than held in memory.
+     */
+    static final class SpooledMultipartFile extends MockMultipartFile {
+        private final Path path;
+
+        SpooledMultipartFile(Path path) throws IOException {
+            super("imageFile", "photo.jpg", "image/jpeg", new byte[0]);
+            this.path = path;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+    }
+}
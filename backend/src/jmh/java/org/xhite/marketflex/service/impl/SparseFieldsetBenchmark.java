@@ -0,0 +1,94 @@
+package org.xhite.marketflex.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xhite.marketflex.config.JacksonConfig;
+import org.xhite.marketflex.dto.PagedResponse;
+import org.xhite.marketflex.dto.ProductDto;
+import org.xhite.marketflex.repository.Fieldset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializing a 100-item product page as full DTOs against the grid-card fields
+ * ({@code fields=name,price,cardImageUrl}), with descriptions at their 1024-char limit.
+ * Payload sizes are printed at setup. This covers the Jackson side only; the query side
+ * is the select list shrinking from every product column plus the vendor lookup to four
+ * columns, which needs a database to measure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SparseFieldsetBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final List<String> CARD_FIELDS = List.of("id", "name", "price", "cardImageUrl");
+
+    private ObjectMapper objectMapper;
+    private PagedResponse<ProductDto> fullPage;
+    private PagedResponse<Map<String, Object>> sparsePage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new JacksonConfig().objectMapper();
+        List<ProductDto> products = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            String image = "https://storage.googleapis.com/marketflex/products/" + i + ".jpg";
+            products.add(ProductDto.builder()
+                .id((long) i)
+                .name("Product " + i)
+                .description("x".repeat(1024))
+                .price(BigDecimal.valueOf(1999, 2))
+                .stockQuantity(12)
+                .categoryId(3L)
+                .categoryName("Electronics")
+                .imageUrl(image)
+                .thumbnailUrl(image.replace(".jpg", "-thumb.webp"))
+                .cardImageUrl(image.replace(".jpg", "-card.webp"))
+                .detailImageUrl(image.replace(".jpg", "-detail.webp"))
+                .active(true)
+                .vendorId(7L)
+                .vendorStoreName("TechZone Electronics")
+                .build());
+        }
+        // Same rows FieldsetRepository returns for the picked fields
+        List<Map<String, Object>> rows = products.stream()
+            .map(product -> Fieldset.retain(product, CARD_FIELDS))
+            .toList();
+        fullPage = PagedResponse.of(products, 0, PAGE_SIZE, 1_000);
+        sparsePage = PagedResponse.of(rows, 0, PAGE_SIZE, 1_000);
+
+        System.out.printf("%nfull page: %d bytes, sparse page: %d bytes%n",
+            fullPage().length, sparsePage().length);
+    }
+
+    @Benchmark
+    public byte[] fullPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(fullPage);
+    }
+
+    @Benchmark
+    public byte[] sparsePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(sparsePage);
+    }
+}
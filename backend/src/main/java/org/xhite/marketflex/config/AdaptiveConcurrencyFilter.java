@@ -0,0 +1,197 @@
+package org.xhite.marketflex.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sheds API requests beyond the concurrency the backend currently sustains. The limit
+ * is a {@link GradientLimit} learned from the latency of completed requests; requests
+ * over it are answered 503 at once instead of queueing behind the connection pool
+ * until everyone's latency is gone.
+ *
+ * <p>Each priority may use a share of the limit: anonymous catalog reads get the
+ * smallest, so when the backend saturates browsing is shed first, while auth, cart
+ * and checkout can use all of it. Runs in the security chain after CORS and rate
+ * limiting but before token verification; cache hits from {@link ResponseCacheFilter}
+ * never reach it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    enum Priority { BROWSE, DEFAULT, CRITICAL }
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${app.concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.concurrency-limit.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${app.concurrency-limit.min-limit:4}")
+    private int minLimit;
+
+    @Value("${app.concurrency-limit.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${app.concurrency-limit.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${app.concurrency-limit.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.concurrency-limit.window-ms:100}")
+    private long windowMs;
+
+    @Value("${app.concurrency-limit.min-window-samples:10}")
+    private int minWindowSamples;
+
+    @Value("${app.concurrency-limit.browse-share:0.6}")
+    private double browseShare;
+
+    @Value("${app.concurrency-limit.default-share:0.85}")
+    private double defaultShare;
+
+    private GradientLimit limit;
+    private Map<Priority, Counter> rejected;
+
+    @PostConstruct
+    public void init() {
+        limit = new GradientLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing,
+            TimeUnit.MILLISECONDS.toNanos(windowMs), minWindowSamples, System.nanoTime());
+        Gauge.builder("http.concurrency.limit", limit, GradientLimit::limit)
+            .description("Requests the adaptive limiter currently lets run at once")
+            .register(meterRegistry);
+        Gauge.builder("http.concurrency.in.flight", inFlight, AtomicInteger::get)
+            .register(meterRegistry);
+        rejected = Map.of(
+            Priority.BROWSE, rejectedCounter(Priority.BROWSE),
+            Priority.DEFAULT, rejectedCounter(Priority.DEFAULT),
+            Priority.CRITICAL, rejectedCounter(Priority.CRITICAL));
+        log.info("Adaptive concurrency limit {}, starting at {} within [{}, {}]",
+            enabled ? "enabled" : "disabled", initialLimit, minLimit, maxLimit);
+    }
+
+    private Counter rejectedCounter(Priority priority) {
+        return Counter.builder("http.concurrency.rejected")
+            .description("Requests shed because the concurrency limit for their priority was reached")
+            .tag("priority", priority.name().toLowerCase())
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Warm-up calls run at interpreter speed and would teach the limit a wrong baseline
+        return !enabled || !request.getRequestURI().startsWith("/api/") || JitWarmup.isWarmupRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Priority priority = priority(request);
+        if (!tryAcquire(priority)) {
+            reject(request, response, priority);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean sample = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Failures end early or time out; either way their latency says nothing about capacity
+            sample = response.getStatus() < 500;
+        } finally {
+            int running = inFlight.getAndDecrement();
+            if (sample) {
+                long now = System.nanoTime();
+                limit.onSample(now - start, running, now);
+            }
+        }
+    }
+
+    static Priority priority(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/v1/auth/") || path.startsWith("/api/v1/orders") || path.startsWith("/api/v1/cart")) {
+            return Priority.CRITICAL;
+        }
+        if ("GET".equals(request.getMethod()) && request.getHeader(HttpHeaders.AUTHORIZATION) == null) {
+            return Priority.BROWSE;
+        }
+        return Priority.DEFAULT;
+    }
+
+    private boolean tryAcquire(Priority priority) {
+        int current = limit.limit();
+        int allowed = switch (priority) {
+            case BROWSE -> Math.max(1, (int) (current * browseShare));
+            case DEFAULT -> Math.max(1, (int) (current * defaultShare));
+            case CRITICAL -> current;
+        };
+        while (true) {
+            int running = inFlight.get();
+            if (running >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(running, running + 1)) {
+                return true;
+            }
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int limit() {
+        return limit.limit();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Priority priority)
+            throws IOException {
+        rejected.get(priority).increment();
+        log.debug("Shedding {} {} at {} in flight, limit {}", request.getMethod(), request.getRequestURI(),
+            inFlight.get(), limit.limit());
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+
+        Map<String, Object> body = Map.of(
+            "type", "https://api.marketflex.com/problems/overloaded",
+            "title", "Service Overloaded",
+            "status", HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+            "detail", "The service is at capacity. Please try again shortly.",
+            "instance", request.getRequestURI()
+        );
+
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
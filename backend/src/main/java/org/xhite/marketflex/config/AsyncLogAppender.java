@@ -0,0 +1,190 @@
+package org.xhite.marketflex.config;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Hands log events to its attached appenders on a single writer thread, so that request
+ * threads never wait on console or file I/O. Events go through a bounded
+ * {@link ArrayBlockingQueue} of {@code queueSize} and the caller never blocks: once fewer than
+ * {@code discardingThreshold} slots are free, INFO and lower are discarded, and when the
+ * queue is full anything is dropped. Both are counted and published by
+ * {@link LoggingMetrics}; WARN and ERROR are only lost when the queue is full.
+ *
+ * <p>Unlike logback's own AsyncAppender this one counts what it loses, which is the
+ * reason it exists. Events are prepared for deferred processing (message formatted,
+ * MDC and thread name captured) before they are queued; caller data is not kept.
+ */
+public class AsyncLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private int queueSize = 8192;
+    private int discardingThreshold = -1;
+    private int maxFlushMillis = 1000;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread writer;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (queueSize < 1) {
+            addError("Invalid queue size " + queueSize);
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to " + getName());
+            return;
+        }
+        if (discardingThreshold < 0) {
+            discardingThreshold = queueSize / 8;
+        }
+        queue = new ArrayBlockingQueue<>(queueSize);
+        writer = new Thread(this::write, "log-writer-" + getName());
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (queue.remainingCapacity() < discardingThreshold && !event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            discarded.increment();
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void write() {
+        List<ILoggingEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (isStarted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            writeBatch(batch);
+        }
+        // Stopping: write out what is left, stop() waits up to maxFlushMillis for it
+        queue.drainTo(batch);
+        writeBatch(batch);
+    }
+
+    private void writeBatch(List<ILoggingEvent> batch) {
+        for (ILoggingEvent event : batch) {
+            appenders.appendLoopOnAppenders(event);
+        }
+        batch.clear();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        writer.interrupt();
+        try {
+            writer.join(maxFlushMillis);
+            if (writer.isAlive()) {
+                addWarn("Gave up writing " + queue.size() + " queued events after " + maxFlushMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    /** Events of level INFO and lower discarded because the queue was nearly full. */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /** Events of any level dropped because the queue was full. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getQueuedCount() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    /** Free slots below which INFO and lower are discarded; 0 keeps them until the queue is full. */
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public void setMaxFlushMillis(int maxFlushMillis) {
+        this.maxFlushMillis = maxFlushMillis;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
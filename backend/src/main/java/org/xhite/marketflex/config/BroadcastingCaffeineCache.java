@@ -0,0 +1,81 @@
+package org.xhite.marketflex.config;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Caffeine cache whose evictions, whether from {@code @CacheEvict} or explicit calls,
+ * are also announced to the other nodes once a {@link CacheInvalidationBus} is
+ * attached. Remote announcements are applied through the {@code *Locally} methods so
+ * they are not echoed back.
+ */
+class BroadcastingCaffeineCache extends CaffeineCache {
+
+    private volatile CacheInvalidationBus bus;
+
+    BroadcastingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    BroadcastingCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    void attach(CacheInvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    /**
+     * Plain lookups never load. Caches with a loader only use it to refresh entries in
+     * the background; misses are filled by the cached method itself.
+     */
+    @Override
+    protected Object lookup(Object key) {
+        return getNativeCache().getIfPresent(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        broadcast(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = super.evictIfPresent(key);
+        // Other nodes may hold the key even if this one did not
+        broadcast(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        broadcast(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = super.invalidate();
+        broadcast(null);
+        return invalidated;
+    }
+
+    void evictLocally(Object key) {
+        super.evict(key);
+    }
+
+    void clearLocally() {
+        super.clear();
+    }
+
+    private void broadcast(Object key) {
+        CacheInvalidationBus current = bus;
+        if (current != null) {
+            // Only string keys survive the trip; anything else clears the whole cache remotely
+            current.publish(getName(), key instanceof String stringKey ? stringKey : null);
+        }
+    }
+}
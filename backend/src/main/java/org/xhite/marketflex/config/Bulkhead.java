@@ -0,0 +1,34 @@
+package org.xhite.marketflex.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names the share of database connections a service method or class draws from. The
+ * first annotated method on the call stack decides; the connection it opens counts
+ * against that bulkhead until it is closed. Sizes and wait times are configured under
+ * {@code app.db.bulkheads.<name>}, names without configuration only go through the
+ * overall limiter.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    /** Catalog reads: listings, search, product and vendor pages. */
+    String BROWSE = "browse";
+
+    /** Cart and order writes on the shopper's path to paying. */
+    String CHECKOUT = "checkout";
+
+    /** A vendor's own store: store profile, product edits and order management. */
+    String VENDOR = "vendor";
+
+    /** Admin-only back office and batch work: categories, dead letters, reports. */
+    String ADMIN = "admin";
+
+    String value();
+}
@@ -0,0 +1,18 @@
+package org.xhite.marketflex.config;
+
+import java.sql.SQLTransientConnectionException;
+
+/** Thrown instead of a connection when a bulkhead has no permit left within its wait. */
+class BulkheadFullException extends SQLTransientConnectionException {
+
+    private final String bulkhead;
+
+    BulkheadFullException(String bulkhead, String message) {
+        super(message);
+        this.bulkhead = bulkhead;
+    }
+
+    String bulkhead() {
+        return bulkhead;
+    }
+}
@@ -0,0 +1,48 @@
+package org.xhite.marketflex.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Marks the current thread with the {@link Bulkhead} of the invoked method for the
+ * duration of the call, so connections opened inside it are counted against that
+ * bulkhead by {@link LimitingDataSource}. Runs outside the transaction interceptor,
+ * which is where the connection is opened.
+ */
+class BulkheadInterceptor implements MethodInterceptor {
+
+    private final Map<MethodClassKey, Optional<String>> names = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() == null ? null : AopUtils.getTargetClass(invocation.getThis());
+        String name = names.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass),
+            key -> bulkhead(invocation.getMethod(), targetClass)).orElse(null);
+        if (name == null) {
+            return invocation.proceed();
+        }
+        String outer = LimitingDataSource.enterBulkhead(name);
+        try {
+            return invocation.proceed();
+        } finally {
+            LimitingDataSource.exitBulkhead(outer);
+        }
+    }
+
+    private static Optional<String> bulkhead(Method method, Class<?> targetClass) {
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        Bulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(specific, Bulkhead.class);
+        if (bulkhead == null) {
+            bulkhead = AnnotatedElementUtils.findMergedAnnotation(specific.getDeclaringClass(), Bulkhead.class);
+        }
+        return Optional.ofNullable(bulkhead).map(Bulkhead::value);
+    }
+}
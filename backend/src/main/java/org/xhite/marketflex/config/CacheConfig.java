@@ -1,26 +1,109 @@
 package org.xhite.marketflex.config;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 
-import java.util.concurrent.TimeUnit;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 
+/**
+ * Every cache the application uses is declared here with its own bounds. Caches are
+ * created up front, so Boot's cache metrics bind all of them at startup and a cache
+ * name missing from this list fails instead of getting an unbounded default.
+ *
+ * <p>Caches are {@link BroadcastingCaffeineCache}s, so evictions reach the other nodes
+ * through the {@link CacheInvalidationBus} when it is enabled. Caches that refresh
+ * after write are reloaded by the {@link CacheReloader} bean declaring their name.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    public static final Map<String, CacheSpec> CACHES = List.of(
+            // All categories plus featured slices; cleared on every category write
+            CacheSpec.builder()
+                .name(CacheNames.CATEGORIES)
+                .maximumWeight(2_000)
+                .expireAfterWrite(Duration.ofMinutes(30))
+                .refreshAfterWrite(Duration.ofMinutes(5))
+                .build(),
+            // Featured product lists by limit; cleared on product edits. Stock changes do not
+            // change which products are featured, their counts are picked up by the refresh
+            CacheSpec.builder()
+                .name(CacheNames.PRODUCTS)
+                .maximumWeight(1_000)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .refreshAfterWrite(Duration.ofMinutes(1))
+                .async(true)
+                .build(),
+            // Serialized anonymous catalog responses, weighed in kilobytes. Keys carry the
+            // catalog version; the expiry only bounds how long a node can serve a response
+            // it rendered from data another node had just changed
+            CacheSpec.builder()
+                .name(CacheNames.RESPONSES)
+                .maximumWeight(32_768)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build())
+        .stream()
+        .collect(Collectors.toUnmodifiableMap(CacheSpec::name, Function.identity()));
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(
-            Caffeine.newBuilder()
-                .expireAfterWrite(5, TimeUnit.MINUTES)
-                .maximumSize(100)
-        );
+    public CacheManager cacheManager(ObjectProvider<CacheReloader> reloaders) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new BroadcastingCaffeineCache(name, cache, isAllowNullValues());
+            }
+
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                return new BroadcastingCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        // Static mode: only the caches registered below exist
+        cacheManager.setCacheNames(List.of());
+        CACHES.values().forEach(spec -> spec.registerWith(cacheManager,
+                spec.refreshAfterWrite() != null ? new ReloaderLoader(spec.name(), reloaders) : null));
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds the reloader on first use rather than at startup, since reloaders are the
+     * services whose caching depends on this manager.
+     */
+    private static final class ReloaderLoader implements CacheLoader<Object, Object> {
+
+        private final String cacheName;
+        private final ObjectProvider<CacheReloader> reloaders;
+        private volatile CacheReloader reloader;
+
+        ReloaderLoader(String cacheName, ObjectProvider<CacheReloader> reloaders) {
+            this.cacheName = cacheName;
+            this.reloaders = reloaders;
+        }
+
+        @Override
+        public Object load(Object key) {
+            CacheReloader current = reloader;
+            if (current == null) {
+                current = reloaders.orderedStream()
+                        .filter(candidate -> candidate.cacheName().equals(cacheName))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("No reloader for cache " + cacheName));
+                reloader = current;
+            }
+            return current.reload(key);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.xhite.marketflex.config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the local caches of several backend nodes coherent over PostgreSQL
+ * LISTEN/NOTIFY. Every eviction on one node is sent as a short {@code node:cache[:key]}
+ * notification and the other nodes evict the same entries on receipt.
+ *
+ * <p>Notifications go out on the caller's pooled connection, so one sent inside a
+ * transaction is only delivered after it commits and other nodes cannot reload the
+ * old data first. Listening needs a connection of its own for the life of the node,
+ * which is opened outside the pool. If that connection drops, anything sent in the
+ * meantime is lost, so after reconnecting every local cache is flushed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "cache_invalidation";
+
+    // application_name of the listener connection, which is how it shows in pg_stat_activity
+    static final String APPLICATION_NAME = "marketflex-cache-listener";
+
+    // Postgres caps payloads at 8000 bytes; longer keys clear the whole cache instead
+    private static final int MAX_KEY_LENGTH = 1000;
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersion catalogVersion;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    // How long one wait for notifications lasts before the connection is checked
+    @Value("${app.cache.invalidation.poll-timeout-ms:10000}")
+    private int pollTimeoutMs;
+
+    @Value("${app.cache.invalidation.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    // Tells this node's own notifications apart from everyone else's
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    @PostConstruct
+    public void start() {
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof BroadcastingCaffeineCache cache) {
+                cache.attach(this);
+            }
+        }
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("cache-invalidation").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listener.interrupt();
+        closeQuietly(connection);
+    }
+
+    /**
+     * Announces an eviction to the other nodes. {@code key} is null when the whole cache
+     * was cleared. Failing to publish only leaves other nodes stale until their entries
+     * expire, so it never fails the caller.
+     */
+    public void publish(String cacheName, String key) {
+        String payload = nodeId + ":" + cacheName
+                + (key == null || key.length() > MAX_KEY_LENGTH ? "" : ":" + key);
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+        } catch (DataAccessException e) {
+            log.warn("Failed to publish invalidation of cache {}", cacheName, e);
+        }
+    }
+
+    private void listen() {
+        long backoffMs = 0;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, connectionProperties())) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    log.info("Cache invalidation listener reconnected, flushing local caches");
+                    flushAll();
+                }
+                reconnecting = true;
+                backoffMs = 0;
+                receive(conn.unwrap(PGConnection.class), conn);
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                backoffMs = backoffMs == 0 ? 1000 : Math.min(backoffMs * 2, maxBackoffMs);
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms", backoffMs, e);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Properties connectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        return properties;
+    }
+
+    private void receive(PGConnection pgConnection, Connection conn) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+            if (notifications == null || notifications.length == 0) {
+                // A quiet channel looks the same as a dead socket until we ask
+                if (!conn.isValid(5)) {
+                    throw new SQLException("Listener connection is no longer valid");
+                }
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                apply(notification.getParameter());
+            }
+        }
+    }
+
+    void apply(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        if (!(cacheManager.getCache(parts[1]) instanceof BroadcastingCaffeineCache cache)) {
+            log.debug("Ignoring invalidation of unknown cache {}", parts[1]);
+            return;
+        }
+        if (parts.length == 3) {
+            cache.evictLocally(parts[2]);
+        } else {
+            cache.clearLocally();
+            if (parts[1].equals(CacheNames.RESPONSES)) {
+                // Responses are cleared exactly when the sender's catalog version moved
+                catalogVersion.changedElsewhere();
+            }
+        }
+    }
+
+    private void flushAll() {
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof BroadcastingCaffeineCache cache) {
+                cache.clearLocally();
+            }
+        }
+        catalogVersion.changedElsewhere();
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close cache invalidation connection", e);
+        }
+    }
+}
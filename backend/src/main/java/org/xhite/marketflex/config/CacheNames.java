@@ -0,0 +1,12 @@
+package org.xhite.marketflex.config;
+
+/** Names of the caches declared in {@link CacheConfig}, for use in cache annotations. */
+public final class CacheNames {
+
+    public static final String CATEGORIES = "categories";
+    public static final String PRODUCTS = "products";
+    public static final String RESPONSES = "responses";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,14 @@
+package org.xhite.marketflex.config;
+
+/**
+ * Rebuilds entries of one cache outside the request that reads them. Caches declared
+ * with {@code refreshAfterWrite} hand entries past that age to their reloader in the
+ * background and keep serving the old value until the new one is ready.
+ */
+public interface CacheReloader {
+
+    String cacheName();
+
+    /** Computes a fresh value for {@code key}, the same way the cached method would. */
+    Object reload(Object key);
+}
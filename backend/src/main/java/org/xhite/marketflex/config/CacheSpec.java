@@ -0,0 +1,72 @@
+package org.xhite.marketflex.config;
+
+import java.time.Duration;
+import java.util.Collection;
+
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import lombok.Builder;
+
+/**
+ * Declares one named cache. Bound either by entry count or, when {@code maximumWeight}
+ * is set, by the summed size of cached collections and responses. With {@code refreshAfterWrite} an
+ * entry past that age is still served while a single background load replaces it, so
+ * only entries nobody read until {@code expireAfterWrite} are ever missed.
+ */
+@Builder
+public record CacheSpec(
+    String name,
+    long maximumSize,
+    long maximumWeight,
+    Duration expireAfterWrite,
+    Duration refreshAfterWrite,
+    // Loads run outside Caffeine's map lock, so a slow load never blocks other keys
+    boolean async
+) {
+
+    public CacheSpec {
+        if (name == null || (maximumSize > 0) == (maximumWeight > 0)) {
+            throw new IllegalArgumentException("Cache " + name + " needs a name and either maximumSize or maximumWeight");
+        }
+        if (refreshAfterWrite != null && expireAfterWrite != null && refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+            throw new IllegalArgumentException("Cache " + name + " must refresh before its entries expire");
+        }
+    }
+
+    /** Counts a cached collection by its elements, a response by its kilobytes and anything else as one. */
+    static int weigh(Object key, Object value) {
+        if (value instanceof CachedResponse response) {
+            return response.kilobytes();
+        }
+        return value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+    }
+
+    /** Registers the cache; {@code loader} is required exactly when refreshing after write. */
+    void registerWith(CaffeineCacheManager cacheManager, CacheLoader<Object, Object> loader) {
+        if ((refreshAfterWrite != null) != (loader != null)) {
+            throw new IllegalArgumentException("Cache " + name + " needs a loader if and only if it refreshes after write");
+        }
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (maximumWeight > 0) {
+            builder.maximumWeight(maximumWeight).weigher((Weigher<Object, Object>) CacheSpec::weigh);
+        } else {
+            builder.maximumSize(maximumSize);
+        }
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite);
+        }
+        if (refreshAfterWrite != null) {
+            builder.refreshAfterWrite(refreshAfterWrite);
+        }
+
+        if (async) {
+            cacheManager.registerCustomCache(name, loader != null ? builder.buildAsync(loader) : builder.buildAsync());
+        } else {
+            cacheManager.registerCustomCache(name, loader != null ? builder.build(loader) : builder.build());
+        }
+    }
+}
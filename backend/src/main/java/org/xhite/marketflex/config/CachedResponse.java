@@ -0,0 +1,15 @@
+package org.xhite.marketflex.config;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A rendered 200 response kept by {@link ResponseCacheFilter}: its headers, the body as
+ * written and, when the body is large enough to be worth it, the same body gzipped.
+ */
+record CachedResponse(String contentType, List<Map.Entry<String, String>> headers, byte[] body, byte[] gzipBody) {
+
+    int kilobytes() {
+        return 1 + (body.length + (gzipBody != null ? gzipBody.length : 0)) / 1024;
+    }
+}
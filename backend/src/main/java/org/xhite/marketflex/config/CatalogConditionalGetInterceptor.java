@@ -0,0 +1,40 @@
+package org.xhite.marketflex.config;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Answers conditional GETs for {@link CatalogResource} handlers from the catalog
+ * version alone, so an unchanged catalog costs no query and no DTO assembly. Other
+ * responses get the validators and a no-cache policy instead of Spring Security's
+ * no-store, which would keep browsers and the CDN from ever revalidating. They vary
+ * by Accept, as the same resource may be sent as JSON, CBOR or Smile.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final CatalogVersion catalogVersion;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(CatalogResource.class)) {
+            return true;
+        }
+        // Set before the response commits, so Spring Security leaves caching headers alone
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return !new ServletWebRequest(request, response)
+            .checkNotModified(catalogVersion.etag(), catalogVersion.lastModified());
+    }
+}
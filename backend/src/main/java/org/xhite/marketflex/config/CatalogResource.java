@@ -0,0 +1,19 @@
+package org.xhite.marketflex.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response depends only on catalog data, never on who is
+ * asking. Such responses are validated by the {@link CatalogVersion}: they carry its
+ * ETag and Last-Modified, and a matching conditional request is answered with 304
+ * before the handler runs.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CatalogResource {
+}
@@ -0,0 +1,84 @@
+package org.xhite.marketflex.config;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Counter that moves whenever products, categories or vendors change, so anything
+ * rendered from the catalog can be keyed by it. Changes made in a transaction advance
+ * it only after commit: a reader that takes the version before querying can pair an
+ * old version with new data, but never the new version with old data.
+ *
+ * <p>The counter restarts with every boot and is only coherent within a node, so the
+ * HTTP validators built from it carry an epoch unique to this node and boot. A client
+ * revalidating against another node gets a full response, never a wrong 304.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersion {
+
+    private final CacheManager cacheManager;
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final AtomicLong version = new AtomicLong();
+
+    // HTTP dates have second precision; round down so If-Modified-Since compares exactly
+    private volatile long lastModified = truncateToSeconds(System.currentTimeMillis());
+
+    private final TransactionSynchronization advanceAfterCommit = new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+            advance();
+        }
+    };
+
+    public long current() {
+        return version.get();
+    }
+
+    /** Weak validator for responses rendered from the current catalog. */
+    public String etag() {
+        return "W/\"" + epoch + "." + version.get() + "\"";
+    }
+
+    /** When this node last saw the catalog change, or its start time. */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /** Records a catalog write; called once per write, advanced once per transaction. */
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance();
+        } else if (!TransactionSynchronizationManager.getSynchronizations().contains(advanceAfterCommit)) {
+            TransactionSynchronizationManager.registerSynchronization(advanceAfterCommit);
+        }
+    }
+
+    /**
+     * Records a change announced by another node, or one this node may have missed.
+     * Local caches were already cleared by whoever calls this, so nothing is broadcast.
+     */
+    void changedElsewhere() {
+        version.incrementAndGet();
+        lastModified = truncateToSeconds(System.currentTimeMillis());
+    }
+
+    private void advance() {
+        changedElsewhere();
+        // Older entries are unreachable already; clearing frees them and reaches other nodes
+        cacheManager.getCache(CacheNames.RESPONSES).clear();
+    }
+
+    private static long truncateToSeconds(long epochMillis) {
+        return epochMillis / 1000 * 1000;
+    }
+}
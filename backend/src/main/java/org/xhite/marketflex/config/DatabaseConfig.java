@@ -0,0 +1,123 @@
+package org.xhite.marketflex.config;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Puts a {@link LimitingDataSource} in front of the connection pool. The limit defaults
+ * to the pool size, so threads past it wait on the limiter rather than inside Hikari.
+ * Bulkheads configured under {@code app.db.bulkheads} partition it by {@link Bulkhead}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.db.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseConfig {
+
+    // Static: post-processors are created before regular beans, this one needs none of them
+    @Bean
+    public static BeanPostProcessor dataSourceLimiter(Environment environment) {
+        int maxConcurrent = environment.getProperty("app.db.limiter.max-concurrent", Integer.class,
+            environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long acquireTimeoutMs = environment.getProperty("app.db.limiter.acquire-timeout-ms", Long.class, 5_000L);
+        Map<String, LimitingDataSource.Partition> partitions = Binder.get(environment)
+            .bind("app.db.bulkheads", Bindable.mapOf(String.class, BulkheadProperties.class))
+            .orElse(Map.of())
+            .entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> new LimitingDataSource.Partition(
+                entry.getKey(), entry.getValue().maxConcurrent(), entry.getValue().maxWaitMs())));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LimitingDataSource)) {
+                    log.info("Limiting {} to {} concurrent connections, waiting up to {} ms, bulkheads {}",
+                        beanName, maxConcurrent, acquireTimeoutMs, partitions.keySet());
+                    return new LimitingDataSource(dataSource, maxConcurrent, acquireTimeoutMs, partitions);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Ahead of the transaction interceptor, so the bulkhead is set when the connection is opened
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor bulkheadAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            new ComposablePointcut(new AnnotationMatchingPointcut(Bulkhead.class, true))
+                .union(new AnnotationMatchingPointcut(null, Bulkhead.class, true)),
+            new BulkheadInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public MeterBinder dataSourceLimiterMetrics(DataSource dataSource) throws SQLException {
+        LimitingDataSource limiter = dataSource.unwrap(LimitingDataSource.class);
+        return registry -> {
+            Gauge.builder("db.limiter.in.use", limiter, LimitingDataSource::inUse)
+                .description("Threads holding a connection through the limiter")
+                .register(registry);
+            Gauge.builder("db.limiter.waiting", limiter, LimitingDataSource::waiting)
+                .description("Threads queued for a connection permit")
+                .register(registry);
+            Gauge.builder("db.limiter.max", limiter, LimitingDataSource::maxConcurrent)
+                .register(registry);
+            FunctionTimer.builder("db.limiter.wait", limiter,
+                    LimitingDataSource::acquiredCount, LimitingDataSource::totalWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for a connection permit")
+                .register(registry);
+            FunctionCounter.builder("db.limiter.rejected", limiter, LimitingDataSource::rejectedCount)
+                .description("Connection requests that timed out waiting for a permit")
+                .register(registry);
+            for (LimitingDataSource.Partition partition : limiter.partitions().values()) {
+                Tags tags = Tags.of("bulkhead", partition.name());
+                Gauge.builder("db.bulkhead.in.use", partition, LimitingDataSource.Partition::inUse)
+                    .description("Connections held by methods in the bulkhead")
+                    .tags(tags)
+                    .register(registry);
+                Gauge.builder("db.bulkhead.waiting", partition, LimitingDataSource.Partition::waiting)
+                    .tags(tags)
+                    .register(registry);
+                Gauge.builder("db.bulkhead.saturation", partition,
+                        p -> (double) p.inUse() / p.maxConcurrent())
+                    .description("Share of the bulkhead's connections in use, 1 means new calls wait or fail")
+                    .tags(tags)
+                    .register(registry);
+                FunctionCounter.builder("db.bulkhead.rejected", partition, LimitingDataSource.Partition::rejectedCount)
+                    .description("Calls failed fast because the bulkhead was full")
+                    .tags(tags)
+                    .register(registry);
+            }
+        };
+    }
+
+    record BulkheadProperties(int maxConcurrent, @DefaultValue("0") long maxWaitMs) {
+    }
+}
@@ -0,0 +1,188 @@
+package org.xhite.marketflex.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder events for the business hot paths, so that a recording taken while
+ * latency regresses shows where checkout, stock, cart, token and upload time went and
+ * for which ids. All of them are off unless the recording's settings turn them on,
+ * normally {@code jfr/marketflex.jfc} through {@code /api/v1/admin/recordings}; while
+ * off, begin and commit are a flag check. Work that throws is not recorded, except
+ * uploads.
+ */
+public final class FlightEvents {
+
+    static final String CATEGORY = "MarketFlex";
+
+    private FlightEvents() {
+    }
+
+    @Name("marketflex.CheckoutPhase")
+    @Label("Checkout Phase")
+    @Description("One phase of placing an order: validate, lock (loading products and taking their stock), insert or clear-cart")
+    @Category({CATEGORY, "Checkout"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class CheckoutPhase extends Event {
+
+        @Label("Phase")
+        String phase;
+
+        @Label("User Id")
+        long userId;
+
+        @Label("Order Id")
+        long orderId;
+
+        @Label("Items")
+        int items;
+
+        public static CheckoutPhase start(String phase) {
+            CheckoutPhase event = new CheckoutPhase();
+            event.phase = phase;
+            event.begin();
+            return event;
+        }
+
+        public void record(long userId, long orderId, int items) {
+            if (shouldCommit()) {
+                this.userId = userId;
+                this.orderId = orderId;
+                this.items = items;
+                commit();
+            }
+        }
+    }
+
+    @Name("marketflex.StockDecrement")
+    @Label("Stock Decrement")
+    @Description("Stock of one product changed by an order or a cart reservation")
+    @Category({CATEGORY, "Catalog"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class StockDecrement extends Event {
+
+        @Label("Product Id")
+        long productId;
+
+        @Label("Quantity")
+        int quantity;
+
+        @Label("New Stock")
+        int newStock;
+
+        public static StockDecrement start() {
+            StockDecrement event = new StockDecrement();
+            event.begin();
+            return event;
+        }
+
+        public void record(long productId, int quantity, int newStock) {
+            if (shouldCommit()) {
+                this.productId = productId;
+                this.quantity = quantity;
+                this.newStock = newStock;
+                commit();
+            }
+        }
+    }
+
+    @Name("marketflex.CartMapping")
+    @Label("Cart Mapping")
+    @Description("Mapping a cart and its items to the API representation")
+    @Category({CATEGORY, "Cart"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class CartMapping extends Event {
+
+        @Label("Cart Id")
+        long cartId;
+
+        @Label("Items")
+        int items;
+
+        public static CartMapping start() {
+            CartMapping event = new CartMapping();
+            event.begin();
+            return event;
+        }
+
+        public void record(long cartId, int items) {
+            if (shouldCommit()) {
+                this.cartId = cartId;
+                this.items = items;
+                commit();
+            }
+        }
+    }
+
+    @Name("marketflex.JwtVerification")
+    @Label("JWT Verification")
+    @Description("Verifying a bearer token and loading the user it names")
+    @Category({CATEGORY, "Security"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class JwtVerification extends Event {
+
+        @Label("Authenticated")
+        boolean authenticated;
+
+        public static JwtVerification start() {
+            JwtVerification event = new JwtVerification();
+            event.begin();
+            return event;
+        }
+
+        public void record(boolean authenticated) {
+            if (shouldCommit()) {
+                this.authenticated = authenticated;
+                commit();
+            }
+        }
+    }
+
+    @Name("marketflex.StorageUpload")
+    @Label("Storage Upload")
+    @Description("Writing an image or one of its variants to storage, recorded whether or not it succeeded")
+    @Category({CATEGORY, "Storage"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static class StorageUpload extends Event {
+
+        @Label("Storage")
+        String storage;
+
+        @Label("Object")
+        String object;
+
+        @Label("Size")
+        @DataAmount
+        long size;
+
+        @Label("Content Type")
+        String contentType;
+
+        public static StorageUpload start() {
+            StorageUpload event = new StorageUpload();
+            event.begin();
+            return event;
+        }
+
+        public void record(String storage, String object, long size, String contentType) {
+            if (shouldCommit()) {
+                this.storage = storage;
+                this.object = object;
+                this.size = size;
+                this.contentType = contentType;
+                commit();
+            }
+        }
+    }
+}
@@ -4,23 +4,39 @@ import java.net.URI;
 import java.time.Instant;
 import java.util.Map;
 
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.xhite.marketflex.exception.*;
+import org.xhite.marketflex.model.Product;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RestControllerAdvice
 @Slf4j
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
     private static final String PROBLEM_BASE_URI = "https://api.marketflex.com/problems/";
 
+    // Checkouts and cart adds refused because stock ran out or another write got there first
+    private static final String STOCK_CONFLICTS = "stock.conflicts";
+
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ProblemDetail handleResourceNotFound(ResourceNotFoundException ex) {
         log.warn("Resource not found: {}", ex.getMessage());
@@ -36,6 +52,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(InsufficientStockException.class)
     public ProblemDetail handleInsufficientStock(InsufficientStockException ex) {
         log.error("Stock insufficient: {}", ex.getMessage());
+        meterRegistry.counter(STOCK_CONFLICTS, "reason", "insufficient-stock").increment();
         
         ProblemDetail problem = ProblemDetail.forStatusAndDetail(
             HttpStatus.CONFLICT, ex.getMessage());
@@ -45,6 +62,21 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ProblemDetail handleConcurrentUpdate(ObjectOptimisticLockingFailureException ex) {
+        log.warn("Concurrent update of {} {}", ex.getPersistentClassName(), ex.getIdentifier());
+        if (Product.class.getName().equals(ex.getPersistentClassName())) {
+            meterRegistry.counter(STOCK_CONFLICTS, "reason", "concurrent-update").increment();
+        }
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.CONFLICT, "The resource was changed by another request. Please try again.");
+        problem.setType(URI.create(PROBLEM_BASE_URI + "concurrent-update"));
+        problem.setTitle("Concurrent Update");
+        problem.setProperty("timestamp", Instant.now());
+        return problem;
+    }
+
     @ExceptionHandler(CartException.class)
     public ProblemDetail handleCartException(CartException ex) {
         log.error("Cart error: {}", ex.getMessage());
@@ -105,6 +137,33 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    @ExceptionHandler(LockedException.class)
+    public ProblemDetail handleLocked(LockedException ex) {
+        log.warn("Login attempt on locked account");
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.TOO_MANY_REQUESTS, "Too many failed login attempts. Please try again later.");
+        problem.setType(URI.create(PROBLEM_BASE_URI + "login-blocked"));
+        problem.setTitle("Login Temporarily Blocked");
+        problem.setProperty("timestamp", Instant.now());
+        return problem;
+    }
+
+    @ExceptionHandler(LoginBlockedException.class)
+    public ResponseEntity<ProblemDetail> handleLoginBlocked(LoginBlockedException ex) {
+        log.warn("Login blocked: {}", ex.getMessage());
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.TOO_MANY_REQUESTS, "Too many failed login attempts. Please try again later.");
+        problem.setType(URI.create(PROBLEM_BASE_URI + "login-blocked"));
+        problem.setTitle("Login Temporarily Blocked");
+        problem.setProperty("timestamp", Instant.now());
+        problem.setProperty("retryAfterSeconds", ex.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+            .body(problem);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ProblemDetail handleAccessDenied(AccessDeniedException ex) {
         log.warn("Access denied: {}", ex.getMessage());
@@ -137,6 +196,38 @@ public class GlobalExceptionHandler {
         return problem;
     }
 
+    @ExceptionHandler(StorageBusyException.class)
+    public ResponseEntity<ProblemDetail> handleStorageBusy(StorageBusyException ex) {
+        log.warn("Storage busy: {}", ex.getMessage());
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.SERVICE_UNAVAILABLE, "Too many uploads in progress. Please try again shortly.");
+        problem.setType(URI.create(PROBLEM_BASE_URI + "storage-busy"));
+        problem.setTitle("Storage Busy");
+        problem.setProperty("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(problem);
+    }
+
+    // No connection within the limiter, bulkhead or pool timeout; the request never touched data
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ProblemDetail> handleDatabaseBusy(Exception ex) {
+        log.warn("Database unavailable: {}", NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(
+            HttpStatus.SERVICE_UNAVAILABLE, "The service is busy. Please try again shortly.");
+        problem.setType(URI.create(PROBLEM_BASE_URI + "database-busy"));
+        problem.setTitle("Database Busy");
+        problem.setProperty("timestamp", Instant.now());
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof BulkheadFullException full) {
+            problem.setProperty("bulkhead", full.bulkhead());
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(problem);
+    }
+
     @ExceptionHandler(StorageException.class)
     public ProblemDetail handleStorageException(StorageException ex) {
         log.error("Storage error: ", ex);
@@ -0,0 +1,92 @@
+package org.xhite.marketflex.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit learned from latency, after the gradient algorithm of Netflix's
+ * concurrency-limits. Every window it compares the window's average latency with a
+ * slow moving average: while they match the limit grows by about its square root, and
+ * once queueing makes the recent latency exceed {@code tolerance} times the long-term
+ * one it shrinks in proportion. Each window moves the limit only {@code smoothing} of
+ * the way towards that target, which is never below half the current limit.
+ *
+ * <p>Windows where fewer than half the limit were ever in flight say nothing about
+ * capacity, so the limit is left alone then rather than growing without evidence.
+ */
+class GradientLimit {
+
+    // Windows the long-term average spans, roughly
+    private static final int LONG_WINDOWS = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minSamples;
+
+    private final LongAdder windowSum = new LongAdder();
+    private final LongAdder windowCount = new LongAdder();
+    private final LongAccumulator windowMaxInFlight = new LongAccumulator(Math::max, 0);
+    private final AtomicLong windowStart;
+
+    private volatile double limit;
+
+    // Only touched by the thread that closes a window
+    private double longRtt;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                  long windowNanos, int minSamples, long nowNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = windowNanos;
+        this.minSamples = minSamples;
+        this.windowStart = new AtomicLong(nowNanos);
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    /** Records one completed request; {@code inFlight} counts it and everything running alongside. */
+    void onSample(long rttNanos, int inFlight, long nowNanos) {
+        windowSum.add(rttNanos);
+        windowCount.increment();
+        windowMaxInFlight.accumulate(inFlight);
+        long start = windowStart.get();
+        if (nowNanos - start >= windowNanos && windowCount.sum() >= minSamples
+                && windowStart.compareAndSet(start, nowNanos)) {
+            long count = windowCount.sumThenReset();
+            long sum = windowSum.sumThenReset();
+            long maxInFlight = windowMaxInFlight.getThenReset();
+            if (count > 0) {
+                update((double) sum / count, maxInFlight);
+            }
+        }
+    }
+
+    private synchronized void update(double shortRtt, long maxInFlight) {
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / LONG_WINDOWS;
+        }
+        // Latency well below the long-term average: let the average follow it down faster
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.clamp(tolerance * longRtt / shortRtt, 0.5, 1.0);
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + target * smoothing;
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+}
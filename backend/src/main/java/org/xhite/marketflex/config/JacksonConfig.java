@@ -3,8 +3,16 @@ package org.xhite.marketflex.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 @Configuration
 public class JacksonConfig {
@@ -16,5 +24,27 @@ public class JacksonConfig {
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return mapper;
     }
-}
 
+    /**
+     * Boot builds the CBOR mapper from the same properties and modules as the JSON one,
+     * but has nothing for Smile, so this mapper takes the same modules.
+     */
+    @Bean
+    public SmileMapper smileMapper(ObjectProvider<JacksonModule> modules) {
+        return SmileMapper.builder()
+                .addModules(modules.orderedStream().toList())
+                .build();
+    }
+
+    /**
+     * Lets API clients ask for application/cbor or application/x-jackson-smile instead of
+     * JSON. Both read and write the same DTOs with the mappers above, and JSON stays the
+     * answer to Accept headers that don't name a binary type.
+     */
+    @Bean
+    public ServerHttpMessageConvertersCustomizer binaryMessageConverters(CBORMapper cborMapper, SmileMapper smileMapper) {
+        return builder -> builder
+                .withCborConverter(new JacksonCborHttpMessageConverter(cborMapper))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper));
+    }
+}
@@ -0,0 +1,290 @@
+package org.xhite.marketflex.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.xhite.marketflex.security.JwtTokenProvider;
+import org.xhite.marketflex.security.SecurityConstants;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Replays a recorded set of catalog, cart and auth calls against this instance before
+ * it reports ready, so that the first real users are not served by the interpreter.
+ * Runs as an {@link ApplicationRunner}: the server already listens, but readiness only
+ * turns to accepting traffic once every runner has returned.
+ *
+ * <p>The calls go over loopback through Tomcat, the filters, security, MVC and Jackson,
+ * which is the code that runs cold. The recording may only contain GET and HEAD; calls
+ * marked {@code auth} are made as {@code app.warmup.user}, a dedicated account, and are
+ * skipped when none is set. Warm-up calls skip rate limiting, the adaptive limiter
+ * and the response cache.
+ *
+ * <p>C2 compilations are counted from flight recorder events. The replay stops once
+ * {@code stable-windows} windows in a row saw at most {@code stable-compilations} of
+ * them, but never before {@code min-duration-ms} nor after {@code max-duration-ms}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class JitWarmup implements ApplicationRunner {
+
+    static final String TOKEN_HEADER = "X-Warmup-Token";
+
+    private static final String COMPILATION = "jdk.Compilation";
+    private static final int C2_LEVEL = 4;
+
+    // Set only while a warm-up runs, so the header means nothing afterwards
+    private static volatile String activeToken;
+
+    private final ApplicationContext applicationContext;
+    private final ResourceLoader resourceLoader;
+    private final JwtTokenProvider tokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.warmup.requests:classpath:warmup/requests.txt}")
+    private String requestsLocation;
+
+    @Value("${app.warmup.user:}")
+    private String user;
+
+    @Value("${app.warmup.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.warmup.min-duration-ms:5000}")
+    private long minDurationMs;
+
+    @Value("${app.warmup.max-duration-ms:60000}")
+    private long maxDurationMs;
+
+    @Value("${app.warmup.window-ms:1000}")
+    private long windowMs;
+
+    @Value("${app.warmup.stable-windows:3}")
+    private int stableWindows;
+
+    @Value("${app.warmup.stable-compilations:5}")
+    private int stableCompilations;
+
+    private final AtomicLong c2Compilations = new AtomicLong();
+
+    /** Whether {@code request} was sent by the warm-up currently running. */
+    public static boolean isWarmupRequest(HttpServletRequest request) {
+        String token = activeToken;
+        return token != null && token.equals(request.getHeader(TOKEN_HEADER));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!(applicationContext instanceof WebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            log.info("No web server, skipping JIT warm-up");
+            return;
+        }
+        warmUp(webContext.getWebServer().getPort());
+    }
+
+    void warmUp(int port) throws IOException, InterruptedException {
+        String token = UUID.randomUUID().toString();
+        List<HttpRequest> calls = calls(port, token);
+        if (calls.isEmpty()) {
+            log.warn("No warm-up calls to replay from {}", requestsLocation);
+            return;
+        }
+        Counter succeeded = requestCounter("success");
+        Counter failed = requestCounter("failure");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        activeToken = token;
+        Gauge.builder("warmup.c2.compilations", c2Compilations, AtomicLong::get)
+            .description("C2 compilations seen while warming up")
+            .register(meterRegistry);
+        RecordingStream compilations = compilationStream();
+        long start = System.nanoTime();
+        String outcome;
+        Replay replay = new Replay();
+        try (ExecutorService workers = Executors.newFixedThreadPool(concurrency)) {
+            try {
+                for (int i = 0; i < concurrency; i++) {
+                    int offset = i * calls.size() / concurrency;
+                    workers.execute(() -> replay.run(client, calls, offset, succeeded, failed));
+                }
+                outcome = compilations == null ? awaitMinDuration(start) : awaitStableCompilation(start);
+            } finally {
+                // Closing the executor waits for the workers, so they must be told first
+                replay.stop();
+            }
+        } finally {
+            activeToken = null;
+            if (compilations != null) {
+                compilations.close();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("warmup.duration")
+            .description("Time spent replaying warm-up calls before readiness")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("JIT warm-up {} after {} ms: {} calls, {} failed, {} C2 compilations", outcome,
+            TimeUnit.NANOSECONDS.toMillis(elapsed), (long) (succeeded.count() + failed.count()),
+            (long) failed.count(), c2Compilations.get());
+    }
+
+    private Counter requestCounter(String outcome) {
+        return Counter.builder("warmup.requests")
+            .description("Calls replayed by the JIT warm-up")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private RecordingStream compilationStream() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(COMPILATION).withThreshold(Duration.ZERO);
+            stream.onEvent(COMPILATION, event -> {
+                if (event.getInt("compileLevel") == C2_LEVEL) {
+                    c2Compilations.incrementAndGet();
+                }
+            });
+            stream.startAsync();
+            return stream;
+        } catch (RuntimeException e) {
+            log.warn("Flight recorder unavailable, warming up for {} ms without watching compilation", minDurationMs, e);
+            return null;
+        }
+    }
+
+    private String awaitStableCompilation(long start) throws InterruptedException {
+        int stable = 0;
+        long last = c2Compilations.get();
+        while (true) {
+            Thread.sleep(windowMs);
+            long total = c2Compilations.get();
+            stable = total - last <= stableCompilations ? stable + 1 : 0;
+            last = total;
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsedMs >= maxDurationMs) {
+                return "timeout";
+            }
+            if (stable >= stableWindows && elapsedMs >= minDurationMs) {
+                return "stable";
+            }
+        }
+    }
+
+    private String awaitMinDuration(long start) throws InterruptedException {
+        long remainingMs = minDurationMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (remainingMs > 0) {
+            Thread.sleep(remainingMs);
+        }
+        return "unobserved";
+    }
+
+    List<HttpRequest> calls(int port, String token) throws IOException {
+        String bearer = bearerToken();
+        Resource resource = resourceLoader.getResource(requestsLocation);
+        List<HttpRequest> calls = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                String method = parts[0];
+                if (!method.equals("GET") && !method.equals("HEAD")) {
+                    throw new IllegalStateException("Warm-up calls must not change anything, only GET and HEAD are replayed: " + line);
+                }
+                boolean authenticated = parts.length > 2 && parts[2].equals("auth");
+                if (authenticated && bearer == null) {
+                    continue;
+                }
+                HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + parts[1]))
+                    .method(method, HttpRequest.BodyPublishers.noBody())
+                    .header(TOKEN_HEADER, token)
+                    .timeout(Duration.ofSeconds(10));
+                if (authenticated) {
+                    request.header(HttpHeaders.AUTHORIZATION, SecurityConstants.TOKEN_PREFIX + bearer);
+                }
+                calls.add(request.build());
+            }
+        }
+        return calls;
+    }
+
+    private String bearerToken() {
+        if (!StringUtils.hasText(user)) {
+            log.info("No app.warmup.user set, skipping authenticated warm-up calls");
+            return null;
+        }
+        try {
+            UserDetails details = userDetailsService.loadUserByUsername(user);
+            return tokenProvider.generateToken(details.getUsername(),
+                details.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        } catch (UsernameNotFoundException e) {
+            log.warn("Warm-up user {} not found, skipping authenticated warm-up calls", user);
+            return null;
+        }
+    }
+
+    private static final class Replay {
+
+        private volatile boolean stopped;
+
+        void run(HttpClient client, List<HttpRequest> calls, int offset, Counter succeeded, Counter failed) {
+            for (int i = offset; !stopped; i++) {
+                try {
+                    int status = client.send(calls.get(i % calls.size()), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    (status < 400 ? succeeded : failed).increment();
+                } catch (IOException e) {
+                    failed.increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        void stop() {
+            stopped = true;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.xhite.marketflex.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Caps how many threads hold a pooled connection at once. With virtual threads there
+ * is no worker pool in front of the database any more, so a burst of requests all
+ * reach the connection pool together and time out in its hand-off queue. Here they
+ * park on a fair semaphore instead: cheap for a virtual thread, served in arrival
+ * order, and rejected after {@code acquireTimeoutMs} with a transient SQL exception.
+ *
+ * <p>The permit is taken before asking the pool and given back when the connection
+ * is closed, so it covers exactly the time the connection is checked out.
+ *
+ * <p>Connections opened inside a {@link Bulkhead} first need a permit from that
+ * bulkhead's partition, which caps how many connections one kind of traffic can hold
+ * so that slow searches cannot starve checkout. Partitions wait only briefly and then
+ * fail with {@link BulkheadFullException}.
+ */
+class LimitingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<String> BULKHEAD = new ThreadLocal<>();
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMs;
+    private final Map<String, Partition> partitions;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    LimitingDataSource(DataSource target, int maxConcurrent, long acquireTimeoutMs) {
+        this(target, maxConcurrent, acquireTimeoutMs, Map.of());
+    }
+
+    LimitingDataSource(DataSource target, int maxConcurrent, long acquireTimeoutMs, Map<String, Partition> partitions) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.partitions = Map.copyOf(partitions);
+    }
+
+    /** Sets the bulkhead for this thread unless an outer call already did; returns the outer one. */
+    static String enterBulkhead(String name) {
+        String outer = BULKHEAD.get();
+        if (outer == null) {
+            BULKHEAD.set(name);
+        }
+        return outer;
+    }
+
+    static void exitBulkhead(String outer) {
+        if (outer == null) {
+            BULKHEAD.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return checkOut(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return checkOut(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection checkOut(ConnectionSource pool) throws SQLException {
+        String bulkhead = BULKHEAD.get();
+        Partition partition = bulkhead == null ? null : partitions.get(bulkhead);
+        if (partition != null) {
+            partition.acquire();
+        }
+        try {
+            acquire();
+        } catch (SQLException e) {
+            if (partition != null) {
+                partition.release();
+            }
+            throw e;
+        }
+        try {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new PermitReleasingHandler(pool.get(), partition));
+        } catch (SQLException | RuntimeException e) {
+            release(partition);
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean granted;
+        try {
+            granted = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+        if (!granted) {
+            rejected.increment();
+            throw new SQLTransientConnectionException("No database permit within " + acquireTimeoutMs
+                + " ms, " + permits.getQueueLength() + " threads waiting");
+        }
+        acquired.increment();
+        waitNanos.add(System.nanoTime() - start);
+    }
+
+    private void release(Partition partition) {
+        permits.release();
+        if (partition != null) {
+            partition.release();
+        }
+    }
+
+    int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    int inUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    int waiting() {
+        return permits.getQueueLength();
+    }
+
+    long acquiredCount() {
+        return acquired.sum();
+    }
+
+    double totalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    long rejectedCount() {
+        return rejected.sum();
+    }
+
+    Map<String, Partition> partitions() {
+        return partitions;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    /** The share of permits one {@link Bulkhead} may hold, on top of the overall limit. */
+    static final class Partition {
+
+        private final String name;
+        private final Semaphore permits;
+        private final int maxConcurrent;
+        private final long maxWaitMs;
+        private final LongAdder rejected = new LongAdder();
+
+        Partition(String name, int maxConcurrent, long maxWaitMs) {
+            this.name = name;
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for bulkhead " + name, e);
+            }
+            rejected.increment();
+            throw new BulkheadFullException(name, "Bulkhead " + name + " has all " + maxConcurrent
+                + " connections in use after " + maxWaitMs + " ms");
+        }
+
+        private void release() {
+            permits.release();
+        }
+
+        String name() {
+            return name;
+        }
+
+        int maxConcurrent() {
+            return maxConcurrent;
+        }
+
+        int inUse() {
+            return maxConcurrent - permits.availablePermits();
+        }
+
+        int waiting() {
+            return permits.getQueueLength();
+        }
+
+        long rejectedCount() {
+            return rejected.sum();
+        }
+    }
+
+    /** Releases the permits on the first close, even if closing the connection throws. */
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final Partition partition;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingHandler(Connection target, Partition partition) {
+            this.target = target;
+            this.partition = partition;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                    release(partition);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.xhite.marketflex.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Caps how many INFO and lower events chosen loggers may emit per second, so that
+ * per-request messages on the hot paths (stock updates, order creation) cannot flood
+ * the log pipeline under load. {@code limits} is a comma-separated list of
+ * {@code logger=eventsPerSecond}; a name also covers the loggers below it, which then
+ * share its allowance, and the longest matching name wins. Events over the limit are
+ * denied before they are formatted and counted per configured name. WARN and ERROR
+ * always pass.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private static final Limit UNLIMITED = new Limit("", Integer.MAX_VALUE);
+
+    private final Map<String, Limit> limits = new LinkedHashMap<>();
+    private final ConcurrentMap<String, Limit> byLogger = new ConcurrentHashMap<>();
+    private final LongSupplier nanoTime;
+
+    public LogSamplingFilter() {
+        this(System::nanoTime);
+    }
+
+    LogSamplingFilter(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    public void setLimits(String spec) {
+        limits.clear();
+        byLogger.clear();
+        if (spec == null || spec.isBlank()) {
+            return;
+        }
+        for (String entry : spec.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            String name = separator > 0 ? entry.substring(0, separator).trim() : "";
+            try {
+                int perSecond = Integer.parseInt(entry.substring(separator + 1).trim());
+                if (name.isEmpty() || perSecond < 0) {
+                    throw new NumberFormatException();
+                }
+                limits.put(name, new Limit(name, perSecond));
+            } catch (NumberFormatException e) {
+                addError("Ignoring log sampling limit '" + entry.trim() + "', expected logger=eventsPerSecond");
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() check; the log call that may follow is decided on its own
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        Limit limit = byLogger.computeIfAbsent(logger.getName(), this::resolve);
+        // getEffectiveLevel, not isEnabledFor: the latter consults turbo filters again
+        if (limit == UNLIMITED || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return limit.tryAcquire(nanoTime.getAsLong() / 1_000_000_000L) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Limit resolve(String loggerName) {
+        Limit match = UNLIMITED;
+        for (Limit limit : limits.values()) {
+            boolean covers = loggerName.equals(limit.name) || loggerName.startsWith(limit.name + ".");
+            if (covers && (match == UNLIMITED || limit.name.length() > match.name.length())) {
+                match = limit;
+            }
+        }
+        return match;
+    }
+
+    /** Events denied so far, per configured logger name. */
+    public Map<String, Long> getSuppressedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        limits.values().forEach(limit -> counts.put(limit.name, limit.suppressed.sum()));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /** The limit for each configured logger name, in events per second. */
+    public Map<String, Integer> getLimits() {
+        Map<String, Integer> perSecond = new LinkedHashMap<>();
+        limits.values().forEach(limit -> perSecond.put(limit.name, limit.perSecond));
+        return Collections.unmodifiableMap(perSecond);
+    }
+
+    long getSuppressedCount(String name) {
+        Limit limit = limits.get(name);
+        return limit == null ? 0 : limit.suppressed.sum();
+    }
+
+    /** Fixed one-second windows; a burst may straddle two windows, which is fine for logs. */
+    private static final class Limit {
+
+        private final String name;
+        private final int perSecond;
+        private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger used = new AtomicInteger();
+        private final LongAdder suppressed = new LongAdder();
+
+        private Limit(String name, int perSecond) {
+            this.name = name;
+            this.perSecond = perSecond;
+        }
+
+        private boolean tryAcquire(long second) {
+            long current = window.get();
+            if (second != current && window.compareAndSet(current, second)) {
+                used.set(0);
+            }
+            if (used.incrementAndGet() <= perSecond) {
+                return true;
+            }
+            suppressed.increment();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.xhite.marketflex.config;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes what the log pipeline of {@code logback-spring.xml} loses: events each
+ * {@link AsyncLogAppender} discarded or dropped, how full its queue is, and events each
+ * {@link LogSamplingFilter} limit denied. A steady rise in {@code logging.events.dropped}
+ * means the writer cannot keep up with the console, not that the application is quiet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoggingMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void init() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        for (AsyncLogAppender appender : asyncAppenders(context)) {
+            FunctionCounter.builder("logging.events.dropped", appender, AsyncLogAppender::getDiscardedCount)
+                .description("Log events lost because the async appender's queue was nearly or completely full")
+                .tags("appender", appender.getName(), "reason", "below-threshold")
+                .register(meterRegistry);
+            FunctionCounter.builder("logging.events.dropped", appender, AsyncLogAppender::getDroppedCount)
+                .tags("appender", appender.getName(), "reason", "queue-full")
+                .register(meterRegistry);
+            Gauge.builder("logging.queue.depth", appender, AsyncLogAppender::getQueuedCount)
+                .tags("appender", appender.getName())
+                .register(meterRegistry);
+            Gauge.builder("logging.queue.capacity", appender, AsyncLogAppender::getQueueSize)
+                .tags("appender", appender.getName())
+                .register(meterRegistry);
+        }
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof LogSamplingFilter sampling) {
+                sampling.getLimits().forEach((name, perSecond) -> {
+                    FunctionCounter.builder("logging.events.sampled", sampling, f -> f.getSuppressedCount(name))
+                        .description("Log events denied by a per-logger rate limit")
+                        .tags("logger", name)
+                        .register(meterRegistry);
+                    log.info("Logger {} limited to {} events per second below WARN", name, perSecond);
+                });
+            }
+        }
+    }
+
+    private static Set<AsyncLogAppender> asyncAppenders(LoggerContext context) {
+        Set<AsyncLogAppender> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        context.getLoggerList().forEach(logger -> {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof AsyncLogAppender appender) {
+                    found.add(appender);
+                }
+            }
+        });
+        return found;
+    }
+}
@@ -0,0 +1,44 @@
+package org.xhite.marketflex.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times methods annotated with {@link Timed}. The hot paths carry it: checkout, stock
+ * updates, cart changes and product filtering. Histogram ranges are set per meter under
+ * {@code management.metrics.distribution}. Also installs the {@link QueryCounter} that
+ * {@link QueryCountFilter} and tests count statements with.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static and lazy about the registry: advisors are created before the registry's post-processors
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor timedAdvisor(ObjectProvider<MeterRegistry> registry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            new ComposablePointcut(new AnnotationMatchingPointcut(Timed.class, true))
+                .union(new AnnotationMatchingPointcut(null, Timed.class, true)),
+            new TimedInterceptor(registry::getObject));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+}
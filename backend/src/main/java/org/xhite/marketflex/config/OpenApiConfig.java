@@ -8,8 +8,11 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
 
+// Only the API docs need it, so it is built with their first request instead of at startup
+@Lazy
 @Configuration
 @Profile("!prod")
 public class OpenApiConfig {
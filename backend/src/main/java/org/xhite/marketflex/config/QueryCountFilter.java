@@ -0,0 +1,112 @@
+package org.xhite.marketflex.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the statements each request runs through Hibernate with a {@link QueryCounter}
+ * recording, and logs a warning when one statement ran {@code repeat-threshold} times
+ * or more, the mark of an N+1. The log carries method, path, total, repeats and the
+ * statement as key-value pairs as well as in the message.
+ *
+ * <p>With {@code header-enabled} the count is also sent as {@code X-Query-Count}, added
+ * when the response commits, so statements run after that are only in the log. Runs
+ * ahead of {@link ResponseCacheFilter}: a cache hit reports no statements, and the
+ * header is never stored with a cached response.
+ */
+@Slf4j
+@Component
+@Order(SecurityFilterProperties.DEFAULT_FILTER_ORDER - 2)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    @Value("${app.query-count.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.query-count.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Value("${app.query-count.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @PostConstruct
+    public void init() {
+        log.info("Statement counting {}, warning at {} runs of one statement per request{}",
+            enabled ? "enabled" : "disabled", repeatThreshold, headerEnabled ? ", " + QUERY_COUNT_HEADER + " header on" : "");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain)
+            throws ServletException, IOException {
+
+        try (QueryCounter.Recording recording = QueryCounter.start()) {
+            if (headerEnabled) {
+                HeaderOnCommit wrapper = new HeaderOnCommit(response, recording);
+                filterChain.doFilter(request, wrapper);
+                if (!response.isCommitted()) {
+                    wrapper.onResponseCommitted();
+                }
+            } else {
+                filterChain.doFilter(request, response);
+            }
+            report(request, recording);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCounter.Recording recording) {
+        Map.Entry<String, Integer> repeated = recording.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.atWarn()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("statements", recording.total())
+                .addKeyValue("repeats", repeated.getValue())
+                .addKeyValue("statement", repeated.getKey())
+                .log("Likely N+1 in {} {}: {} statements, {} of them the same: {}", request.getMethod(),
+                    request.getRequestURI(), recording.total(), repeated.getValue(), repeated.getKey());
+        } else {
+            log.debug("{} {} ran {} statements", request.getMethod(), request.getRequestURI(), recording.total());
+        }
+    }
+
+    private static final class HeaderOnCommit extends OnCommittedResponseWrapper {
+
+        private final QueryCounter.Recording recording;
+        private boolean written;
+
+        HeaderOnCommit(HttpServletResponse response, QueryCounter.Recording recording) {
+            super(response);
+            this.recording = recording;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (!written) {
+                written = true;
+                setIntHeader(QUERY_COUNT_HEADER, recording.total());
+            }
+        }
+    }
+}
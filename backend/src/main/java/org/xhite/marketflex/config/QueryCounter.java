@@ -0,0 +1,80 @@
+package org.xhite.marketflex.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * {@link Recording} is open. Installed as the session factory's statement inspector;
+ * with no recording open it costs a thread-local read per statement. Statements are
+ * kept by their text, which Hibernate renders with placeholders, so the same text run
+ * many times in one recording is the shape of an N+1: one query per row of an earlier
+ * one. JDBC used outside Hibernate, such as Flyway or a JdbcTemplate, is not seen.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    /** Starts counting on this thread until the returned recording is closed; recordings nest. */
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.outer) {
+            recording.add(sql);
+        }
+        return sql;
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording outer;
+        private final Map<String, Integer> statements = new LinkedHashMap<>();
+        private int total;
+
+        private Recording(Recording outer) {
+            this.outer = outer;
+        }
+
+        private void add(String sql) {
+            statements.merge(sql, 1, Integer::sum);
+            total++;
+        }
+
+        public int total() {
+            return total;
+        }
+
+        /** Each distinct statement with the times it ran, in the order first seen. */
+        public Map<String, Integer> statements() {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(statements));
+        }
+
+        /** The statement run most often, or null if none ran. */
+        public Map.Entry<String, Integer> mostRepeated() {
+            Map.Entry<String, Integer> most = null;
+            for (Map.Entry<String, Integer> statement : statements.entrySet()) {
+                if (most == null || statement.getValue() > most.getValue()) {
+                    most = statement;
+                }
+            }
+            return most == null ? null : Map.entry(most.getKey(), most.getValue());
+        }
+
+        @Override
+        public void close() {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+}
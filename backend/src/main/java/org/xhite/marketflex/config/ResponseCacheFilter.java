@@ -0,0 +1,236 @@
+package org.xhite.marketflex.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.security.autoconfigure.web.servlet.SecurityFilterProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves repeated anonymous catalog GETs from their serialized bytes. Runs ahead of
+ * Spring Security, so a hit is a lookup and one buffer write: no security chain, no
+ * controller, no Jackson. Entries keep the headers of the response they were rendered
+ * from, and bodies of {@code gzip-min-bytes} or more are also stored gzipped.
+ *
+ * <p>Keys are the catalog version, the Origin (CORS headers differ by it), the Accept
+ * header (JSON, CBOR and Smile are negotiated from it) and the path with its query
+ * parameters sorted. A catalog write moves the version, so entries
+ * rendered before it are never served again. Requests with an Authorization header
+ * always go through, as their responses may depend on who is asking. Conditional
+ * requests are checked against the validators stored with the entry.
+ *
+ * <p>{@link JitWarmup} calls also go through: answered from here they would never
+ * reach the controllers and Jackson they are meant to get compiled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(SecurityFilterProperties.DEFAULT_FILTER_ORDER - 1)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final List<MediaType> CACHEABLE_TYPES = List.of(
+        MediaType.APPLICATION_JSON,
+        MediaType.APPLICATION_CBOR,
+        new MediaType("application", "x-jackson-smile"));
+
+    private final CacheManager cacheManager;
+    private final CatalogVersion catalogVersion;
+
+    @Value("${app.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.response-cache.paths:/api/v1/products,/api/v1/categories,/api/v1/vendors}")
+    private String[] paths;
+
+    @Value("${app.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private Cache cache;
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache(CacheNames.RESPONSES);
+        log.info("Response cache {} for {}", enabled ? "enabled" : "disabled", String.join(", ", paths));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+            || !"GET".equals(request.getMethod())
+            || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+            || !isCachedPath(request.getRequestURI())
+            || JitWarmup.isWarmupRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Taken before rendering: a write committing meanwhile leaves this entry under the old version
+        String key = key(catalogVersion.current(), request);
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached != null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(cached.contentType());
+            cached.headers().forEach(header -> response.addHeader(header.getKey(), header.getValue()));
+            if (!isNotModified(cached, request, response)) {
+                writeBody(cached, request, response, "HIT");
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        if (request.isAsyncStarted() || !isCacheable(wrapper)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        CachedResponse rendered = render(wrapper);
+        cache.put(key, rendered);
+        // Headers already reached the response; only the body is still held by the wrapper
+        writeBody(rendered, request, response, "MISS");
+    }
+
+    private boolean isCachedPath(String uri) {
+        for (String path : paths) {
+            if (uri.equals(path) || uri.startsWith(path) && uri.charAt(path.length()) == '/') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpServletResponse.SC_OK
+            && contentType != null
+            && isCacheableType(MediaType.parseMediaType(contentType))
+            && !response.containsHeader(HttpHeaders.SET_COOKIE);
+    }
+
+    private static boolean isCacheableType(MediaType contentType) {
+        for (MediaType type : CACHEABLE_TYPES) {
+            if (type.isCompatibleWith(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CachedResponse render(ContentCachingResponseWrapper response) throws IOException {
+        List<Map.Entry<String, String>> headers = new ArrayList<>();
+        // Tomcat lists a name once per value, getHeaders already returns all of them
+        Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        names.addAll(response.getHeaderNames());
+        for (String name : names) {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                response.getHeaders(name).forEach(value -> headers.add(Map.entry(name, value)));
+            }
+        }
+        byte[] body = response.getContentAsByteArray();
+        return new CachedResponse(response.getContentType(), List.copyOf(headers), body,
+            body.length >= gzipMinBytes ? gzip(body) : null);
+    }
+
+    /** Applies the validators the entry was rendered with, as the handler would have. */
+    private static boolean isNotModified(CachedResponse cached, HttpServletRequest request,
+            HttpServletResponse response) {
+        String etag = null;
+        long lastModified = -1;
+        for (Map.Entry<String, String> header : cached.headers()) {
+            if (HttpHeaders.ETAG.equalsIgnoreCase(header.getKey())) {
+                etag = header.getValue();
+            } else if (HttpHeaders.LAST_MODIFIED.equalsIgnoreCase(header.getKey())) {
+                lastModified = ZonedDateTime.parse(header.getValue(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            }
+        }
+        return etag != null && new ServletWebRequest(request, response).checkNotModified(etag, lastModified);
+    }
+
+    private static void writeBody(CachedResponse cached, HttpServletRequest request, HttpServletResponse response,
+            String cacheStatus) throws IOException {
+        byte[] body = cached.body();
+        if (cached.gzipBody() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = cached.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(CACHE_STATUS_HEADER, cacheStatus);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    static String key(long version, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder()
+            .append(version).append(' ')
+            .append(request.getHeader(HttpHeaders.ORIGIN)).append(' ')
+            .append(request.getHeader(HttpHeaders.ACCEPT)).append(' ')
+            .append(request.getRequestURI());
+        char separator = '?';
+        // Sorted so that ?a=1&b=2 and ?b=2&a=1 share an entry
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator)
+                    .append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,232 @@
+package org.xhite.marketflex.config;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves {@code /uploads/**} straight from the upload directory. Stored files are
+ * named after their content and never rewritten, so responses are marked immutable
+ * for a year and revalidation is answered from file metadata alone.
+ *
+ * <p>Bodies are handed to Tomcat's sendfile support when the connector offers it,
+ * so the bytes go from the page cache to the socket without passing through the
+ * heap. Other containers get a {@link FileChannel#transferTo} copy.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadResourceHandler implements HttpRequestHandler {
+
+    static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Tomcat's own default threshold; smaller bodies are cheaper to write inline
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private final Path fileStorageLocation;
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String method = request.getMethod();
+        boolean head = "HEAD".equals(method);
+        if (!head && !"GET".equals(method)) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        Path file = resolve(request);
+        BasicFileAttributes attributes = file == null ? null : readAttributes(file);
+        if (attributes == null || !attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString());
+
+        long start = 0;
+        long end = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+
+        long count = end - start;
+        response.setContentLengthLong(count);
+        if (head || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat streams the file once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    // File shrank underneath us; the client sees a short body
+                    log.warn("Upload {} ended at {} of {} bytes", file.getFileName(), position, end);
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    private Path resolve(HttpServletRequest request) {
+        Object mapped = request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        String name = mapped != null ? mapped.toString()
+                : request.getRequestURI().substring(request.getRequestURI().lastIndexOf('/') + 1);
+
+        // Uploads are stored flat, so anything that looks like a path is rejected
+        if (name.isEmpty() || name.startsWith(".") || name.contains("/") || name.contains("\\")
+                || name.contains("..")) {
+            return null;
+        }
+        return fileStorageLocation.resolve(name);
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) throws IOException {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match uses weak comparison and takes precedence over the date
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires a strong match
+            return ifRange.equals(etag);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses a single byte range into {@code [start, end)}. Returns {@code null} when
+     * the header should be ignored and the whole file sent, which covers malformed
+     * values and multi-range requests, and {@link #UNSATISFIABLE} for a 416.
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return UNSATISFIABLE;
+                }
+                return new long[] { Math.max(0, length - suffix), length };
+            }
+            long first = Long.parseLong(spec.substring(0, dash));
+            String lastSpec = spec.substring(dash + 1);
+            long last = lastSpec.isEmpty() ? Long.MAX_VALUE : Long.parseLong(lastSpec);
+            if (first < 0 || last < first) {
+                return null;
+            }
+            if (first >= length) {
+                return UNSATISFIABLE;
+            }
+            return new long[] { first, Math.min(last, length - 1) + 1 };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.xhite.marketflex.config;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches the JVM's own flight recorder events for virtual threads that stay pinned to
+ * their carrier, usually blocking inside a {@code synchronized} block or a native frame.
+ * A pinned virtual thread holds one of the few carrier threads, so a handful of them
+ * can stall every request. Each pinning is timed under the first application frame on
+ * its stack, and that site is logged once with its full stack.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "app.threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED = "jdk.VirtualThreadSubmitFailed";
+    private static final String APP_PACKAGE = "org.xhite.marketflex.";
+    private static final int MAX_SITES = 50;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.threads.pinning.threshold-ms:20}")
+    private long thresholdMs;
+
+    private final Set<String> sites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+    private Counter submitFailedCounter;
+
+    @PostConstruct
+    public void start() {
+        submitFailedCounter = Counter.builder("jvm.threads.virtual.submit.failed")
+            .description("Virtual threads that could not be scheduled on a carrier")
+            .register(meterRegistry);
+        stream = new RecordingStream();
+        stream.enable(PINNED).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.enable(SUBMIT_FAILED);
+        stream.onEvent(PINNED, this::onPinned);
+        stream.onEvent(SUBMIT_FAILED, event -> submitFailedCounter.increment());
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {} ms", thresholdMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stream.close();
+    }
+
+    void onPinned(RecordedEvent event) {
+        String site = site(event.getStackTrace());
+        // Unbounded stacks would mean unbounded tags, later sites share one series
+        if (!sites.contains(site) && sites.size() >= MAX_SITES) {
+            site = "other";
+        }
+        if (sites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}:{}", event.getDuration().toMillis(), site,
+                event.getStackTrace() == null ? " no stack" : stack(event.getStackTrace()));
+        }
+        Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent blocked while pinned to their carrier")
+            .tag("site", site)
+            .register(meterRegistry)
+            .record(event.getDuration());
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame top = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            if (top == null) {
+                top = frame;
+            }
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return frameName(frame);
+            }
+        }
+        return top == null ? "unknown" : frameName(top);
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static String stack(RecordedStackTrace stackTrace) {
+        StringBuilder stack = new StringBuilder();
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            stack.append("\n\tat ").append(frameName(frame)).append(':').append(frame.getLineNumber());
+        }
+        return stack.toString();
+    }
+}
@@ -1,22 +1,31 @@
 package org.xhite.marketflex.config;
 
-import java.io.File;
-import java.nio.file.Paths;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import lombok.RequiredArgsConstructor;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
     private static final Logger log = LoggerFactory.getLogger(WebConfig.class);
 
-    @Value("${app.upload.path}")
-    private String uploadPath;
+    private final CatalogConditionalGetInterceptor catalogConditionalGetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(catalogConditionalGetInterceptor).addPathPatterns("/api/v1/**");
+    }
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
@@ -27,19 +36,18 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("classpath:/static/css/");
         registry.addResourceHandler("/images/**")
                 .addResourceLocations("classpath:/static/images/");
-        
-        
-        String projectDir = System.getProperty("user.dir");
-        String uploadPath = Paths.get(projectDir, "src", "main", "resources", "static", "uploads")
-                .toAbsolutePath()
-                .toString();
-        
-        String uploadUrl = String.format("file:%s%s", uploadPath, File.separator);
-        log.info("Configuring uploads resource handler with path: {}", uploadUrl);
-        
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadPath + "/")
-                .setCachePeriod(3600)
-                .resourceChain(true);
+    }
+
+    /**
+     * Uploads get their own handler instead of a resource location: it adds immutable
+     * caching, strong ETags and range support, and sends bodies with sendfile.
+     */
+    @Bean
+    public SimpleUrlHandlerMapping uploadHandlerMapping(UploadResourceHandler uploadResourceHandler) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of("/uploads/**", uploadResourceHandler));
+        // Ahead of the controller mappings so upload requests skip their lookup
+        mapping.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        log.info("Configuring uploads handler");
+        return mapping;
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package org.xhite.marketflex.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.xhite.marketflex.dto.CacheStatsDto;
+import org.xhite.marketflex.service.CacheAdminService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin/caches")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCacheController {
+
+    private final CacheAdminService cacheAdminService;
+
+    /**
+     * GET /api/v1/admin/caches - Bounds and hit/miss statistics of every cache
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDto>> listCaches() {
+        return ResponseEntity.ok(cacheAdminService.getCaches());
+    }
+
+    /**
+     * GET /api/v1/admin/caches/{name} - Statistics of one cache
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<CacheStatsDto> getCache(@PathVariable String name) {
+        return ResponseEntity.ok(cacheAdminService.getCache(name));
+    }
+
+    /**
+     * DELETE /api/v1/admin/caches/{name} - Drop every entry of one cache
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Void> clearCache(@PathVariable String name) {
+        cacheAdminService.clearCache(name);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * DELETE /api/v1/admin/caches - Drop every entry of every cache
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> clearAll() {
+        cacheAdminService.clearAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,38 @@
+package org.xhite.marketflex.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.xhite.marketflex.dto.DeadLetterEventDto;
+import org.xhite.marketflex.service.DeadLetterService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin/events")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminEventController {
+
+    private final DeadLetterService deadLetterService;
+
+    /**
+     * GET /api/v1/admin/events/dead-letters - Most recent domain events whose handler gave up
+     */
+    @GetMapping("/dead-letters")
+    public ResponseEntity<List<DeadLetterEventDto>> listDeadLetters(
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(deadLetterService.getDeadLetters(limit));
+    }
+
+    /**
+     * DELETE /api/v1/admin/events/dead-letters/{id} - Discard a dead letter once it has been dealt with
+     */
+    @DeleteMapping("/dead-letters/{id}")
+    public ResponseEntity<Void> deleteDeadLetter(@PathVariable Long id) {
+        deadLetterService.deleteDeadLetter(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,69 @@
+package org.xhite.marketflex.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.xhite.marketflex.dto.FlightRecordingDto;
+import org.xhite.marketflex.service.FlightRecordingService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin/recordings")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * POST /api/v1/admin/recordings - Start a flight recording with the business events on
+     */
+    @PostMapping
+    public ResponseEntity<FlightRecordingDto> startRecording(
+            @RequestParam(required = false) Integer durationMinutes) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(flightRecordingService.start(durationMinutes));
+    }
+
+    /**
+     * GET /api/v1/admin/recordings/current - State and size of the recording
+     */
+    @GetMapping("/current")
+    public ResponseEntity<FlightRecordingDto> getRecording() {
+        return ResponseEntity.ok(flightRecordingService.getCurrent());
+    }
+
+    /**
+     * POST /api/v1/admin/recordings/current/stop - Stop the recording, keeping it for download
+     */
+    @PostMapping("/current/stop")
+    public ResponseEntity<FlightRecordingDto> stopRecording() {
+        return ResponseEntity.ok(flightRecordingService.stop());
+    }
+
+    /**
+     * GET /api/v1/admin/recordings/current/file - Download the recording so far as a .jfr file
+     */
+    @GetMapping("/current/file")
+    public ResponseEntity<StreamingResponseBody> downloadRecording() {
+        FlightRecordingDto recording = flightRecordingService.getCurrent();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"marketflex-" + recording.id() + ".jfr\"")
+                .body(flightRecordingService::writeTo);
+    }
+
+    /**
+     * DELETE /api/v1/admin/recordings/current - Stop the recording if needed and discard it
+     */
+    @DeleteMapping("/current")
+    public ResponseEntity<Void> discardRecording() {
+        flightRecordingService.discard();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,6 +1,7 @@
 package org.xhite.marketflex.controller;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,17 +11,25 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.web.bind.annotation.*;
 import org.xhite.marketflex.dto.AuthResponse;
 import org.xhite.marketflex.dto.LoginRequest;
+import org.xhite.marketflex.dto.RefreshTokenRequest;
 import org.xhite.marketflex.dto.RegisterRequest;
+import org.xhite.marketflex.dto.TokenPair;
 import org.xhite.marketflex.dto.UpdateProfileRequest;
+import org.xhite.marketflex.exception.LoginBlockedException;
 import org.xhite.marketflex.model.AppUser;
 import org.xhite.marketflex.repository.UserRepository;
+import org.xhite.marketflex.security.ClientIpResolver;
 import org.xhite.marketflex.security.CustomUserDetailsService;
 import org.xhite.marketflex.security.JwtTokenProvider;
+import org.xhite.marketflex.security.LoginAttemptTracker;
+import org.xhite.marketflex.service.RefreshTokenService;
 import org.xhite.marketflex.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -34,18 +43,31 @@ public class AuthController {
     private final UserDetailsService userDetailsService;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final ClientIpResolver clientIpResolver;
 
     /**
      * POST /api/v1/auth/login - Authenticate user and return JWT
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(
-                request.email(),
-                request.password()
-            )
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        // Reject locked accounts and noisy IPs before any DB lookup or BCrypt compare
+        String clientIp = clientIpResolver.resolve(httpRequest);
+        long blockedForMs = loginAttemptTracker.blockedForMs(request.email(), clientIp);
+        if (blockedForMs > 0) {
+            throw new LoginBlockedException("Too many failed login attempts",
+                TimeUnit.MILLISECONDS.toSeconds(blockedForMs + 999));
+        }
+
+        UsernamePasswordAuthenticationToken authRequest = new UsernamePasswordAuthenticationToken(
+            request.email(),
+            request.password()
         );
+        // Carries the resolved client IP to LoginFailureHandler, not the proxy's address
+        authRequest.setDetails(new WebAuthenticationDetails(clientIp, null));
+        Authentication authentication = authenticationManager.authenticate(authRequest);
 
         String jwt = tokenProvider.generateToken(authentication);
         
@@ -55,6 +77,7 @@ public class AuthController {
 
         user.setLastLoginDate(LocalDateTime.now());
         userRepository.save(user);
+        String refreshToken = refreshTokenService.issue(user);
         
         String primaryRole = user.getRoles().stream()
             .findFirst()
@@ -63,6 +86,7 @@ public class AuthController {
         
         return ResponseEntity.ok(AuthResponse.builder()
             .token(jwt)
+            .refreshToken(refreshToken)
             .tokenType("Bearer")
             .email(user.getEmail())
             .firstName(user.getFirstName())
@@ -93,6 +117,7 @@ public class AuthController {
         );
         
         String jwt = tokenProvider.generateToken(authentication);
+        String refreshToken = refreshTokenService.issue(user);
         
         String primaryRole = user.getRoles().stream()
             .findFirst()
@@ -101,6 +126,7 @@ public class AuthController {
         
         return ResponseEntity.status(HttpStatus.CREATED).body(AuthResponse.builder()
             .token(jwt)
+            .refreshToken(refreshToken)
             .tokenType("Bearer")
             .email(user.getEmail())
             .firstName(user.getFirstName())
@@ -144,40 +170,29 @@ public class AuthController {
     }
 
     /**
-     * POST /api/v1/auth/refresh - Refresh JWT token
+     * POST /api/v1/auth/refresh - Exchange a refresh token for a new access/refresh token pair
      */
     @PostMapping("/refresh")
-    public ResponseEntity<AuthResponse> refreshToken(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        // Generate new token from current authentication
-        Authentication authentication = new UsernamePasswordAuthenticationToken(
-            userDetails, null, userDetails.getAuthorities());
-        String jwt = tokenProvider.generateToken(authentication);
-        
-        AppUser user = ((CustomUserDetailsService) userDetailsService)
-            .getUserByEmail(userDetails.getUsername());
-        
-        String primaryRole = user.getRoles().stream()
-            .findFirst()
-            .map(Enum::name)
-            .orElse("CUSTOMER");
-        
+    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        TokenPair tokens = refreshTokenService.rotate(request.refreshToken());
+
         return ResponseEntity.ok(AuthResponse.builder()
-            .token(jwt)
+            .token(tokens.accessToken())
+            .refreshToken(tokens.refreshToken())
             .tokenType("Bearer")
-            .email(user.getEmail())
-            .firstName(user.getFirstName())
-            .lastName(user.getLastName())
-            .role(primaryRole)
-            .phone(user.getPhoneNumber())
-            .street(user.getStreet())
-            .city(user.getCity())
-            .state(user.getState())
-            .zipCode(user.getZipCode())
-            .country(user.getCountry())
+            .email(tokens.email())
             .build());
     }
 
+    /**
+     * POST /api/v1/auth/logout - Revoke the refresh token and every token rotated from it
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * PUT /api/v1/auth/profile - Update user profile
      */
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.xhite.marketflex.config.CatalogResource;
 import org.xhite.marketflex.dto.CategoryDto;
 import org.xhite.marketflex.dto.CreateCategoryRequest;
 import org.xhite.marketflex.service.CategoryService;
@@ -29,6 +30,7 @@ public class CategoryController {
     /**
      * GET /api/v1/categories - List all categories
      */
+    @CatalogResource
     @GetMapping
     public ResponseEntity<List<CategoryDto>> listCategories(
             @RequestParam(defaultValue = "false") boolean featured,
@@ -43,6 +45,7 @@ public class CategoryController {
     /**
      * GET /api/v1/categories/{id} - Get category by ID
      */
+    @CatalogResource
     @GetMapping("/{id}")
     public ResponseEntity<CategoryDto> getCategory(@PathVariable Long id) {
         return ResponseEntity.ok(categoryService.getCategoryById(id));
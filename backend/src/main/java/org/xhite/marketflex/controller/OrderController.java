@@ -4,12 +4,14 @@ import java.util.List;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.xhite.marketflex.dto.CreateOrderRequest;
 import org.xhite.marketflex.dto.OrderDto;
@@ -38,10 +40,14 @@ public class OrderController {
     }
 
     /**
-     * GET /api/v1/orders - Get all orders for the current logged-in user
+     * GET /api/v1/orders - Get all orders for the current logged-in user,
+     * with only the comma-separated {@code fields} if given
      */
     @GetMapping
-    public ResponseEntity<List<OrderDto>> getOrders() {
+    public ResponseEntity<List<?>> getOrders(@RequestParam(required = false) String fields) {
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(orderService.getOrdersForCurrentUser(fields));
+        }
         List<OrderDto> orders = orderService.getOrdersForCurrentUser();
         return ResponseEntity.ok(orders);
     }
@@ -7,8 +7,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.xhite.marketflex.config.CatalogResource;
 import org.xhite.marketflex.dto.ProductDto;
 import org.xhite.marketflex.model.AppUser;
 import org.xhite.marketflex.model.enums.Role;
@@ -61,16 +63,26 @@ public class ProductController {
     }
 
     /**
-     * GET /api/v1/products - List all products or filter by category
+     * GET /api/v1/products - List all products or filter by category,
+     * with only the comma-separated {@code fields} if given
      */
+    @CatalogResource
     @GetMapping
-    public ResponseEntity<List<ProductDto>> listProducts(
+    public ResponseEntity<List<?>> listProducts(
             @RequestParam(required = false) Long categoryId,
             @RequestParam(defaultValue = "false") boolean featured,
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields) {
 
         if (featured) {
-            return ResponseEntity.ok(productService.getFeaturedProducts(limit));
+            List<ProductDto> products = productService.getFeaturedProducts(limit);
+            // Featured lists are cached whole, so the fields are picked from the cached DTOs
+            return ResponseEntity.ok(StringUtils.hasText(fields)
+                    ? productService.retainFields(products, fields)
+                    : products);
+        }
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(productService.getProducts(categoryId, fields));
         }
 
         List<ProductDto> products = (categoryId != null)
@@ -80,10 +92,12 @@ public class ProductController {
     }
 
     /**
-     * GET /api/v1/products/filter - Filter products with advanced parameters
+     * GET /api/v1/products/filter - Filter products with advanced parameters,
+     * with only the comma-separated {@code fields} if given
      */
+    @CatalogResource
     @GetMapping("/filter")
-    public ResponseEntity<org.xhite.marketflex.dto.PagedResponse<ProductDto>> filterProducts(
+    public ResponseEntity<org.xhite.marketflex.dto.PagedResponse<?>> filterProducts(
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) java.math.BigDecimal minPrice,
             @RequestParam(required = false) java.math.BigDecimal maxPrice,
@@ -91,17 +105,21 @@ public class ProductController {
             @RequestParam(required = false) Boolean inStock,
             @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "20") Integer size) {
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String fields) {
         
         var request = new org.xhite.marketflex.dto.ProductFilterRequest(
             categoryId, minPrice, maxPrice, search, inStock, sortBy, page, size
         );
-        return ResponseEntity.ok(productService.filterProducts(request));
+        return ResponseEntity.ok(StringUtils.hasText(fields)
+            ? productService.filterProducts(request, fields)
+            : productService.filterProducts(request));
     }
 
     /**
      * GET /api/v1/products/{id} - Get product by ID
      */
+    @CatalogResource
     @GetMapping("/{id}")
     public ResponseEntity<ProductDto> getProduct(@PathVariable Long id) {
         return productService.getProductById(id)
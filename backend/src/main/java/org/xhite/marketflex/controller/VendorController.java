@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,7 +13,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.xhite.marketflex.config.CatalogResource;
 import org.xhite.marketflex.dto.CreateVendorRequest;
 import org.xhite.marketflex.dto.ProductDto;
 import org.xhite.marketflex.dto.UpdateVendorRequest;
@@ -38,10 +41,15 @@ public class VendorController {
     // ========================
 
     /**
-     * GET /api/v1/vendors/all - Get all vendors for public listing
+     * GET /api/v1/vendors/all - Get all vendors for public listing,
+     * with only the comma-separated {@code fields} if given
      */
+    @CatalogResource
     @GetMapping("/all")
-    public ResponseEntity<List<VendorDto>> getAllVendors() {
+    public ResponseEntity<List<?>> getAllVendors(@RequestParam(required = false) String fields) {
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(vendorService.getAllVendors(fields));
+        }
         List<VendorDto> vendors = vendorService.getAllVendors();
         return ResponseEntity.ok(vendors);
     }
@@ -49,6 +57,7 @@ public class VendorController {
     /**
      * GET /api/v1/vendors/{storeName} - Public endpoint to get Vendor details
      */
+    @CatalogResource
     @GetMapping("/{storeName}")
     public ResponseEntity<VendorDto> getVendorByStoreName(@PathVariable String storeName) {
         VendorDto vendor = vendorService.getVendorByStoreName(storeName);
@@ -56,10 +65,16 @@ public class VendorController {
     }
 
     /**
-     * GET /api/v1/vendors/{storeName}/products - Get products for a specific vendor
+     * GET /api/v1/vendors/{storeName}/products - Get products for a specific vendor,
+     * with only the comma-separated {@code fields} if given
      */
+    @CatalogResource
     @GetMapping("/{storeName}/products")
-    public ResponseEntity<List<ProductDto>> getVendorProducts(@PathVariable String storeName) {
+    public ResponseEntity<List<?>> getVendorProducts(@PathVariable String storeName,
+                                                     @RequestParam(required = false) String fields) {
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(vendorService.getVendorProducts(storeName, fields));
+        }
         List<ProductDto> products = vendorService.getVendorProducts(storeName);
         return ResponseEntity.ok(products);
     }
@@ -5,6 +5,7 @@ import lombok.Builder;
 @Builder
 public record AuthResponse(
     String token,
+    String refreshToken,
     String tokenType,
     String email,
     String firstName,
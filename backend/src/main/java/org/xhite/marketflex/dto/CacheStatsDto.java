@@ -0,0 +1,26 @@
+package org.xhite.marketflex.dto;
+
+import lombok.Builder;
+
+@Builder
+public record CacheStatsDto(
+    String name,
+
+    // Declared bounds; exactly one of maximumSize and maximumWeight is set
+    long maximumSize,
+    long maximumWeight,
+    Long expireAfterWriteSeconds,
+    Long refreshAfterWriteSeconds,
+    boolean async,
+
+    long estimatedSize,
+    // Summed entry weights, only for weight-bounded caches
+    Long weightedSize,
+    long hitCount,
+    long missCount,
+    double hitRate,
+    long evictionCount,
+    long loadSuccessCount,
+    long loadFailureCount,
+    double averageLoadPenaltyMs
+) {}
@@ -8,6 +8,9 @@ public record CategoryDto(
     String name,
     String description,
     String imageUrl,
+    String thumbnailUrl,
+    String cardImageUrl,
+    String detailImageUrl,
     boolean active,
     int products
 ) {}
\ No newline at end of file
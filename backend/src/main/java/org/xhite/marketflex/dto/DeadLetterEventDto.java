@@ -0,0 +1,18 @@
+package org.xhite.marketflex.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+
+@Builder
+public record DeadLetterEventDto(
+    Long id,
+    String handler,
+    String eventType,
+    String aggregateKey,
+    // The event as JSON, enough to replay it by hand
+    String payload,
+    String error,
+    int attempts,
+    LocalDateTime failedAt
+) {}
@@ -0,0 +1,19 @@
+package org.xhite.marketflex.dto;
+
+import java.time.Instant;
+
+import lombok.Builder;
+
+@Builder
+public record FlightRecordingDto(
+    long id,
+    String name,
+    // NEW, RUNNING, STOPPED or CLOSED, as reported by the flight recorder
+    String state,
+    Instant startTime,
+    Instant stopTime,
+    Long maxDurationSeconds,
+    long maxSizeBytes,
+    // Bytes written to the repository so far
+    long size
+) {}
@@ -33,6 +33,13 @@ public record ProductDto(
 
     String imageUrl,
 
+    // Resized variants, same as imageUrl until processing finishes
+    String thumbnailUrl,
+
+    String cardImageUrl,
+
+    String detailImageUrl,
+
     String categoryName,
 
     Boolean active,
@@ -0,0 +1,10 @@
+package org.xhite.marketflex.dto;
+
+import lombok.Builder;
+
+@Builder
+public record TokenPair(
+    String accessToken,
+    String refreshToken,
+    String email
+) {}
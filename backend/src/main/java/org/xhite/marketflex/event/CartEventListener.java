@@ -2,22 +2,27 @@ package org.xhite.marketflex.event;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import org.xhite.marketflex.event.CartItemAddedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.xhite.marketflex.service.ProductService;
 
+/**
+ * Adjusts stock once an add-to-cart has committed. Runs on the {@link DomainEventExecutor}
+ * in its own transaction, so a slow or failing stock update no longer holds up or rolls
+ * back the shopper's cart.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class CartEventListener {
     private final ProductService productService;
-    
-    @EventListener
-    @Transactional
+    private final DomainEventExecutor domainEventExecutor;
+
+    @TransactionalEventListener(fallbackExecution = true)
     public void handleCartItemAdded(CartItemAddedEvent event) {
-        log.info("Handling cart item added event for product: {}", event.getProductId());
-        productService.updateStock(event.getProductId(), -event.getQuantity());
+        domainEventExecutor.execute("cart-stock", event, () -> {
+            log.info("Handling cart item added event for product: {}", event.getProductId());
+            productService.updateStock(event.getProductId(), -event.getQuantity());
+        });
     }
-}
\ No newline at end of file
+}
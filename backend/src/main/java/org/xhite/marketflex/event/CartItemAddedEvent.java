@@ -6,7 +6,12 @@ import lombok.Getter;
 
 @Getter
 @AllArgsConstructor
-public class CartItemAddedEvent {
+public class CartItemAddedEvent implements DomainEvent {
     private final Long productId;
     private final Integer quantity;
+
+    @Override
+    public String aggregateKey() {
+        return "product:" + productId;
+    }
 }
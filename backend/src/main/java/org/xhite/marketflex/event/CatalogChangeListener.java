@@ -0,0 +1,27 @@
+package org.xhite.marketflex.event;
+
+import org.springframework.stereotype.Component;
+import org.xhite.marketflex.config.CatalogVersion;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA listener on the catalog entities that advances the {@link CatalogVersion} on every
+ * insert, update and delete. Bulk JPQL updates bypass it and call the version directly.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeListener {
+
+    private final CatalogVersion catalogVersion;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        catalogVersion.changed();
+    }
+}
@@ -0,0 +1,11 @@
+package org.xhite.marketflex.event;
+
+/**
+ * An event about one aggregate. {@link DomainEventExecutor} runs the handlers of events
+ * with the same key one after another, in the order they were published.
+ */
+public interface DomainEvent {
+
+    /** Aggregate type and id, e.g. {@code product:42}. */
+    String aggregateKey();
+}
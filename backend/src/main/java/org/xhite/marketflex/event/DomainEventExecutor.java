@@ -0,0 +1,241 @@
+package org.xhite.marketflex.event;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.xhite.marketflex.model.DeadLetterEvent;
+import org.xhite.marketflex.repository.DeadLetterEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Runs domain event handlers after the publishing transaction has committed, off the
+ * request thread, so their latency and failures never reach the caller. Listeners hand
+ * each event over from a {@code @TransactionalEventListener}.
+ *
+ * <p>Events are queued per {@link DomainEvent#aggregateKey()}: handlers for one
+ * aggregate run one at a time in publish order, different aggregates in parallel on a
+ * fixed number of worker threads. At most {@code queue-capacity} events wait overall.
+ * A handler that keeps failing after {@code max-attempts}, or an event that finds the
+ * queue full, is written to {@code dead_letter_events} instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventExecutor {
+
+    // Events one worker handles for an aggregate before letting other aggregates in
+    private static final int BATCH = 32;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DeadLetterEventRepository deadLetterEventRepository;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.events.threads:8}")
+    private int threads;
+
+    @Value("${app.events.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.events.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.events.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, ArrayDeque<Task>> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate deadLetterTransaction;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        // A rejected event is dead-lettered from the publisher's after-commit callback, where
+        // joining the finished transaction would silently drop the insert
+        deadLetterTransaction = new TransactionTemplate(transactionManager);
+        deadLetterTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Lanes are bounded by queue-capacity, so the executor queue never holds more than one entry per lane
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            virtualThreads
+                ? Thread.ofVirtual().name("domain-events-", 1).factory()
+                : new CustomizableThreadFactory("domain-events-"));
+        Gauge.builder("events.queue.depth", queued, AtomicInteger::get)
+            .description("Domain events waiting for their handler")
+            .register(meterRegistry);
+        Gauge.builder("events.queue.capacity", () -> queueCapacity)
+            .register(meterRegistry);
+        Gauge.builder("events.lanes.active", lanes, Map::size)
+            .description("Aggregates with events queued or running")
+            .register(meterRegistry);
+        rejectedCounter = Counter.builder("events.rejected")
+            .description("Domain events dead-lettered because the queue was full")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Stopped with {} domain events still queued", queued.get());
+        }
+    }
+
+    /**
+     * Queues {@code action} to run for {@code event} once earlier events of the same
+     * aggregate are done. {@code handler} names it in metrics and dead letters.
+     */
+    public void execute(String handler, DomainEvent event, Runnable action) {
+        Task task = new Task(handler, event, action, System.nanoTime());
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            rejectedCounter.increment();
+            log.warn("Domain event queue full, dead-lettering {} for {}", handler, event.aggregateKey());
+            deadLetter(task, "Event queue full", 0);
+            return;
+        }
+        String key = event.aggregateKey();
+        boolean[] idle = new boolean[1];
+        // The lane exists exactly while a worker is scheduled to drain it
+        lanes.compute(key, (k, lane) -> {
+            if (lane == null) {
+                lane = new ArrayDeque<>();
+                idle[0] = true;
+            }
+            lane.add(task);
+            return lane;
+        });
+        if (idle[0]) {
+            schedule(key);
+        }
+    }
+
+    int queued() {
+        return queued.get();
+    }
+
+    private void schedule(String key) {
+        try {
+            executor.execute(() -> drain(key));
+        } catch (RejectedExecutionException e) {
+            ArrayDeque<Task> lane = lanes.remove(key);
+            log.warn("Shutting down, dropping {} domain events for {}", lane == null ? 0 : lane.size(), key);
+        }
+    }
+
+    private void drain(String key) {
+        for (int i = 0; i < BATCH; i++) {
+            Task task = poll(key);
+            if (task == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            handle(task);
+        }
+        // More events for this aggregate; requeue behind the other lanes instead of holding the worker
+        schedule(key);
+    }
+
+    private Task poll(String key) {
+        Task[] next = new Task[1];
+        lanes.computeIfPresent(key, (k, lane) -> {
+            next[0] = lane.poll();
+            return next[0] == null ? null : lane;
+        });
+        return next[0];
+    }
+
+    private void handle(Task task) {
+        Timer.builder("events.queue.wait")
+            .description("Time from publish until the handler starts")
+            .tag("handler", task.handler())
+            .register(meterRegistry)
+            .record(System.nanoTime() - task.queuedAt(), TimeUnit.NANOSECONDS);
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            long start = System.nanoTime();
+            try {
+                task.action().run();
+                record(task, "success", start);
+                return;
+            } catch (RuntimeException e) {
+                record(task, "failure", start);
+                failure = e;
+                log.debug("Attempt {} of {} failed for {}", attempt, task.handler(), task.event().aggregateKey(), e);
+            }
+            if (attempt < maxAttempts && !backOff(attempt)) {
+                break;
+            }
+        }
+        log.error("Handler {} failed for {}, dead-lettering", task.handler(), task.event().aggregateKey(), failure);
+        deadLetter(task, failure.toString(), maxAttempts);
+    }
+
+    // Sleeping keeps later events of the aggregate waiting, which is what preserves their order
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(Task task, String outcome, long start) {
+        Timer.builder("events.handle")
+            .description("Domain event handler runs by outcome, retries included")
+            .tag("handler", task.handler())
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void deadLetter(Task task, String error, int attempts) {
+        meterRegistry.counter("events.dead.lettered", "handler", task.handler()).increment();
+        try {
+            deadLetterTransaction.executeWithoutResult(status -> deadLetterEventRepository.save(DeadLetterEvent.builder()
+                .handler(task.handler())
+                .eventType(task.event().getClass().getSimpleName())
+                .aggregateKey(task.event().aggregateKey())
+                .payload(jsonMapper.writeValueAsString(task.event()))
+                .error(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error)
+                .attempts(attempts)
+                .failedAt(LocalDateTime.now())
+                .build()));
+        } catch (RuntimeException e) {
+            log.error("Could not store dead letter for {} {}", task.handler(), task.event().aggregateKey(), e);
+        }
+    }
+
+    private record Task(String handler, DomainEvent event, Runnable action, long queuedAt) {
+    }
+}
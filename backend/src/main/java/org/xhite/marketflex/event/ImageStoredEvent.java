@@ -0,0 +1,15 @@
+package org.xhite.marketflex.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ImageStoredEvent {
+
+    public enum Owner { PRODUCT, CATEGORY }
+
+    private final Owner owner;
+    private final Long ownerId;
+    private final String imageUrl;
+}
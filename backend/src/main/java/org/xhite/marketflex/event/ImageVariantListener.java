@@ -0,0 +1,113 @@
+package org.xhite.marketflex.event;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.xhite.marketflex.config.CacheNames;
+import org.xhite.marketflex.config.CatalogVersion;
+import org.xhite.marketflex.model.enums.ImageVariant;
+import org.xhite.marketflex.repository.CategoryRepository;
+import org.xhite.marketflex.repository.ProductRepository;
+import org.xhite.marketflex.service.ImageVariantService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates image variants once the product or category pointing at a new image has
+ * been committed. Decoding and resizing are CPU and memory heavy, so they run on a
+ * small dedicated pool with a bounded queue; when it is full the work is dropped and
+ * the entity keeps serving its original image.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantListener {
+
+    private final ImageVariantService imageVariantService;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CacheManager cacheManager;
+    private final CatalogVersion catalogVersion;
+
+    @Value("${app.images.variants.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.images.variants.threads:2}")
+    private int threads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.images.variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        // Still bounded on virtual threads: resizing is CPU work and each job holds an image in memory
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            virtualThreads
+                ? Thread.ofVirtual().name("image-variants-", 1).factory()
+                : new CustomizableThreadFactory("image-variants-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleImageStored(ImageStoredEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(event));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image variant queue full, {} {} keeps its original image", event.getOwner(), event.getOwnerId());
+        }
+    }
+
+    private void process(ImageStoredEvent event) {
+        try {
+            Map<ImageVariant, String> variants = imageVariantService.createVariants(event.getImageUrl());
+            if (variants.isEmpty()) {
+                return;
+            }
+
+            String thumbnailUrl = variants.get(ImageVariant.THUMB);
+            String cardImageUrl = variants.get(ImageVariant.CARD);
+            String detailImageUrl = variants.get(ImageVariant.DETAIL);
+            int updated = switch (event.getOwner()) {
+                case PRODUCT -> productRepository.updateImageVariants(event.getOwnerId(), event.getImageUrl(),
+                    thumbnailUrl, cardImageUrl, detailImageUrl);
+                case CATEGORY -> categoryRepository.updateImageVariants(event.getOwnerId(), event.getImageUrl(),
+                    thumbnailUrl, cardImageUrl, detailImageUrl);
+            };
+
+            if (updated == 0) {
+                log.info("Image of {} {} changed while its variants were generated", event.getOwner(), event.getOwnerId());
+            } else {
+                cacheManager.getCache(event.getOwner() == ImageStoredEvent.Owner.CATEGORY
+                    ? CacheNames.CATEGORIES : CacheNames.PRODUCTS).clear();
+                // Bulk updates skip the entity listener
+                catalogVersion.changed();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to generate image variants for {} {}", event.getOwner(), event.getOwnerId(), e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.xhite.marketflex.event;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Component;
+import org.xhite.marketflex.security.AccountLockWriter;
+import org.xhite.marketflex.security.LoginAttemptTracker;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginFailureHandler implements ApplicationListener<AuthenticationFailureBadCredentialsEvent> {
+
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final AccountLockWriter accountLockWriter;
+
+    @Override
+    public void onApplicationEvent(AuthenticationFailureBadCredentialsEvent event) {
+        String email = event.getAuthentication().getName();
+        // AuthController puts the client IP from ClientIpResolver here, not the proxy's address
+        String ip = event.getAuthentication().getDetails() instanceof WebAuthenticationDetails details
+            ? details.getRemoteAddress()
+            : null;
+
+        int failures = loginAttemptTracker.recordFailure(email, ip);
+        if (failures > 0) {
+            accountLockWriter.lock(email, failures);
+        }
+        log.debug("Failed login for {} from {}", email, ip);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.xhite.marketflex.exception.ConcurrentLoginException;
 import org.xhite.marketflex.repository.UserRepository;
+import org.xhite.marketflex.security.LoginAttemptTracker;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 public class LoginSuccessHandler implements ApplicationListener<AuthenticationSuccessEvent> {
     
     private final UserRepository userRepository;
+    private final LoginAttemptTracker loginAttemptTracker;
     private static final int MAX_RETRIES = 3;
     private static final long RETRY_DELAY = 100L; // milliseconds
     
@@ -27,6 +29,7 @@ public class LoginSuccessHandler implements ApplicationListener<AuthenticationSu
     @Transactional
     public void onApplicationEvent(AuthenticationSuccessEvent event) {
         String email = ((UserDetails) event.getAuthentication().getPrincipal()).getUsername();
+        loginAttemptTracker.recordSuccess(email);
         int attempts = 0;
         
         while (attempts < MAX_RETRIES) {
@@ -53,6 +56,12 @@ public class LoginSuccessHandler implements ApplicationListener<AuthenticationSu
     private void updateLastLoginDate(String email) {
         userRepository.findByEmail(email).ifPresent(user -> {
             user.setLastLoginDate(LocalDateTime.now());
+            // Successful login clears any failures persisted by AccountLockWriter
+            user.setFailedAttempt(0);
+            if (user.getLockTime() != null) {
+                user.setAccountNonLocked(true);
+                user.setLockTime(null);
+            }
             userRepository.save(user);
             log.debug("Updated last login date for user: {}", email);
         });
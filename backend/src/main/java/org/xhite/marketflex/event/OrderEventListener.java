@@ -0,0 +1,32 @@
+package org.xhite.marketflex.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Follows orders after they are committed. Placement and status changes of one order
+ * share its aggregate key, so they are handled in the order they happened.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventListener {
+
+    private final DomainEventExecutor domainEventExecutor;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleOrderPlaced(OrderPlacedEvent event) {
+        domainEventExecutor.execute("order-placed", event, () ->
+            log.info("Order {} placed by user {}: {} items, total {}",
+                event.getOrderId(), event.getUserId(), event.getItemCount(), event.getTotalPrice()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        domainEventExecutor.execute("order-status", event, () ->
+            log.info("Order {} moved from {} to {}", event.getOrderId(), event.getPreviousStatus(), event.getStatus()));
+    }
+}
@@ -0,0 +1,20 @@
+package org.xhite.marketflex.event;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderPlacedEvent implements DomainEvent {
+    private final Long orderId;
+    private final Long userId;
+    private final BigDecimal totalPrice;
+    private final int itemCount;
+
+    @Override
+    public String aggregateKey() {
+        return "order:" + orderId;
+    }
+}
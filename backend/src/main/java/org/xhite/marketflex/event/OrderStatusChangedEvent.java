@@ -0,0 +1,19 @@
+package org.xhite.marketflex.event;
+
+import org.xhite.marketflex.model.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent implements DomainEvent {
+    private final Long orderId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+
+    @Override
+    public String aggregateKey() {
+        return "order:" + orderId;
+    }
+}
@@ -0,0 +1,33 @@
+package org.xhite.marketflex.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warns once a committed stock change leaves a product at or below the low-stock
+ * threshold, so vendors can restock before it sells out.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductEventListener {
+
+    private final DomainEventExecutor domainEventExecutor;
+
+    @Value("${app.products.low-stock-threshold:5}")
+    private int lowStockThreshold;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleStockChanged(ProductStockChangedEvent event) {
+        if (event.getStockQuantity() > lowStockThreshold) {
+            return;
+        }
+        domainEventExecutor.execute("low-stock", event, () ->
+            log.warn("Product {} '{}' of vendor {} is down to {} in stock",
+                event.getProductId(), event.getProductName(), event.getVendorId(), event.getStockQuantity()));
+    }
+}
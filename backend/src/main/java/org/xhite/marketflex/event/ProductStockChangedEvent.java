@@ -0,0 +1,18 @@
+package org.xhite.marketflex.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductStockChangedEvent implements DomainEvent {
+    private final Long productId;
+    private final Long vendorId;
+    private final String productName;
+    private final int stockQuantity;
+
+    @Override
+    public String aggregateKey() {
+        return "product:" + productId;
+    }
+}
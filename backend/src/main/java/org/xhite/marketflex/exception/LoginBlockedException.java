@@ -0,0 +1,13 @@
+package org.xhite.marketflex.exception;
+
+import lombok.Getter;
+
+@Getter
+public class LoginBlockedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public LoginBlockedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package org.xhite.marketflex.exception;
+
+public class StorageBusyException extends StorageException {
+    public StorageBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package org.xhite.marketflex.mapper;
 
 import org.springframework.stereotype.Component;
+import org.xhite.marketflex.config.FlightEvents;
 import org.xhite.marketflex.dto.CartDto;
 import org.xhite.marketflex.dto.CartItemDto;
 import org.xhite.marketflex.model.Cart;
@@ -19,6 +20,7 @@ public class CartMapper {
 
     public CartDto toDto(Cart cart) {
         if (cart == null) return null;
+        FlightEvents.CartMapping mapping = FlightEvents.CartMapping.start();
         
         List<CartItemDto> cartItems = cart.getCartItems().stream()
             .map(this::toCartItemDto)
@@ -28,12 +30,14 @@ public class CartMapper {
             .map(CartItemDto::subtotal)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
             
-        return CartDto.builder()
+        CartDto dto = CartDto.builder()
             .id(cart.getId())
             .cartItems(cartItems)
             .totalPrice(totalPrice)
             .totalItems(cartItems.size())
             .build();
+        mapping.record(cart.getId() != null ? cart.getId() : 0, cartItems.size());
+        return dto;
     }
 
     private CartItemDto toCartItemDto(CartItem item) {
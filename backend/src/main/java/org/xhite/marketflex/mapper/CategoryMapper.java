@@ -17,15 +17,22 @@ public class CategoryMapper {
     
     public CategoryDto toDto(Category category) {
         if (category == null) return null;
+        return toDto(category, category.getProducts() != null ? category.getProducts().size() : 0);
+    }
+
+    /** Maps with a product count fetched separately, so the products are never loaded. */
+    public CategoryDto toDto(Category category, int productCount) {
 
         return CategoryDto.builder()
                 .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
                 .imageUrl(category.getImageUrl())
+                .thumbnailUrl(variantOrOriginal(category.getThumbnailUrl(), category.getImageUrl()))
+                .cardImageUrl(variantOrOriginal(category.getCardImageUrl(), category.getImageUrl()))
+                .detailImageUrl(variantOrOriginal(category.getDetailImageUrl(), category.getImageUrl()))
                 .active(category.isActive())
-                .products(category.getProducts() != null ? 
-                         category.getProducts().size() : 0)
+                .products(productCount)
                 .build();
     }
 
@@ -46,4 +53,8 @@ public class CategoryMapper {
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
+
+    private static String variantOrOriginal(String variantUrl, String originalUrl) {
+        return variantUrl != null ? variantUrl : originalUrl;
+    }
 }
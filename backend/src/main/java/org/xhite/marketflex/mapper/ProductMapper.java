@@ -26,6 +26,9 @@ public class ProductMapper {
                 .categoryId(product.getCategory().getId())
                 .categoryName(product.getCategory().getName())
                 .imageUrl(product.getImageUrl())
+                .thumbnailUrl(variantOrOriginal(product.getThumbnailUrl(), product.getImageUrl()))
+                .cardImageUrl(variantOrOriginal(product.getCardImageUrl(), product.getImageUrl()))
+                .detailImageUrl(variantOrOriginal(product.getDetailImageUrl(), product.getImageUrl()))
                 .active(product.isActive())
                 .build();
     }
@@ -41,4 +44,8 @@ public class ProductMapper {
             .category(category)  
             .build();
     }
+
+    private static String variantOrOriginal(String variantUrl, String originalUrl) {
+        return variantUrl != null ? variantUrl : originalUrl;
+    }
 }
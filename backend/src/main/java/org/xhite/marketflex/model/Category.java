@@ -4,9 +4,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.time.LocalDateTime;
 
+import org.xhite.marketflex.event.CatalogChangeListener;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -19,6 +22,7 @@ import lombok.Builder;
 
 @Data
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Builder
 @Table(name = "categories")
 @NoArgsConstructor
@@ -39,6 +43,13 @@ public class Category {
 
     private String imageUrl;
 
+    // Generated asynchronously from imageUrl, null until ready
+    private String thumbnailUrl;
+
+    private String cardImageUrl;
+
+    private String detailImageUrl;
+
     @Builder.Default
     @Column(nullable = false)
     private boolean active = true;
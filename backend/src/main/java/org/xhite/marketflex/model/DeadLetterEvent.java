@@ -0,0 +1,44 @@
+package org.xhite.marketflex.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "dead_letter_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeadLetterEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Name the handler was dispatched under, e.g. reserve-stock
+    @Column(nullable = false, length = 100)
+    private String handler;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "aggregate_key", nullable = false, length = 100)
+    private String aggregateKey;
+
+    // The event serialized as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(length = 1000)
+    private String error;
+
+    // Zero when the event was rejected by a full queue and never ran
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+}
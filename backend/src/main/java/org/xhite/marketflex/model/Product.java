@@ -3,6 +3,8 @@ package org.xhite.marketflex.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.xhite.marketflex.event.CatalogChangeListener;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +15,7 @@ import lombok.EqualsAndHashCode;
 
 @Data
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "products")
 @Builder
 @NoArgsConstructor
@@ -37,6 +40,16 @@ public class Product {
     @Column(length = 255)
     private String imageUrl;
 
+    // Generated asynchronously from imageUrl, null until ready
+    @Column(length = 255)
+    private String thumbnailUrl;
+
+    @Column(length = 255)
+    private String cardImageUrl;
+
+    @Column(length = 255)
+    private String detailImageUrl;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     @ToString.Exclude
@@ -0,0 +1,40 @@
+package org.xhite.marketflex.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "stored_files")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredFile {
+
+    // Hex encoded SHA-256 of the file content
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Storage key the content lives under, the file name for local storage
+    @Column(name = "object_key", nullable = false, unique = true)
+    private String objectKey;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
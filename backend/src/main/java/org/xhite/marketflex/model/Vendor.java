@@ -6,10 +6,12 @@ import java.util.List;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.xhite.marketflex.event.CatalogChangeListener;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -29,6 +31,7 @@ import lombok.EqualsAndHashCode;
 
 @Data
 @Entity
+@EntityListeners(CatalogChangeListener.class)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
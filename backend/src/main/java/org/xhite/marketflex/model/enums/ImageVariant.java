@@ -0,0 +1,27 @@
+package org.xhite.marketflex.model.enums;
+
+/**
+ * Resized renditions generated for every uploaded product and category image.
+ * The size is the longest edge in pixels; smaller originals are never upscaled.
+ */
+public enum ImageVariant {
+    THUMB("thumb", 200),
+    CARD("card", 480),
+    DETAIL("detail", 1200);
+
+    private final String suffix;
+    private final int maxDimension;
+
+    ImageVariant(String suffix, int maxDimension) {
+        this.suffix = suffix;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+}
@@ -2,13 +2,20 @@ package org.xhite.marketflex.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.xhite.marketflex.model.Category;
 import org.xhite.marketflex.dto.CategoryDto;
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
@@ -20,4 +27,37 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findActiveById(@Param("id") Long id);
     
     boolean existsByNameAndActiveTrue(String name);
+
+    /** Product counts of active categories as (id, count) rows, instead of loading each collection. */
+    @Query("SELECT c.id, SIZE(c.products) FROM Category c WHERE c.active = true")
+    List<Object[]> countProductsOfActiveCategories();
+
+    /**
+     * Records generated variants, but only while the category still points at the image
+     * they were made from. Returns 0 if the image was replaced in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Category c SET c.thumbnailUrl = :thumbnailUrl, c.cardImageUrl = :cardImageUrl,
+                c.detailImageUrl = :detailImageUrl
+            WHERE c.id = :id AND c.imageUrl = :imageUrl
+            """)
+    int updateImageVariants(@Param("id") Long id,
+                            @Param("imageUrl") String imageUrl,
+                            @Param("thumbnailUrl") String thumbnailUrl,
+                            @Param("cardImageUrl") String cardImageUrl,
+                            @Param("detailImageUrl") String detailImageUrl);
+
+    /**
+     * Every image URL a category points at, originals and variants, including soft-deleted
+     * rows. Streamed with a fetch size so the garbage collector never holds the result.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = """
+            SELECT url FROM categories
+            CROSS JOIN LATERAL unnest(ARRAY[image_url, thumbnail_url, card_image_url, detail_image_url]) AS url
+            WHERE url IS NOT NULL
+            """, nativeQuery = true)
+    Stream<String> streamImageUrls();
 }
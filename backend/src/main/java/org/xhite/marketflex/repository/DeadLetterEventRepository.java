@@ -0,0 +1,14 @@
+package org.xhite.marketflex.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.xhite.marketflex.model.DeadLetterEvent;
+
+@Repository
+public interface DeadLetterEventRepository extends JpaRepository<DeadLetterEvent, Long> {
+
+    List<DeadLetterEvent> findAllByOrderByFailedAtDesc(Pageable pageable);
+}
@@ -0,0 +1,141 @@
+package org.xhite.marketflex.repository;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.xhite.marketflex.exception.BusinessException;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * The fields a listing endpoint lets clients pick with {@code ?fields=a,b,c}, each mapped
+ * to the expression it is read from. Picked fields become the select list of a tuple
+ * query in {@link FieldsetRepository}, so columns nobody asked for are never read or
+ * serialized, and an association is only joined when one of its fields is picked.
+ *
+ * <p>Field names are those of the full DTO, so a sparse row is the full representation
+ * with keys left out. {@code id} is always included.
+ */
+public final class Fieldset<E> {
+
+    public static final String ID = "id";
+
+    /** Reads one field from the root of the listing query. */
+    @FunctionalInterface
+    public interface Column<E> {
+        Expression<?> select(Root<E> root, CriteriaBuilder cb);
+    }
+
+    private final Class<E> entity;
+    private final Map<String, Column<E>> columns;
+
+    private Fieldset(Class<E> entity, Map<String, Column<E>> columns) {
+        this.entity = entity;
+        this.columns = Collections.unmodifiableMap(columns);
+    }
+
+    public static <E> Builder<E> of(Class<E> entity) {
+        return new Builder<>(entity);
+    }
+
+    public Class<E> entity() {
+        return entity;
+    }
+
+    public Set<String> names() {
+        return columns.keySet();
+    }
+
+    /**
+     * Parses a {@code fields} parameter into the picked names, in declaration order.
+     *
+     * @throws BusinessException if a name is not one of {@link #names()}
+     */
+    public List<String> pick(String fields) {
+        Set<String> requested = new HashSet<>();
+        requested.add(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!columns.containsKey(trimmed)) {
+                throw new BusinessException("Unknown field '" + trimmed + "', expected any of "
+                        + String.join(", ", columns.keySet()));
+            }
+            requested.add(trimmed);
+        }
+        return columns.keySet().stream().filter(requested::contains).toList();
+    }
+
+    Expression<?> select(String name, Root<E> root, CriteriaBuilder cb) {
+        return columns.get(name).select(root, cb);
+    }
+
+    /**
+     * Cuts a full DTO down to the picked fields, for lists that are served from a cache
+     * rather than queried.
+     */
+    public static Map<String, Object> retain(Record dto, List<String> picked) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (RecordComponent component : dto.getClass().getRecordComponents()) {
+            if (picked.contains(component.getName())) {
+                try {
+                    row.put(component.getName(), component.getAccessor().invoke(dto));
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Cannot read " + component.getName(), e);
+                }
+            }
+        }
+        return row;
+    }
+
+    /** Follows a dotted attribute path such as {@code category.name}. */
+    static <T> Path<T> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        @SuppressWarnings("unchecked")
+        Path<T> typed = (Path<T>) path;
+        return typed;
+    }
+
+    public static final class Builder<E> {
+
+        private final Class<E> entity;
+        private final Map<String, Column<E>> columns = new LinkedHashMap<>();
+
+        private Builder(Class<E> entity) {
+            this.entity = entity;
+            columns.put(ID, (root, cb) -> root.get(ID));
+        }
+
+        /** A field read from the entity attribute of the same name. */
+        public Builder<E> field(String name) {
+            return field(name, name);
+        }
+
+        /** A field read from an attribute path; paths through to-one associations join them. */
+        public Builder<E> field(String name, String attributePath) {
+            return field(name, (root, cb) -> path(root, attributePath));
+        }
+
+        public Builder<E> field(String name, Column<E> column) {
+            columns.put(name, column);
+            return this;
+        }
+
+        public Fieldset<E> build() {
+            return new Fieldset<>(entity, new LinkedHashMap<>(columns));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.xhite.marketflex.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs listing queries that select only the fields picked from a {@link Fieldset}.
+ * Rows come back as maps keyed by field name in declaration order, ready to serialize.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FieldsetRepository {
+
+    private final EntityManager entityManager;
+
+    public <E> List<Map<String, Object>> findAll(Fieldset<E> fieldset, List<String> picked,
+                                                 Specification<E> spec, Sort sort) {
+        return findAll(fieldset, picked, spec, Pageable.unpaged(sort));
+    }
+
+    public <E> List<Map<String, Object>> findAll(Fieldset<E> fieldset, List<String> picked,
+                                                 Specification<E> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(fieldset.entity());
+
+        List<Selection<?>> selections = new ArrayList<>(picked.size());
+        for (String name : picked) {
+            selections.add(fieldset.select(name, root, cb).alias(name));
+        }
+        query.select(cb.tuple(selections));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        return typed.getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    picked.forEach(name -> row.put(name, tuple.get(name)));
+                    return row;
+                })
+                .toList();
+    }
+}
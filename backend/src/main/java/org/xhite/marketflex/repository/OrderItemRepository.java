@@ -3,6 +3,8 @@ package org.xhite.marketflex.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.xhite.marketflex.model.Order;
 import org.xhite.marketflex.model.OrderItem;
@@ -16,7 +18,17 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrder(Order order);
     
     /**
-     * Find all order items for a specific vendor (for vendor dashboard orders).
+     * Find all order items for a specific vendor (for vendor dashboard orders), with each
+     * item's order, customer (with the customer's eagerly loaded roles) and product fetched in the same statement.
      */
-    List<OrderItem> findByVendorIdOrderByCreatedAtDesc(Long vendorId);
+    @Query("""
+            SELECT i FROM OrderItem i
+            JOIN FETCH i.order o
+            JOIN FETCH o.user u
+            LEFT JOIN FETCH u.roles
+            JOIN FETCH i.product
+            WHERE i.vendor.id = :vendorId
+            ORDER BY i.createdAt DESC
+            """)
+    List<OrderItem> findByVendorIdOrderByCreatedAtDesc(@Param("vendorId") Long vendorId);
 }
@@ -2,16 +2,24 @@ package org.xhite.marketflex.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.xhite.marketflex.model.Product;
 
+import jakarta.persistence.QueryHint;
+
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
@@ -30,4 +38,33 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     List<Product> findAvailableProductsByCategoryId(Long categoryId);
 
     List<Product> findByVendorIdAndActiveTrue(Long vendorId);
-}
\ No newline at end of file
+
+    /**
+     * Records generated variants, but only while the product still points at the image
+     * they were made from. Returns 0 if the image was replaced in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Product p SET p.thumbnailUrl = :thumbnailUrl, p.cardImageUrl = :cardImageUrl,
+                p.detailImageUrl = :detailImageUrl
+            WHERE p.id = :id AND p.imageUrl = :imageUrl
+            """)
+    int updateImageVariants(@Param("id") Long id,
+                            @Param("imageUrl") String imageUrl,
+                            @Param("thumbnailUrl") String thumbnailUrl,
+                            @Param("cardImageUrl") String cardImageUrl,
+                            @Param("detailImageUrl") String detailImageUrl);
+
+    /**
+     * Every image URL a product points at, originals and variants, including soft-deleted
+     * rows. Streamed with a fetch size so the garbage collector never holds the result.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = """
+            SELECT url FROM products
+            CROSS JOIN LATERAL unnest(ARRAY[image_url, thumbnail_url, card_image_url, detail_image_url]) AS url
+            WHERE url IS NOT NULL
+            """, nativeQuery = true)
+    Stream<String> streamImageUrls();
+}
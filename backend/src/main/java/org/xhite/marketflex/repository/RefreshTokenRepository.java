@@ -0,0 +1,71 @@
+package org.xhite.marketflex.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Marks the presented token as rotated and inserts its successor in the same family
+     * as a single statement. The successor expires at {@code expiresAt} or when its
+     * family does, whichever is first. Only an enabled, unlocked user's token rotates,
+     * and the user's current roles come back comma-separated. Empty when the old token
+     * was already rotated, revoked or expired, or its user may no longer sign in.
+     */
+    @Transactional
+    @Query(value = """
+            WITH rotated AS (
+                UPDATE refresh_tokens t SET rotated_at = CURRENT_TIMESTAMP
+                FROM app_users u
+                WHERE t.token_hash = :oldHash
+                  AND t.rotated_at IS NULL
+                  AND t.revoked = false
+                  AND t.expires_at > CURRENT_TIMESTAMP
+                  AND u.id = t.user_id
+                  AND u.enabled = true
+                  AND u.account_non_locked = true
+                RETURNING t.user_id, t.family_id, t.family_expires_at
+            ), successor AS (
+                INSERT INTO refresh_tokens (token_hash, user_id, family_id, expires_at, family_expires_at, revoked, created_at)
+                SELECT :newHash, user_id, family_id, LEAST(:expiresAt, family_expires_at), family_expires_at, false,
+                       CURRENT_TIMESTAMP FROM rotated
+                RETURNING user_id
+            )
+            SELECT COALESCE((SELECT string_agg(r.role, ',') FROM user_roles r WHERE r.user_id = s.user_id), '')
+            FROM successor s
+            """, nativeQuery = true)
+    Optional<String> rotate(@Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash,
+                            @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") UUID familyId);
+
+    /**
+     * Deletes at most {@code batchSize} expired tokens so a large backlog never
+     * holds a long-running lock on the table.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens WHERE id IN (
+                SELECT id FROM refresh_tokens WHERE expires_at < :cutoff LIMIT :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
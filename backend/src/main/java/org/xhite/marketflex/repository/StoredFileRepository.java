@@ -0,0 +1,60 @@
+package org.xhite.marketflex.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.model.StoredFile;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFile, String> {
+
+    boolean existsByObjectKey(String objectKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM StoredFile f WHERE f.objectKey = :objectKey")
+    Optional<StoredFile> lockByObjectKey(@Param("objectKey") String objectKey);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE stored_files SET ref_count = ref_count + 1, updated_at = CURRENT_TIMESTAMP
+            WHERE content_hash = :contentHash
+            """, nativeQuery = true)
+    int incrementReferences(@Param("contentHash") String contentHash);
+
+    /**
+     * Records a freshly written object, or adds a reference if a concurrent upload of
+     * the same content registered first.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO stored_files (content_hash, object_key, content_type, size_bytes, ref_count, created_at, updated_at)
+            VALUES (:contentHash, :objectKey, :contentType, :sizeBytes, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (content_hash) DO UPDATE
+                SET ref_count = stored_files.ref_count + 1, updated_at = CURRENT_TIMESTAMP
+            """, nativeQuery = true)
+    int insertOrIncrement(@Param("contentHash") String contentHash,
+                          @Param("objectKey") String objectKey,
+                          @Param("contentType") String contentType,
+                          @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Query(value = """
+            UPDATE stored_files SET ref_count = ref_count - 1, updated_at = CURRENT_TIMESTAMP
+            WHERE object_key = :objectKey AND ref_count > 0
+            """, nativeQuery = true)
+    int decrementReferences(@Param("objectKey") String objectKey);
+
+    @Modifying
+    @Query(value = "DELETE FROM stored_files WHERE object_key = :objectKey AND ref_count = 0", nativeQuery = true)
+    int deleteUnreferenced(@Param("objectKey") String objectKey);
+}
@@ -0,0 +1,61 @@
+package org.xhite.marketflex.security;
+
+import java.time.LocalDateTime;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes lock state to {@code app_users} off the request thread. The in-memory
+ * {@link LoginAttemptTracker} already enforces the lock, so these writes only make
+ * it visible to other instances and survive restarts. Saves are flushed so that a
+ * concurrent update fails inside the method, where it is logged, rather than at commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountLockWriter {
+
+    private final UserRepository userRepository;
+
+    @Async
+    @Transactional
+    public void lock(String email, int failedAttempts) {
+        try {
+            userRepository.findByEmail(email).ifPresent(user -> {
+                user.setFailedAttempt(failedAttempts);
+                user.setAccountNonLocked(false);
+                user.setLockTime(LocalDateTime.now());
+                userRepository.saveAndFlush(user);
+                log.info("Persisted lock for user: {}", email);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Concurrent update while locking user {}, lock stays in memory only", email);
+        }
+    }
+
+    @Async
+    @Transactional
+    public void unlock(String email) {
+        try {
+            userRepository.findByEmail(email).ifPresent(user -> {
+                if (user.isAccountNonLocked() && user.getFailedAttempt() == 0) {
+                    return;
+                }
+                user.setFailedAttempt(0);
+                user.setAccountNonLocked(true);
+                user.setLockTime(null);
+                userRepository.saveAndFlush(user);
+                log.info("Cleared lock for user: {}", email);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Concurrent update while unlocking user {}, will retry on next login", email);
+        }
+    }
+}
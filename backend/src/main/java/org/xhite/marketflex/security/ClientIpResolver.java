@@ -0,0 +1,94 @@
+package org.xhite.marketflex.security;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Works out the address of the client behind the load balancer, for everything keyed
+ * by client IP (rate limits, failed login windows). {@code X-Forwarded-For} is only
+ * believed when the request comes from a trusted proxy, and then it is read from the
+ * right: each trusted proxy appends the address it received the request from, so the
+ * first untrusted address is the client. Anything further left was sent by the client
+ * and could be anything. Without a trusted peer the connection's address is used.
+ */
+@Slf4j
+@Component
+public class ClientIpResolver {
+
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    // Private, loopback and link-local ranges, and the ranges Google's load balancers connect from
+    @Value("${app.client-ip.trusted-proxies:10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,100.64.0.0/10,169.254.0.0/16,127.0.0.0/8,::1/128,fc00::/7,35.191.0.0/16,130.211.0.0/22}")
+    private String trustedProxies;
+
+    private List<IpAddressMatcher> trusted = List.of();
+
+    @PostConstruct
+    public void init() {
+        List<IpAddressMatcher> matchers = new ArrayList<>();
+        for (String range : trustedProxies.split(",")) {
+            if (!range.isBlank()) {
+                matchers.add(new IpAddressMatcher(range.trim()));
+            }
+        }
+        trusted = List.copyOf(matchers);
+        log.info("Trusting {} from {}", FORWARDED_FOR, trustedProxies);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+        List<String> hops = forwardedFor(request);
+        String client = remoteAddr;
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            client = hops.get(i);
+            if (!isTrusted(client)) {
+                return client;
+            }
+        }
+        // Only trusted proxies all the way: the leftmost is as close to the client as we get
+        return client;
+    }
+
+    private static List<String> forwardedFor(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(FORWARDED_FOR);
+        if (headers == null || !headers.hasMoreElements()) {
+            return Collections.emptyList();
+        }
+        List<String> hops = new ArrayList<>();
+        while (headers.hasMoreElements()) {
+            for (String hop : headers.nextElement().split(",")) {
+                if (!hop.isBlank()) {
+                    hops.add(hop.trim());
+                }
+            }
+        }
+        return hops;
+    }
+
+    // A hop that is not an IP literal is never trusted, so it ends the walk as the client
+    private boolean isTrusted(String address) {
+        try {
+            for (IpAddressMatcher matcher : trusted) {
+                if (matcher.matches(address)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return false;
+    }
+}
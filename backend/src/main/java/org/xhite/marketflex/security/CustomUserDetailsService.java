@@ -1,5 +1,7 @@
 package org.xhite.marketflex.security;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -21,6 +23,8 @@ import lombok.extern.slf4j.Slf4j;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final AccountLockWriter accountLockWriter;
 
     @Override
     @Transactional(readOnly = true)
@@ -44,10 +48,32 @@ public class CustomUserDetailsService implements UserDetailsService {
             .password(user.getPassword())
             .authorities(authorities)
             .disabled(!user.isEnabled())
-            .accountLocked(!user.isAccountNonLocked())
+            .accountLocked(isLocked(user))
             .build();
     }
 
+    /**
+     * A persisted lock with a lock time expires after the configured duration;
+     * one without a lock time was set manually and stays until cleared.
+     */
+    private boolean isLocked(AppUser user) {
+        if (loginAttemptTracker.isLocked(user.getEmail())) {
+            return true;
+        }
+        if (user.isAccountNonLocked()) {
+            return false;
+        }
+        if (user.getLockTime() == null) {
+            return true;
+        }
+        LocalDateTime lockExpiry = user.getLockTime().plus(Duration.ofMillis(loginAttemptTracker.getLockDurationMs()));
+        if (lockExpiry.isAfter(LocalDateTime.now())) {
+            return true;
+        }
+        accountLockWriter.unlock(user.getEmail());
+        return false;
+    }
+
     public AppUser getUserByEmail(String username) {
         return userRepository.findByEmail(username)
             .orElseThrow(() -> {
@@ -1,6 +1,7 @@
 package org.xhite.marketflex.security;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -9,7 +10,11 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.xhite.marketflex.config.FlightEvents;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +27,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    private Timer authenticated;
+    private Timer rejected;
+
+    @PostConstruct
+    public void init() {
+        authenticated = authenticationTimer("authenticated");
+        rejected = authenticationTimer("rejected");
+    }
+
+    private Timer authenticationTimer(String outcome) {
+        return Timer.builder("security.jwt.authentication")
+            .description("Time spent verifying a bearer token and loading its user")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -29,9 +52,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                   FilterChain filterChain) 
             throws ServletException, IOException {
         
+        String jwt = getJwtFromRequest(request);
+        long start = System.nanoTime();
+        FlightEvents.JwtVerification verification = jwt != null ? FlightEvents.JwtVerification.start() : null;
+        boolean authenticatedUser = false;
         try {
-            String jwt = getJwtFromRequest(request);
-
             if (jwt != null && tokenProvider.validateToken(jwt)) {
                 String userEmail = tokenProvider.getUserEmailFromToken(jwt);
                 UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
@@ -44,10 +69,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                authenticatedUser = true;
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
+        if (jwt != null) {
+            (authenticatedUser ? authenticated : rejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            verification.record(authenticatedUser);
+        }
 
         filterChain.doFilter(request, response);
     }
@@ -1,6 +1,7 @@
 package org.xhite.marketflex.security;
 
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -28,16 +29,20 @@ public class JwtTokenProvider {
 
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return generateToken(userDetails.getUsername(), userDetails.getAuthorities().stream()
+            .map(auth -> auth.getAuthority())
+            .toList());
+    }
+
+    public String generateToken(String email, Collection<String> roles) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-            .setSubject(userDetails.getUsername())
+            .setSubject(email)
             .setIssuedAt(now)
             .setExpiration(expiryDate)
-            .claim("roles", userDetails.getAuthorities().stream()
-                .map(auth -> auth.getAuthority())
-                .toList())
+            .claim("roles", roles)
             .signWith(getSigningKey(), SignatureAlgorithm.HS256)
             .compact();
     }
@@ -0,0 +1,162 @@
+package org.xhite.marketflex.security;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sliding-window failed login counters per email and per client IP, kept in memory
+ * so a blocked login is rejected before any database read or BCrypt comparison.
+ * Persisting the account lock is left to {@link AccountLockWriter}.
+ */
+@Slf4j
+@Component
+public class LoginAttemptTracker {
+
+    @Value("${app.security.login.max-failures-per-email:5}")
+    private int maxFailuresPerEmail;
+
+    @Value("${app.security.login.max-failures-per-ip:20}")
+    private int maxFailuresPerIp;
+
+    @Value("${app.security.login.failure-window-ms:900000}")
+    private long failureWindowMs;
+
+    @Value("${app.security.login.lock-duration-ms:900000}")
+    private long lockDurationMs;
+
+    @Value("${app.security.login.max-tracked-keys:100000}")
+    private long maxTrackedKeys;
+
+    private Cache<String, FailureWindow> emailFailures;
+    private Cache<String, FailureWindow> ipFailures;
+    private Cache<String, Long> lockedUntil;
+
+    @PostConstruct
+    public void init() {
+        emailFailures = newCache(failureWindowMs);
+        ipFailures = newCache(failureWindowMs);
+        lockedUntil = newCache(lockDurationMs);
+    }
+
+    /**
+     * @return milliseconds until a login for this email/IP may be attempted again, 0 if allowed
+     */
+    public long blockedForMs(String email, String ip) {
+        long now = System.currentTimeMillis();
+        Long until = lockedUntil.getIfPresent(normalize(email));
+        long emailWait = until != null ? until - now : 0;
+
+        FailureWindow window = ipFailures.getIfPresent(ip);
+        long ipWait = window != null ? window.blockedForMs(now) : 0;
+
+        return Math.max(0, Math.max(emailWait, ipWait));
+    }
+
+    public boolean isLocked(String email) {
+        Long until = lockedUntil.getIfPresent(normalize(email));
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * Records a failed attempt.
+     *
+     * @return the failure count for the email when this attempt locked the account, otherwise 0
+     */
+    public int recordFailure(String email, String ip) {
+        long now = System.currentTimeMillis();
+        if (ip != null) {
+            record(ipFailures, ip, maxFailuresPerIp, now);
+        }
+
+        String key = normalize(email);
+        FailureWindow window = record(emailFailures, key, maxFailuresPerEmail, now);
+        int failures = window.failuresSince(now - failureWindowMs);
+        if (window.blockedForMs(now) > 0 && lockedUntil.getIfPresent(key) == null) {
+            lockedUntil.put(key, now + lockDurationMs);
+            log.warn("Locking account {} after {} failed logins", key, failures);
+            return failures;
+        }
+        return 0;
+    }
+
+    public void recordSuccess(String email) {
+        String key = normalize(email);
+        emailFailures.invalidate(key);
+        lockedUntil.invalidate(key);
+    }
+
+    public long getLockDurationMs() {
+        return lockDurationMs;
+    }
+
+    // A compute is a write, so the window expires failureWindowMs after its newest failure
+    private FailureWindow record(Cache<String, FailureWindow> failures, String key, int limit, long now) {
+        return failures.asMap().compute(key, (k, window) -> {
+            FailureWindow updated = window != null ? window : new FailureWindow(limit, failureWindowMs);
+            updated.record(now);
+            return updated;
+        });
+    }
+
+    private <V> Cache<String, V> newCache(long expireAfterWriteMs) {
+        return Caffeine.newBuilder()
+            .maximumSize(maxTrackedKeys)
+            .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+            .build();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Exact sliding window: a ring holding the timestamps of the last {@code limit}
+     * failures. The key is blocked while the oldest of them is still inside the window.
+     */
+    static final class FailureWindow {
+        private final long[] failures;
+        private final long windowMs;
+        private int next;
+        private int count;
+
+        FailureWindow(int limit, long windowMs) {
+            this.failures = new long[limit];
+            this.windowMs = windowMs;
+        }
+
+        synchronized void record(long now) {
+            failures[next] = now;
+            next = (next + 1) % failures.length;
+            if (count < failures.length) {
+                count++;
+            }
+        }
+
+        synchronized int failuresSince(long from) {
+            int recent = 0;
+            for (int i = 0; i < count; i++) {
+                if (failures[i] > from) {
+                    recent++;
+                }
+            }
+            return recent;
+        }
+
+        synchronized long blockedForMs(long now) {
+            if (count < failures.length) {
+                return 0;
+            }
+            // With a full ring the slot at 'next' holds the oldest failure
+            return Math.max(0, failures[next] + windowMs - now);
+        }
+    }
+}
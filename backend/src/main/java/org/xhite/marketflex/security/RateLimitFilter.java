@@ -0,0 +1,185 @@
+package org.xhite.marketflex.security;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.xhite.marketflex.config.JitWarmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token-bucket rate limiting for the expensive endpoints. Runs before
+ * {@link JwtAuthenticationFilter} so throttled requests never reach token
+ * verification or the database. Each route policy keeps one bucket per client IP,
+ * as resolved by {@link ClientIpResolver}, and one per authenticated user, which
+ * {@link UserRateLimitFilter} applies once the token has been verified.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final ClientIpResolver clientIpResolver;
+
+    // Buckets are created relative to this so the packed timestamp fits in 40 bits
+    private final long epochMs = System.currentTimeMillis();
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.max-clients:20000}")
+    private long maxClients;
+
+    @Value("${app.rate-limit.auth.capacity:10}")
+    private int authCapacity;
+
+    @Value("${app.rate-limit.auth.refill-per-minute:10}")
+    private int authRefillPerMinute;
+
+    @Value("${app.rate-limit.search.capacity:30}")
+    private int searchCapacity;
+
+    @Value("${app.rate-limit.search.refill-per-minute:120}")
+    private int searchRefillPerMinute;
+
+    @Value("${app.rate-limit.orders.capacity:20}")
+    private int ordersCapacity;
+
+    @Value("${app.rate-limit.orders.refill-per-minute:60}")
+    private int ordersRefillPerMinute;
+
+    private Route authRoute;
+    private Route searchRoute;
+    private Route ordersRoute;
+
+    @PostConstruct
+    public void init() {
+        authRoute = new Route(authCapacity, authRefillPerMinute);
+        searchRoute = new Route(searchCapacity, searchRefillPerMinute);
+        ordersRoute = new Route(ordersCapacity, ordersRefillPerMinute);
+        log.info("Rate limiting {}: auth {}/min, search {}/min, orders {}/min",
+            enabled ? "enabled" : "disabled", authRefillPerMinute, searchRefillPerMinute, ordersRefillPerMinute);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long retryAfterMs = enabled ? acquire(request) : 0;
+        if (retryAfterMs > 0) {
+            reject(request, response, retryAfterMs);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @return 0 if the request may proceed, otherwise the milliseconds until it may be retried
+     */
+    public long acquire(HttpServletRequest request) {
+        Route route = resolveRoute(request);
+        if (route == null) {
+            return 0;
+        }
+        return route.acquire(route.ipBuckets, clientIpResolver.resolve(request), System.currentTimeMillis() - epochMs);
+    }
+
+    /**
+     * Takes from the bucket of {@code username}, the subject of a verified token, on the
+     * route of {@code request}.
+     *
+     * @return 0 if the request may proceed, otherwise the milliseconds until it may be retried
+     */
+    public long acquireForUser(HttpServletRequest request, String username) {
+        Route route = enabled ? resolveRoute(request) : null;
+        if (route == null) {
+            return 0;
+        }
+        return route.acquire(route.userBuckets, username, System.currentTimeMillis() - epochMs);
+    }
+
+    private Route resolveRoute(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (!path.startsWith("/api/v1/") || JitWarmup.isWarmupRequest(request)) {
+            return null;
+        }
+        String method = request.getMethod();
+        if ("POST".equals(method) && path.startsWith("/api/v1/auth/")) {
+            return authRoute;
+        }
+        if ("GET".equals(method) && path.equals("/api/v1/products/filter")) {
+            String search = request.getParameter("search");
+            return search != null && !search.isBlank() ? searchRoute : null;
+        }
+        if (path.startsWith("/api/v1/orders")) {
+            return ordersRoute;
+        }
+        return null;
+    }
+
+    void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterMs)
+            throws IOException {
+        long retryAfterSeconds = TimeUnit.MILLISECONDS.toSeconds(retryAfterMs + 999);
+        log.warn("Rate limit exceeded for {} {} from {}", request.getMethod(), request.getRequestURI(),
+            clientIpResolver.resolve(request));
+
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        Map<String, Object> body = Map.of(
+            "type", "https://api.marketflex.com/problems/rate-limited",
+            "title", "Too Many Requests",
+            "status", 429,
+            "detail", "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds",
+            "instance", request.getRequestURI()
+        );
+
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private final class Route {
+        private final int capacity;
+        private final int refillPerMinute;
+        private final Cache<String, TokenBucket> ipBuckets;
+        private final Cache<String, TokenBucket> userBuckets;
+
+        private Route(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+            this.ipBuckets = newBucketCache();
+            this.userBuckets = newBucketCache();
+        }
+
+        // Size-bounded only: time based expiry adds a read-buffer write to every lookup,
+        // and an evicted bucket is simply recreated full
+        private Cache<String, TokenBucket> newBucketCache() {
+            return Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .build();
+        }
+
+        private long acquire(Cache<String, TokenBucket> buckets, String key, long nowMs) {
+            TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillPerMinute, nowMs));
+            return bucket.tryAcquire(nowMs);
+        }
+    }
+}
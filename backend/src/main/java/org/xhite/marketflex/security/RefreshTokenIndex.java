@@ -0,0 +1,163 @@
+package org.xhite.marketflex.security;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * In-memory index of refresh tokens keyed by the SHA-256 of the token.
+ * The database stays authoritative; this index lets a refresh skip the
+ * lookup query so it costs a map read plus the rotation write.
+ *
+ * <p>Bounded by {@code app.jwt.refresh-index-max-size}, and each entry leaves when
+ * its token expires; an evicted token is simply loaded from the table again. All
+ * tokens of a family share one {@link Family}, so revoking a family is a flag write
+ * however many of its tokens are indexed.
+ */
+@Component
+public class RefreshTokenIndex {
+
+    private final Cache<TokenHash, Entry> entries;
+
+    // Weak values: a family is only tracked while one of its tokens is still indexed
+    private final Cache<UUID, Family> families = Caffeine.newBuilder().weakValues().build();
+
+    public RefreshTokenIndex(@Value("${app.jwt.refresh-index-max-size:100000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new UntilTokenExpires())
+            .build();
+    }
+
+    public Entry get(TokenHash hash) {
+        return entries.getIfPresent(hash);
+    }
+
+    public void put(TokenHash hash, Entry entry) {
+        entries.put(hash, entry);
+    }
+
+    /**
+     * The family's shared state, created on first use. Already revoked if
+     * {@code revoked}, which is how a family loaded from the table comes back.
+     */
+    public Family family(UUID familyId, long expiresAtMillis, boolean revoked) {
+        Family family = families.get(familyId, id -> new Family(id, expiresAtMillis));
+        if (revoked) {
+            family.revoke();
+        }
+        return family;
+    }
+
+    public void markRotated(TokenHash hash) {
+        entries.asMap().computeIfPresent(hash, (key, entry) -> entry.asRotated());
+    }
+
+    public void revokeFamily(UUID familyId) {
+        Family family = families.getIfPresent(familyId);
+        if (family != null) {
+            family.revoke();
+        }
+    }
+
+    /** Drops expired entries now rather than on later cache activity. */
+    public int evictExpired() {
+        long before = entries.estimatedSize();
+        entries.cleanUp();
+        families.cleanUp();
+        return (int) Math.max(0, before - entries.estimatedSize());
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    // Marking an entry rotated keeps its expiry; a read never changes it
+    private static final class UntilTokenExpires implements Expiry<TokenHash, Entry> {
+
+        @Override
+        public long expireAfterCreate(TokenHash hash, Entry entry, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenHash hash, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(hash, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenHash hash, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * A 256-bit digest held as four longs, which is far smaller than the
+     * 64-character hex string used in the database column.
+     */
+    public record TokenHash(long w0, long w1, long w2, long w3) {
+
+        public static TokenHash of(byte[] digest) {
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new TokenHash(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+
+    /** State shared by every token issued from one login. */
+    public static final class Family {
+
+        private final UUID id;
+        private final long expiresAtMillis;
+        private volatile boolean revoked;
+
+        private Family(UUID id, long expiresAtMillis) {
+            this.id = id;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public UUID id() {
+            return id;
+        }
+
+        /** No token of the family is valid after this, however often it was rotated. */
+        public long expiresAtMillis() {
+            return expiresAtMillis;
+        }
+
+        public boolean isRevoked() {
+            return revoked;
+        }
+
+        void revoke() {
+            revoked = true;
+        }
+    }
+
+    /**
+     * Snapshot of a token row. A rotated entry is kept until it expires so that
+     * replaying it can be detected without a database round trip. Roles and account
+     * state are not kept: they are read fresh on every rotation.
+     */
+    public record Entry(
+        String email,
+        Family family,
+        long expiresAtMillis,
+        boolean rotated
+    ) {
+        public boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+
+        Entry asRotated() {
+            return rotated ? this : new Entry(email, family, expiresAtMillis, true);
+        }
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.xhite.marketflex.config.AdaptiveConcurrencyFilter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +31,9 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final UserRateLimitFilter userRateLimitFilter;
+    private final AdaptiveConcurrencyFilter adaptiveConcurrencyFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
     @Value("${app.cors.allowed-origins}")
@@ -70,6 +74,10 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/v1/categories/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/vendors/**").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                // Liveness and readiness probes
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/livez", "/readyz").permitAll()
+                // Scrapes; actuator is only served on the management port, which is not public
+                .requestMatchers("/actuator/prometheus").permitAll()
                 
                 // Static resources (uploads)
                 .requestMatchers("/uploads/**").permitAll()
@@ -98,7 +106,16 @@ public class SecurityConfig {
             
             // Add JWT filter before UsernamePasswordAuthenticationFilter
             .addFilterBefore(jwtAuthenticationFilter, 
-                UsernamePasswordAuthenticationFilter.class);
+                UsernamePasswordAuthenticationFilter.class)
+            
+            // Throttle abusive clients before any token verification or DB work
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+
+            // Throttle authenticated users by their verified subject
+            .addFilterAfter(userRateLimitFilter, JwtAuthenticationFilter.class)
+
+            // Shed load past the learned concurrency limit; after CORS, so browsers can read the 503
+            .addFilterAfter(adaptiveConcurrencyFilter, RateLimitFilter.class);
         
         return http.build();
     }
@@ -109,7 +126,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList(allowedMethods.split(",")));
         configuration.setAllowedHeaders(Arrays.asList(allowedHeaders.split(",")));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", "Retry-After"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(maxAge);
         
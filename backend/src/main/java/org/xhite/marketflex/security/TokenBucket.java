@@ -0,0 +1,85 @@
+package org.xhite.marketflex.security;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Lock-free token bucket. The whole state lives in one long so that a take is a
+ * single compare-and-set: the upper bits hold the balance in milli-tokens and the
+ * lower 40 bits the last refill time in milliseconds since the limiter epoch.
+ */
+public final class TokenBucket {
+
+    static final int TIME_BITS = 40;
+    static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    static final long MAX_MILLI_TOKENS = (1L << (Long.SIZE - TIME_BITS - 1)) - 1;
+
+    private static final long ONE_TOKEN = 1000;
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(TokenBucket.class, "state", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long capacity;
+    private final long refillPerMinute;
+    private final long fullRefillMs;
+    // Packed state, updated only through the STATE var handle
+    private volatile long state;
+
+    public TokenBucket(int capacity, int refillPerMinute, long nowMs) {
+        if (capacity <= 0 || capacity * ONE_TOKEN > MAX_MILLI_TOKENS) {
+            throw new IllegalArgumentException("Bucket capacity must be between 1 and " + MAX_MILLI_TOKENS / ONE_TOKEN);
+        }
+        if (refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        this.capacity = capacity * ONE_TOKEN;
+        this.refillPerMinute = refillPerMinute;
+        // milli-tokens per ms is refillPerMinute / 60, so a full refill takes capacity * 60 / rate ms
+        this.fullRefillMs = this.capacity * 60 / refillPerMinute;
+        this.state = pack(this.capacity, nowMs);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when the token was granted, otherwise the milliseconds until one is available
+     */
+    public long tryAcquire(long nowMs) {
+        while (true) {
+            long current = state;
+            long tokens = current >>> TIME_BITS;
+            long last = current & TIME_MASK;
+            long elapsed = Math.max(0, nowMs - last);
+
+            long balance;
+            long refilledAt;
+            if (elapsed >= fullRefillMs) {
+                balance = capacity;
+                refilledAt = nowMs;
+            } else {
+                long added = elapsed * refillPerMinute / 60;
+                balance = Math.min(capacity, tokens + added);
+                // Only advance the clock by the time that was converted into tokens so
+                // fractional refill is carried over instead of lost on busy buckets
+                refilledAt = balance == capacity ? nowMs : last + added * 60 / refillPerMinute;
+            }
+
+            if (balance < ONE_TOKEN) {
+                return ((ONE_TOKEN - balance) * 60 + refillPerMinute - 1) / refillPerMinute;
+            }
+            if (STATE.compareAndSet(this, current, pack(balance - ONE_TOKEN, refilledAt))) {
+                return 0;
+            }
+        }
+    }
+
+    private static long pack(long milliTokens, long timeMs) {
+        return (milliTokens << TIME_BITS) | (timeMs & TIME_MASK);
+    }
+}
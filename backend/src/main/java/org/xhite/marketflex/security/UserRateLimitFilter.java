@@ -0,0 +1,44 @@
+package org.xhite.marketflex.security;
+
+import java.io.IOException;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The per-user half of {@link RateLimitFilter}, run right after
+ * {@link JwtAuthenticationFilter}: buckets are keyed by the verified subject, so a
+ * client cannot escape its limit by sending new or made-up tokens, and requests with
+ * a token that did not verify only count against their IP.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitFilter rateLimitFilter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                  HttpServletResponse response,
+                                  FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            long retryAfterMs = rateLimitFilter.acquireForUser(request, authentication.getName());
+            if (retryAfterMs > 0) {
+                rateLimitFilter.reject(request, response, retryAfterMs);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
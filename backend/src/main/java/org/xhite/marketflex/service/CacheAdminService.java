@@ -0,0 +1,12 @@
+package org.xhite.marketflex.service;
+
+import java.util.List;
+
+import org.xhite.marketflex.dto.CacheStatsDto;
+
+public interface CacheAdminService {
+    List<CacheStatsDto> getCaches();
+    CacheStatsDto getCache(String name);
+    void clearCache(String name);
+    void clearAll();
+}
@@ -0,0 +1,10 @@
+package org.xhite.marketflex.service;
+
+import java.util.List;
+
+import org.xhite.marketflex.dto.DeadLetterEventDto;
+
+public interface DeadLetterService {
+    List<DeadLetterEventDto> getDeadLetters(int limit);
+    void deleteDeadLetter(Long id);
+}
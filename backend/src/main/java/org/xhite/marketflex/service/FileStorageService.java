@@ -1,8 +1,42 @@
 package org.xhite.marketflex.service;
 
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.springframework.web.multipart.MultipartFile;
+import org.xhite.marketflex.model.enums.ImageVariant;
 
 public interface FileStorageService {
     String store(MultipartFile file);
+
+    /** Deletes the stored file and any variants generated from it. */
     void delete(String imageUrl);
+
+    /** Opens a file previously returned by {@link #store}. */
+    InputStream load(String imageUrl);
+
+    /** Stores a resized rendition next to the original and returns its URL. */
+    String storeVariant(String imageUrl, ImageVariant variant, byte[] content, String contentType);
+
+    /**
+     * Walks every stored object, originals and variants alike, handing them to
+     * {@code pageConsumer} at most {@code pageSize} at a time.
+     */
+    void listStored(int pageSize, Consumer<List<StoredObject>> pageConsumer);
+
+    /** Removes a single object by storage key, without reference counting or variants. */
+    void deleteStored(String key);
+
+    /** An object found by {@link #listStored}; the key's last path segment is its file name. */
+    record StoredObject(String key, Instant lastModified) {
+    }
+
+    /** Variants are always JPEG and named after the original, e.g. {@code abc.png -> abc-thumb.jpg}. */
+    static String variantName(String originalName, ImageVariant variant) {
+        int dot = originalName.lastIndexOf('.');
+        String base = dot > 0 ? originalName.substring(0, dot) : originalName;
+        return base + "-" + variant.getSuffix() + ".jpg";
+    }
 }
@@ -0,0 +1,24 @@
+package org.xhite.marketflex.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.xhite.marketflex.dto.FlightRecordingDto;
+
+/** The flight recording of this instance; each instance has at most one. */
+public interface FlightRecordingService {
+
+    /** Starts recording, stopping by itself after {@code durationMinutes}, capped by configuration. */
+    FlightRecordingDto start(Integer durationMinutes);
+
+    FlightRecordingDto getCurrent();
+
+    /** Stops the recording but keeps its data for download. */
+    FlightRecordingDto stop();
+
+    /** Writes what the recording holds so far, running or stopped, as a .jfr file. */
+    void writeTo(OutputStream out) throws IOException;
+
+    /** Stops the recording if needed and discards its data. */
+    void discard();
+}
@@ -0,0 +1,15 @@
+package org.xhite.marketflex.service;
+
+import java.util.Map;
+
+import org.xhite.marketflex.model.enums.ImageVariant;
+
+public interface ImageVariantService {
+
+    /**
+     * Generates and stores every {@link ImageVariant} of a stored image.
+     *
+     * @return the variant URLs, or an empty map if the image cannot be decoded
+     */
+    Map<ImageVariant, String> createVariants(String imageUrl);
+}
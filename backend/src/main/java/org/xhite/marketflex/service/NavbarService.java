@@ -1,7 +1,6 @@
 package org.xhite.marketflex.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.xhite.marketflex.dto.CategoryDto;
 
@@ -12,7 +11,7 @@ import java.util.List;
 public class NavbarService {
     private final CategoryService categoryService;
 
-    @Cacheable("navbarCategories")
+    // Served from the categories cache, so category writes evict it with everything else
     public List<CategoryDto> getNavbarCategories() {
         return categoryService.getAllCategories();
     }
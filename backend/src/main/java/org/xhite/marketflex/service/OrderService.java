@@ -1,6 +1,7 @@
 package org.xhite.marketflex.service;
 
 import java.util.List;
+import java.util.Map;
 
 import org.xhite.marketflex.dto.CreateOrderRequest;
 import org.xhite.marketflex.dto.OrderDto;
@@ -23,6 +24,15 @@ public interface OrderService {
      */
     List<OrderDto> getOrdersForCurrentUser();
 
+    /**
+     * Retrieves the current user's orders with only the given fields selected.
+     * Items are part of the full representation only.
+     *
+     * @param fields comma-separated names of {@link OrderDto} fields
+     * @return one map per order, sorted by creation date (newest first)
+     */
+    List<Map<String, Object>> getOrdersForCurrentUser(String fields);
+
     /**
      * Retrieves a specific order by ID.
      * Ensures the current user owns the order or is an admin.
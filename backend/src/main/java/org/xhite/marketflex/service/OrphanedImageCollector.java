@@ -0,0 +1,13 @@
+package org.xhite.marketflex.service;
+
+public interface OrphanedImageCollector {
+
+    /**
+     * Deletes stored images that no product or category references any more and that
+     * are older than the grace period. In a dry run the orphans are only logged.
+     */
+    Result collect(boolean dryRun);
+
+    record Result(int referenced, long scanned, long orphaned, long deleted, long failed, boolean dryRun) {
+    }
+}
@@ -1,6 +1,7 @@
 package org.xhite.marketflex.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.xhite.marketflex.dto.PagedResponse;
@@ -27,4 +28,10 @@ public interface ProductService {
     
     // Filtering with pagination
     PagedResponse<ProductDto> filterProducts(ProductFilterRequest request);
+
+    // Sparse fieldsets: only the comma-separated fields are selected and returned
+    List<Map<String, Object>> getProducts(Long categoryId, String fields);
+    List<Map<String, Object>> getProductsByVendor(Long vendorId, String fields);
+    PagedResponse<Map<String, Object>> filterProducts(ProductFilterRequest request, String fields);
+    List<Map<String, Object>> retainFields(List<ProductDto> products, String fields);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package org.xhite.marketflex.service;
+
+import org.xhite.marketflex.dto.TokenPair;
+import org.xhite.marketflex.model.AppUser;
+
+public interface RefreshTokenService {
+    String issue(AppUser user);
+    TokenPair rotate(String rawToken);
+    void revoke(String rawToken);
+    int purgeExpired();
+}
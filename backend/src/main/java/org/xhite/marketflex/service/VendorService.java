@@ -1,6 +1,7 @@
 package org.xhite.marketflex.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.xhite.marketflex.dto.CreateVendorRequest;
@@ -16,6 +17,10 @@ public interface VendorService {
     VendorDto getVendorByStoreName(String storeName);
     List<ProductDto> getVendorProducts(String storeName);
     List<VendorDto> getAllVendors();  // For landing page featured vendors
+
+    // Sparse fieldsets: only the comma-separated fields are selected and returned
+    List<Map<String, Object>> getVendorProducts(String storeName, String fields);
+    List<Map<String, Object>> getAllVendors(String fields);
     
     // Vendor orders (for vendor dashboard)
     List<VendorOrderDto> getVendorOrders(Long vendorId);
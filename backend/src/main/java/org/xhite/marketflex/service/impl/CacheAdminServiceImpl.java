@@ -0,0 +1,92 @@
+package org.xhite.marketflex.service.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.xhite.marketflex.config.CacheConfig;
+import org.xhite.marketflex.config.CacheSpec;
+import org.xhite.marketflex.dto.CacheStatsDto;
+import org.xhite.marketflex.exception.ResourceNotFoundException;
+import org.xhite.marketflex.service.CacheAdminService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheAdminServiceImpl implements CacheAdminService {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public List<CacheStatsDto> getCaches() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(this::getCache)
+                .toList();
+    }
+
+    @Override
+    public CacheStatsDto getCache(String name) {
+        CacheSpec spec = CacheConfig.CACHES.get(name);
+        Cache<Object, Object> cache = nativeCache(name);
+        // Weights of async entries are applied by pending maintenance once their future completes
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .name(name)
+                .maximumSize(spec.maximumSize())
+                .maximumWeight(spec.maximumWeight())
+                .expireAfterWriteSeconds(seconds(spec.expireAfterWrite()))
+                .refreshAfterWriteSeconds(seconds(spec.refreshAfterWrite()))
+                .async(spec.async())
+                .estimatedSize(cache.estimatedSize())
+                .weightedSize(cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().isPresent() ? eviction.weightedSize().getAsLong() : null)
+                        .orElse(null))
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadSuccessCount(stats.loadSuccessCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .averageLoadPenaltyMs(stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1))
+                .build();
+    }
+
+    @Override
+    public void clearCache(String name) {
+        // Through the Spring cache rather than Caffeine, so the clear is broadcast to the other nodes
+        caffeineCache(name).clear();
+        log.info("Cleared cache {}", name);
+    }
+
+    @Override
+    public void clearAll() {
+        cacheManager.getCacheNames().forEach(this::clearCache);
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return caffeineCache(name).getNativeCache();
+    }
+
+    private CaffeineCache caffeineCache(String name) {
+        if (!CacheConfig.CACHES.containsKey(name)
+                || !(cacheManager.getCache(name) instanceof CaffeineCache caffeineCache)) {
+            throw new ResourceNotFoundException("Cache not found: " + name);
+        }
+        return caffeineCache;
+    }
+
+    private static Long seconds(Duration duration) {
+        return duration == null ? null : duration.toSeconds();
+    }
+}
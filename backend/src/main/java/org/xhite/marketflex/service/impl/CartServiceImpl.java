@@ -1,11 +1,13 @@
 package org.xhite.marketflex.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.xhite.marketflex.repository.ProductRepository;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.config.Bulkhead;
 import org.xhite.marketflex.dto.CartDto;
 import org.xhite.marketflex.exception.InsufficientStockException;
 import org.xhite.marketflex.exception.ResourceNotFoundException;
@@ -27,6 +29,7 @@ import org.xhite.marketflex.mapper.CartMapper;
 
 @Service
 @Transactional
+@Bulkhead(Bulkhead.CHECKOUT)
 @RequiredArgsConstructor
 @Slf4j
 public class CartServiceImpl implements CartService {
@@ -40,6 +43,7 @@ public class CartServiceImpl implements CartService {
 
     @Override
     @Transactional
+    @Timed(value = "cart.mutations", extraTags = {"operation", "add"}, histogram = true)
     public CartDto addToCart(Long productId, Integer quantity) {
         try {
             AppUser user = userService.getCurrentUser();
@@ -90,6 +94,7 @@ public class CartServiceImpl implements CartService {
     }
 
     @Override
+    @Timed(value = "cart.mutations", extraTags = {"operation", "update"}, histogram = true)
     public CartDto updateCartItem(Long itemId, Integer quantity) {
         CartItem cartItem = cartItemRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
@@ -106,6 +111,7 @@ public class CartServiceImpl implements CartService {
 
     @Override
     @Transactional
+    @Timed(value = "cart.mutations", extraTags = {"operation", "remove"}, histogram = true)
     public CartDto removeFromCart(Long itemId) {
         try {
             AppUser user = userService.getCurrentUser();
@@ -137,6 +143,7 @@ public class CartServiceImpl implements CartService {
     }
 
     @Override
+    @Timed(value = "cart.mutations", extraTags = {"operation", "clear"}, histogram = true)
     public void clearCart() {
         AppUser user = userService.getCurrentUser();
         Cart cart = cartRepository.findByUser(user)
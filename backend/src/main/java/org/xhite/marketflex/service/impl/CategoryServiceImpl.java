@@ -1,18 +1,25 @@
 package org.xhite.marketflex.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.config.Bulkhead;
+import org.xhite.marketflex.config.CacheNames;
+import org.xhite.marketflex.config.CacheReloader;
 import org.xhite.marketflex.dto.CategoryDto;
 import org.xhite.marketflex.dto.CreateCategoryRequest;
+import org.xhite.marketflex.event.ImageStoredEvent;
 import org.xhite.marketflex.exception.BusinessException;
 import org.xhite.marketflex.exception.ResourceNotFoundException;
 import org.xhite.marketflex.model.Category;
@@ -29,22 +36,27 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Transactional
 @RequiredArgsConstructor
-@CacheConfig(cacheNames = "categories")
-public class CategoryServiceImpl implements CategoryService {
+@CacheConfig(cacheNames = CacheNames.CATEGORIES)
+public class CategoryServiceImpl implements CategoryService, CacheReloader {
+
+    private static final String ALL_CATEGORIES_KEY = "all";
 
     private final CategoryRepository categoryRepository;
     private final org.xhite.marketflex.mapper.CategoryMapper categoryMapper;
     private final ProductRepository productRepository;
     private final CacheManager cacheManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
-    @Cacheable(key = "'all'")
+    @Cacheable(key = "'" + ALL_CATEGORIES_KEY + "'", sync = true)
     public List<CategoryDto> getAllCategories() {
-        return categoryMapper.toDtoList(categoryRepository.findAllActive());
+        return loadActiveCategories();
     }
     
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
     public CategoryDto getCategoryById(Long id) {
         return categoryRepository.findActiveById(id)
@@ -53,6 +65,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.ADMIN)
     @Transactional
     @CacheEvict(allEntries = true)
     public CategoryDto createCategory(CreateCategoryRequest request) {
@@ -61,10 +74,14 @@ public class CategoryServiceImpl implements CategoryService {
         }
         Category category = categoryMapper.toEntity(request);
         category = categoryRepository.save(category);
+        if (category.getImageUrl() != null) {
+            publishImageStored(category);
+        }
         return categoryMapper.toDto(category);
     }
 
     @Override
+    @Bulkhead(Bulkhead.ADMIN)
     @Transactional
     @CacheEvict(allEntries = true)
     public CategoryDto updateCategory(Long id, CreateCategoryRequest request) {
@@ -75,15 +92,23 @@ public class CategoryServiceImpl implements CategoryService {
         category.setDescription(request.description());
         
         // Only update image URL if a new one is provided
-        if (request.imageUrl() != null) {
+        boolean imageChanged = request.imageUrl() != null && !request.imageUrl().equals(category.getImageUrl());
+        if (imageChanged) {
             category.setImageUrl(request.imageUrl());
+            category.setThumbnailUrl(null);
+            category.setCardImageUrl(null);
+            category.setDetailImageUrl(null);
         }
         
         category = categoryRepository.save(category);
+        if (imageChanged) {
+            publishImageStored(category);
+        }
         return categoryMapper.toDto(category);
     }
 
     @Override
+    @Bulkhead(Bulkhead.ADMIN)
     @Transactional
     @CacheEvict(allEntries = true)
     public void deleteCategory(Long id) {
@@ -91,17 +116,42 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
-    @Cacheable
+    @Cacheable(sync = true)
     public List<CategoryDto> getFeaturedCategories(int limit) {
+        return loadFeaturedCategories(limit);
+    }
+
+    @Override
+    public String cacheName() {
+        return CacheNames.CATEGORIES;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object reload(Object key) {
+        // Keys are "all" for getAllCategories and the limit for getFeaturedCategories
+        return key instanceof Integer limit ? loadFeaturedCategories(limit) : loadActiveCategories();
+    }
+
+    private List<CategoryDto> loadFeaturedCategories(int limit) {
+        return loadActiveCategories().stream().limit(limit).collect(Collectors.toList());
+    }
+
+    private List<CategoryDto> loadActiveCategories() {
+        Map<Long, Integer> productCounts = new HashMap<>();
+        for (Object[] row : categoryRepository.countProductsOfActiveCategories()) {
+            productCounts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
         return categoryRepository.findAllActive()
                 .stream()
-                .map(categoryMapper::toDto)
-                .limit(limit)
+                .map(category -> categoryMapper.toDto(category, productCounts.getOrDefault(category.getId(), 0)))
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Bulkhead(Bulkhead.ADMIN)
     @Transactional
     @CacheEvict(allEntries = true)
     public void deleteCategory(Long id, boolean deleteProducts) {
@@ -129,12 +179,16 @@ public class CategoryServiceImpl implements CategoryService {
         categoryRepository.save(category);
         
         // Clear caches
-        cacheManager.getCache("categories").clear();
-        cacheManager.getCache("products").clear();
+        cacheManager.getCache(CacheNames.CATEGORIES).clear();
+        cacheManager.getCache(CacheNames.PRODUCTS).clear();
         
         log.info("Category {} deleted. Products were {}", 
             category.getName(), 
             deleteProducts ? "also deleted" : "preserved");
     }
 
-}
\ No newline at end of file
+    private void publishImageStored(Category category) {
+        applicationEventPublisher.publishEvent(
+            new ImageStoredEvent(ImageStoredEvent.Owner.CATEGORY, category.getId(), category.getImageUrl()));
+    }
+}
@@ -0,0 +1,58 @@
+package org.xhite.marketflex.service.impl;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.config.Bulkhead;
+import org.xhite.marketflex.dto.DeadLetterEventDto;
+import org.xhite.marketflex.exception.ResourceNotFoundException;
+import org.xhite.marketflex.model.DeadLetterEvent;
+import org.xhite.marketflex.repository.DeadLetterEventRepository;
+import org.xhite.marketflex.service.DeadLetterService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Bulkhead(Bulkhead.ADMIN)
+public class DeadLetterServiceImpl implements DeadLetterService {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final DeadLetterEventRepository deadLetterEventRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DeadLetterEventDto> getDeadLetters(int limit) {
+        return deadLetterEventRepository.findAllByOrderByFailedAtDesc(PageRequest.of(0, Math.clamp(limit, 1, MAX_LIMIT))).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void deleteDeadLetter(Long id) {
+        if (!deadLetterEventRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Dead letter not found: " + id);
+        }
+        deadLetterEventRepository.deleteById(id);
+        log.info("Deleted dead letter {}", id);
+    }
+
+    private DeadLetterEventDto toDto(DeadLetterEvent event) {
+        return DeadLetterEventDto.builder()
+                .id(event.getId())
+                .handler(event.getHandler())
+                .eventType(event.getEventType())
+                .aggregateKey(event.getAggregateKey())
+                .payload(event.getPayload())
+                .error(event.getError())
+                .attempts(event.getAttempts())
+                .failedAt(event.getFailedAt())
+                .build();
+    }
+}
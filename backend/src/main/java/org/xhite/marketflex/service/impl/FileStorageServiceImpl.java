@@ -1,16 +1,28 @@
 package org.xhite.marketflex.service.impl;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xhite.marketflex.config.FlightEvents;
 import org.xhite.marketflex.exception.StorageException;
+import org.xhite.marketflex.model.enums.ImageVariant;
 import org.xhite.marketflex.service.FileStorageService;
 
 import jakarta.annotation.PostConstruct;
@@ -26,6 +38,7 @@ public class FileStorageServiceImpl implements FileStorageService {
     
     private final Path fileStorageLocation;
     private final String imageBaseUrl;
+    private final StoredFileReferences storedFiles;
     private final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp");
 
     @PostConstruct
@@ -52,32 +65,58 @@ public class FileStorageServiceImpl implements FileStorageService {
             throw new StorageException("Only " + String.join(", ", ALLOWED_EXTENSIONS) + " files are allowed");
         }
 
-        // Generate filename with proper extension
-        String filename = UUID.randomUUID().toString() + "." + extension;
+        if (file.isEmpty()) {
+            throw new StorageException("Failed to store empty file " + originalFilename);
+        }
 
+        Path tempFile = null;
         try {
-            if (file.isEmpty()) {
-                throw new StorageException("Failed to store empty file " + filename);
+            // Hash while copying to a temp file, then move it under its content address
+            tempFile = Files.createTempFile(fileStorageLocation, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            FlightEvents.StorageUpload upload = FlightEvents.StorageUpload.start();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                upload.record("local", originalFilename, file.getSize(), file.getContentType());
             }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
 
-            // Normalize file name
-            if (filename.contains("..")) {
-                throw new StorageException(
-                    "Cannot store file with relative path outside current directory "
-                    + filename);
+            Optional<String> existing = storedFiles.acquire(contentHash);
+            if (existing.isPresent()) {
+                log.debug("Upload matches stored file: {}", existing.get());
+                return imageBaseUrl + "/" + existing.get();
             }
 
+            // Generate filename with proper extension
+            String filename = contentHash + "." + extension.toLowerCase();
             Path targetLocation = fileStorageLocation.resolve(filename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            
-            String finalUrl = imageBaseUrl + "/" + filename;
-            log.debug("Stored file at: {}", targetLocation);
+            Files.move(tempFile, targetLocation, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            String registered = storedFiles.register(contentHash, filename, file.getContentType(), file.getSize());
+            if (!registered.equals(filename)) {
+                // Same bytes were registered under another extension meanwhile
+                Files.deleteIfExists(targetLocation);
+            }
+
+            String finalUrl = imageBaseUrl + "/" + registered;
+            log.debug("Stored file at: {}", fileStorageLocation.resolve(registered));
             log.debug("Generated URL: {}", finalUrl);
-            
+
             return finalUrl;
 
         } catch (IOException e) {
-            throw new StorageException("Failed to store file " + filename, e);
+            throw new StorageException("Failed to store file " + originalFilename, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("Failed to remove temp file {}", tempFile, e);
+                }
+            }
         }
     }
 
@@ -95,15 +134,96 @@ public class FileStorageServiceImpl implements FileStorageService {
         
         try {
             String filename = imageUrl.substring(imageUrl.lastIndexOf("/") + 1);
+            storedFiles.release(filename, () -> deleteWithVariants(filename));
+        } catch (Exception e) {
+            log.warn("Failed to delete file: {}", imageUrl, e);
+        }
+    }
+
+    private void deleteWithVariants(String filename) {
+        try {
             Path filePath = fileStorageLocation.resolve(filename);
-            
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
+            if (Files.deleteIfExists(filePath)) {
                 log.info("Deleted file: {}", filePath);
             }
+            for (ImageVariant variant : ImageVariant.values()) {
+                Files.deleteIfExists(fileStorageLocation.resolve(FileStorageService.variantName(filename, variant)));
+            }
         } catch (IOException e) {
-            log.warn("Failed to delete file: {}", imageUrl, e);
+            throw new StorageException("Failed to delete file " + filename, e);
+        }
+    }
+
+    @Override
+    public InputStream load(String imageUrl) {
+        try {
+            return Files.newInputStream(resolveStored(imageUrl));
+        } catch (IOException e) {
+            throw new StorageException("Failed to read file " + imageUrl, e);
+        }
+    }
+
+    @Override
+    public String storeVariant(String imageUrl, ImageVariant variant, byte[] content, String contentType) {
+        String filename = FileStorageService.variantName(resolveStored(imageUrl).getFileName().toString(), variant);
+        FlightEvents.StorageUpload upload = FlightEvents.StorageUpload.start();
+        try {
+            Files.write(fileStorageLocation.resolve(filename), content);
+            return imageBaseUrl + "/" + filename;
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file " + filename, e);
+        } finally {
+            upload.record("local", filename, content.length, contentType);
+        }
+    }
+
+    @Override
+    public void listStored(int pageSize, Consumer<List<StoredObject>> pageConsumer) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(fileStorageLocation)) {
+            List<StoredObject> page = new ArrayList<>(pageSize);
+            for (Path file : files) {
+                String filename = file.getFileName().toString();
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue; // deleted while listing
+                }
+                if (!attributes.isRegularFile() || filename.startsWith(".")) {
+                    continue;
+                }
+                page.add(new StoredObject(filename, attributes.lastModifiedTime().toInstant()));
+                if (page.size() == pageSize) {
+                    pageConsumer.accept(page);
+                    page = new ArrayList<>(pageSize);
+                }
+            }
+            if (!page.isEmpty()) {
+                pageConsumer.accept(page);
+            }
+        } catch (IOException e) {
+            throw new StorageException("Failed to list stored files", e);
+        }
+    }
+
+    @Override
+    public void deleteStored(String key) {
+        try {
+            Files.deleteIfExists(fileStorageLocation.resolve(key));
+        } catch (IOException e) {
+            throw new StorageException("Failed to delete file " + key, e);
+        }
+    }
+
+    private Path resolveStored(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(imageBaseUrl + "/")) {
+            throw new StorageException("Not a locally stored file: " + imageUrl);
+        }
+        String filename = imageUrl.substring(imageUrl.lastIndexOf("/") + 1);
+        if (filename.isEmpty() || filename.contains("..")) {
+            throw new StorageException("Invalid stored file name: " + imageUrl);
         }
+        return fileStorageLocation.resolve(filename);
     }
 
     private Optional<String> getFileExtension(String filename) {
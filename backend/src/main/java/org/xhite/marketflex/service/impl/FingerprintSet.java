@@ -0,0 +1,78 @@
+package org.xhite.marketflex.service.impl;
+
+/**
+ * Set of 64-bit string fingerprints in a single open-addressed {@code long[]}, about
+ * 16 bytes per entry against roughly 100 for a {@code HashSet<String>} of file names.
+ * Two strings may share a fingerprint, so {@link #contains} can report a false
+ * positive; callers must only use it where that errs on the safe side.
+ */
+final class FingerprintSet {
+
+    private static final int MIN_CAPACITY = 1024;
+
+    // Zero marks an empty slot; fingerprints are never zero
+    private long[] slots = new long[MIN_CAPACITY];
+    private int size;
+
+    void add(String value) {
+        if (size * 2 >= slots.length) {
+            grow();
+        }
+        if (insert(slots, fingerprint(value))) {
+            size++;
+        }
+    }
+
+    boolean contains(String value) {
+        long fingerprint = fingerprint(value);
+        int mask = slots.length - 1;
+        for (int i = (int) fingerprint & mask; slots[i] != 0; i = (i + 1) & mask) {
+            if (slots[i] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] larger = new long[slots.length * 2];
+        for (long fingerprint : slots) {
+            if (fingerprint != 0) {
+                insert(larger, fingerprint);
+            }
+        }
+        slots = larger;
+    }
+
+    private static boolean insert(long[] table, long fingerprint) {
+        int mask = table.length - 1;
+        int i = (int) fingerprint & mask;
+        while (table[i] != 0) {
+            if (table[i] == fingerprint) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        table[i] = fingerprint;
+        return true;
+    }
+
+    /** FNV-1a over the chars, finished with the murmur3 mixer so the low bits index well. */
+    static long fingerprint(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+}
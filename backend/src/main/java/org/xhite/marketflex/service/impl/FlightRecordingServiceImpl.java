@@ -0,0 +1,153 @@
+package org.xhite.marketflex.service.impl;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.xhite.marketflex.dto.FlightRecordingDto;
+import org.xhite.marketflex.exception.BusinessException;
+import org.xhite.marketflex.exception.ResourceNotFoundException;
+import org.xhite.marketflex.service.FlightRecordingService;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs flight recordings on demand with the JDK's {@code base-settings} (default or
+ * profile) plus the business events of {@code events-settings}. The recording is
+ * bounded in duration and size and stops by itself; it lives on this instance only.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlightRecordingServiceImpl implements FlightRecordingService {
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${app.recording.base-settings:default}")
+    private String baseSettings;
+
+    @Value("${app.recording.events-settings:classpath:jfr/marketflex.jfc}")
+    private String eventsSettings;
+
+    @Value("${app.recording.max-duration-minutes:30}")
+    private int maxDurationMinutes;
+
+    @Value("${app.recording.max-size-mb:250}")
+    private long maxSizeMb;
+
+    private Recording recording;
+
+    @Override
+    public synchronized FlightRecordingDto start(Integer durationMinutes) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new BusinessException("A flight recording is already running, stop or discard it first");
+        }
+        discardQuietly();
+        int minutes = durationMinutes == null ? maxDurationMinutes : Math.clamp(durationMinutes, 1, maxDurationMinutes);
+        Recording started = new Recording(settings());
+        started.setName("marketflex-" + Instant.now());
+        started.setToDisk(true);
+        started.setDuration(Duration.ofMinutes(minutes));
+        started.setMaxSize(maxSizeMb * 1024 * 1024);
+        started.start();
+        recording = started;
+        log.info("Started flight recording {} for {} minutes with {} and {}", started.getId(), minutes,
+            baseSettings, eventsSettings);
+        return toDto(started);
+    }
+
+    @Override
+    public synchronized FlightRecordingDto getCurrent() {
+        return toDto(current());
+    }
+
+    @Override
+    public synchronized FlightRecordingDto stop() {
+        Recording current = current();
+        if (current.getState() == RecordingState.RUNNING) {
+            current.stop();
+            log.info("Stopped flight recording {}", current.getId());
+        }
+        return toDto(current);
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        Path file = Files.createTempFile("marketflex-", ".jfr");
+        try {
+            // Dumped under the lock, streamed outside it: a download must not hold up stop or discard
+            synchronized (this) {
+                current().dump(file);
+            }
+            Files.copy(file, out);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public synchronized void discard() {
+        current();
+        discardQuietly();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        discardQuietly();
+    }
+
+    private Recording current() {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            throw new ResourceNotFoundException("No flight recording on this instance");
+        }
+        return recording;
+    }
+
+    private void discardQuietly() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Map<String, String> settings() {
+        try (Reader events = new InputStreamReader(resourceLoader.getResource(eventsSettings).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(baseSettings).getSettings());
+            settings.putAll(Configuration.create(events).getSettings());
+            return settings;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot read flight recorder settings " + baseSettings + ", " + eventsSettings, e);
+        }
+    }
+
+    private static FlightRecordingDto toDto(Recording recording) {
+        return FlightRecordingDto.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .stopTime(recording.getState() == RecordingState.STOPPED ? recording.getStopTime() : null)
+                .maxDurationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : null)
+                .maxSizeBytes(recording.getMaxSize())
+                .size(recording.getSize())
+                .build();
+    }
+}
@@ -1,55 +1,132 @@
 package org.xhite.marketflex.service.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.xhite.marketflex.config.FlightEvents;
+import org.xhite.marketflex.exception.StorageBusyException;
 import org.xhite.marketflex.exception.StorageException;
+import org.xhite.marketflex.model.enums.ImageVariant;
 import org.xhite.marketflex.service.FileStorageService;
 
+import com.google.api.gax.paging.Page;
+import com.google.cloud.NoCredentials;
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
 
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 @ConditionalOnProperty(name = "storage.type", havingValue = "gcs")
 public class GcsStorageService implements FileStorageService {
 
+    private final StoredFileReferences storedFiles;
+
+    // Every upload and its variants live under this prefix
+    private static final String OBJECT_PREFIX = "products/";
+
+    // Resumable upload chunks must be a multiple of 256 KiB
+    private static final int CHUNK_ALIGNMENT = 256 * 1024;
+
     @Value("${gcs.bucket-name}")
     private String bucketName;
 
     @Value("${gcs.project-id}")
     private String projectId;
 
-    private Storage storage;
-    
+    // Overrides the API host, e.g. for a local emulator
+    @Value("${gcs.endpoint:}")
+    private String endpoint;
+
+    @Value("${gcs.upload.chunk-size:262144}")
+    private int chunkSize;
+
+    @Value("${gcs.upload.max-concurrent:8}")
+    private int maxConcurrentUploads;
+
+    @Value("${gcs.upload.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs;
+
+    // Built on first use: loading the client and resolving credentials is slow and no request needs it at startup
+    private volatile Storage storage;
+
+    private String publicUrlPrefix;
+
+    // One chunk-sized buffer per upload slot; taking a buffer is what caps concurrency
+    private BlockingQueue<byte[]> uploadBuffers;
+
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp");
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
 
     @PostConstruct
     public void init() {
-        try {
-            this.storage = StorageOptions.newBuilder()
-                    .setProjectId(projectId)
-                    .build()
-                    .getService();
-            log.info("GCS Storage initialized for bucket: {} in project: {}", bucketName, projectId);
-        } catch (Exception e) {
-            throw new StorageException("Failed to initialize GCS storage", e);
+        if (chunkSize <= 0 || chunkSize % CHUNK_ALIGNMENT != 0) {
+            throw new StorageException("gcs.upload.chunk-size must be a positive multiple of " + CHUNK_ALIGNMENT);
+        }
+        String host = StringUtils.hasText(endpoint) ? StringUtils.trimTrailingCharacter(endpoint, '/')
+                : "https://storage.googleapis.com";
+        this.publicUrlPrefix = host + "/" + bucketName + "/";
+
+        this.uploadBuffers = new ArrayBlockingQueue<>(maxConcurrentUploads);
+        for (int i = 0; i < maxConcurrentUploads; i++) {
+            uploadBuffers.add(new byte[chunkSize]);
         }
     }
 
+    private Storage storage() {
+        Storage client = storage;
+        if (client == null) {
+            synchronized (this) {
+                client = storage;
+                if (client == null) {
+                    try {
+                        StorageOptions.Builder options = StorageOptions.newBuilder()
+                                .setProjectId(projectId);
+                        if (StringUtils.hasText(endpoint)) {
+                            options.setHost(endpoint)
+                                    .setCredentials(NoCredentials.getInstance());
+                        }
+                        client = options.build().getService();
+                        storage = client;
+                        log.info("GCS Storage initialized for bucket: {} in project: {}", bucketName, projectId);
+                    } catch (Exception e) {
+                        throw new StorageException("Failed to initialize GCS storage", e);
+                    }
+                }
+            }
+        }
+        return client;
+    }
+
     @Override
     public String store(MultipartFile file) {
         if (file.isEmpty()) {
@@ -68,25 +145,49 @@ public class GcsStorageService implements FileStorageService {
             throw new StorageException("Only " + String.join(", ", ALLOWED_EXTENSIONS) + " files are allowed");
         }
 
-        // Generate unique filename
-        String filename = "products/" + UUID.randomUUID().toString() + "." + extension;
-
+        byte[] buffer = acquireBuffer();
         try {
+            // Hash the spooled upload in its own pass rather than inside the upload stream as
+            // local storage does: a duplicate is only skipped if its hash is known before the
+            // session opens, and re-reading the spooled file is cheaper than re-sending it
+            String contentHash = sha256(file, buffer);
+            Optional<String> existing = storedFiles.acquire(contentHash);
+            if (existing.isPresent()) {
+                log.info("Upload matches stored content: {}", existing.get());
+                return publicUrlPrefix + existing.get();
+            }
+
+            // Content-addressed filename
+            String filename = OBJECT_PREFIX + contentHash + "." + extension.toLowerCase();
+
             BlobId blobId = BlobId.of(bucketName, filename);
             BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
                     .setContentType(file.getContentType())
                     .build();
 
-            storage.create(blobInfo, file.getBytes());
+            FlightEvents.StorageUpload event = FlightEvents.StorageUpload.start();
+            try (InputStream in = file.getInputStream()) {
+                String crc32c = upload(blobInfo, in, buffer);
+                verifyChecksum(blobId, crc32c);
+            } finally {
+                event.record("gcs", filename, file.getSize(), file.getContentType());
+            }
+
+            String registered = storedFiles.register(contentHash, filename, file.getContentType(), file.getSize());
+            if (!registered.equals(filename)) {
+                // Same bytes were registered under another extension meanwhile
+                storage().delete(blobId);
+            }
 
             // Generate public URL
-            String publicUrl = String.format("https://storage.googleapis.com/%s/%s", bucketName, filename);
+            String publicUrl = publicUrlPrefix + registered;
             log.info("Uploaded file to GCS: {}", publicUrl);
-            
-            return publicUrl;
 
+            return publicUrl;
         } catch (IOException e) {
             throw new StorageException("Failed to upload file to GCS", e);
+        } finally {
+            uploadBuffers.offer(buffer);
         }
     }
 
@@ -97,28 +198,156 @@ public class GcsStorageService implements FileStorageService {
         }
 
         // Only delete GCS files (those that match our bucket URL pattern)
-        String gcsPrefix = String.format("https://storage.googleapis.com/%s/", bucketName);
-        if (!imageUrl.startsWith(gcsPrefix)) {
+        if (!imageUrl.startsWith(publicUrlPrefix)) {
             log.debug("Skipping delete for non-GCS URL: {}", imageUrl);
             return;
         }
 
         try {
             // Extract blob name from URL
-            String blobName = imageUrl.substring(gcsPrefix.length());
-            BlobId blobId = BlobId.of(bucketName, blobName);
-            
-            boolean deleted = storage.delete(blobId);
-            if (deleted) {
-                log.info("Deleted file from GCS: {}", imageUrl);
-            } else {
-                log.warn("File not found in GCS: {}", imageUrl);
-            }
+            String blobName = imageUrl.substring(publicUrlPrefix.length());
+            storedFiles.release(blobName, () -> deleteWithVariants(blobName));
         } catch (Exception e) {
             log.warn("Failed to delete file from GCS: {}", imageUrl, e);
         }
     }
 
+    private void deleteWithVariants(String blobName) {
+        boolean deleted = storage().delete(BlobId.of(bucketName, blobName));
+        if (deleted) {
+            log.info("Deleted file from GCS: {}", blobName);
+        } else {
+            log.warn("File not found in GCS: {}", blobName);
+        }
+        for (ImageVariant variant : ImageVariant.values()) {
+            storage().delete(BlobId.of(bucketName, FileStorageService.variantName(blobName, variant)));
+        }
+    }
+
+    @Override
+    public InputStream load(String imageUrl) {
+        ReadChannel reader = storage().reader(BlobId.of(bucketName, blobName(imageUrl)));
+        reader.setChunkSize(chunkSize);
+        return Channels.newInputStream(reader);
+    }
+
+    @Override
+    public String storeVariant(String imageUrl, ImageVariant variant, byte[] content, String contentType) {
+        String filename = FileStorageService.variantName(blobName(imageUrl), variant);
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, filename))
+                .setContentType(contentType)
+                .build();
+        // Variants are a few dozen KB, small enough for a single-request upload
+        FlightEvents.StorageUpload event = FlightEvents.StorageUpload.start();
+        try {
+            storage().create(blobInfo, content);
+        } finally {
+            event.record("gcs", filename, content.length, contentType);
+        }
+        return publicUrlPrefix + filename;
+    }
+
+    @Override
+    public void listStored(int pageSize, Consumer<List<StoredObject>> pageConsumer) {
+        Page<Blob> page = storage().list(bucketName,
+                Storage.BlobListOption.prefix(OBJECT_PREFIX),
+                Storage.BlobListOption.pageSize(pageSize),
+                Storage.BlobListOption.fields(Storage.BlobField.NAME, Storage.BlobField.UPDATED));
+        while (page != null) {
+            List<StoredObject> objects = new ArrayList<>(pageSize);
+            for (Blob blob : page.getValues()) {
+                objects.add(new StoredObject(blob.getName(), blob.getUpdateTimeOffsetDateTime().toInstant()));
+            }
+            pageConsumer.accept(objects);
+            page = page.hasNextPage() ? page.getNextPage() : null;
+        }
+    }
+
+    @Override
+    public void deleteStored(String key) {
+        storage().delete(BlobId.of(bucketName, key));
+    }
+
+    private String blobName(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(publicUrlPrefix)) {
+            throw new StorageException("Not a GCS file of this bucket: " + imageUrl);
+        }
+        return imageUrl.substring(publicUrlPrefix.length());
+    }
+
+    private static String sha256(MultipartFile file, byte[] buffer) throws IOException {
+        MessageDigest digest = newSha256();
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private byte[] acquireBuffer() {
+        try {
+            byte[] buffer = uploadBuffers.poll(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            if (buffer == null) {
+                throw new StorageBusyException("All " + maxConcurrentUploads + " upload slots are in use");
+            }
+            return buffer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("Interrupted while waiting for an upload slot", e);
+        }
+    }
+
+    /**
+     * Streams the upload through a resumable session one chunk at a time, so heap use
+     * is bounded by the buffer instead of the file size. Full chunks are handed to the
+     * channel as-is, which lets it send them without copying into its own buffer.
+     *
+     * @return the base64 encoded CRC32C of the bytes sent, as GCS reports it
+     */
+    private String upload(BlobInfo blobInfo, InputStream in, byte[] buffer) throws IOException {
+        CRC32C crc32c = new CRC32C();
+        ByteBuffer chunk = ByteBuffer.wrap(buffer);
+
+        // Not try-with-resources: closing finalizes the object, so a failed read must
+        // abandon the session instead of committing a truncated file
+        WriteChannel writer = storage().writer(blobInfo);
+        writer.setChunkSize(chunkSize);
+
+        int read;
+        while ((read = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+            crc32c.update(buffer, 0, read);
+            chunk.clear().limit(read);
+            while (chunk.hasRemaining()) {
+                writer.write(chunk);
+            }
+        }
+        writer.close();
+
+        int value = (int) crc32c.getValue();
+        byte[] bigEndian = { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value };
+        return Base64.getEncoder().encodeToString(bigEndian);
+    }
+
+    private void verifyChecksum(BlobId blobId, String expectedCrc32c) {
+        Blob stored = storage().get(blobId, Storage.BlobGetOption.fields(Storage.BlobField.CRC32C));
+        if (stored == null || !expectedCrc32c.equals(stored.getCrc32c())) {
+            log.error("Checksum mismatch for {}: sent {}, stored {}", blobId.getName(), expectedCrc32c,
+                    stored == null ? null : stored.getCrc32c());
+            storage().delete(blobId);
+            throw new StorageException("Uploaded file failed checksum validation");
+        }
+    }
+
     private Optional<String> getFileExtension(String filename) {
         return Optional.ofNullable(filename)
                 .filter(f -> f.contains("."))
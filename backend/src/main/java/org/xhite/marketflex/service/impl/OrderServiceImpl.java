@@ -2,14 +2,21 @@ package org.xhite.marketflex.service.impl;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.config.Bulkhead;
+import org.xhite.marketflex.config.FlightEvents;
 import org.xhite.marketflex.dto.CartDto;
 import org.xhite.marketflex.dto.CartItemDto;
 import org.xhite.marketflex.dto.CreateOrderRequest;
 import org.xhite.marketflex.dto.OrderDto;
+import org.xhite.marketflex.event.OrderPlacedEvent;
+import org.xhite.marketflex.event.OrderStatusChangedEvent;
 import org.xhite.marketflex.exception.AccessDeniedException;
 import org.xhite.marketflex.exception.BusinessException;
 import org.xhite.marketflex.exception.InsufficientStockException;
@@ -20,6 +27,8 @@ import org.xhite.marketflex.model.Order;
 import org.xhite.marketflex.model.OrderItem;
 import org.xhite.marketflex.model.Product;
 import org.xhite.marketflex.model.enums.OrderStatus;
+import org.xhite.marketflex.repository.Fieldset;
+import org.xhite.marketflex.repository.FieldsetRepository;
 import org.xhite.marketflex.repository.OrderRepository;
 import org.xhite.marketflex.repository.ProductRepository;
 import org.xhite.marketflex.service.CartService;
@@ -27,26 +36,41 @@ import org.xhite.marketflex.service.OrderService;
 import org.xhite.marketflex.service.ProductService;
 import org.xhite.marketflex.service.UserService;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Transactional
+@Bulkhead(Bulkhead.CHECKOUT)
 @RequiredArgsConstructor
 @Slf4j
 public class OrderServiceImpl implements OrderService {
 
+    private static final Fieldset<Order> FIELDS = Fieldset.of(Order.class)
+            .field("totalPrice")
+            .field("status")
+            .field("shippingAddress")
+            .field("paymentMethod")
+            .field("createdAt")
+            .field("updatedAt")
+            .build();
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final CartService cartService;
     private final ProductService productService;
     private final UserService userService;
     private final OrderMapper orderMapper;
+    private final FieldsetRepository fieldsetRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     @Transactional
+    @Timed(value = "orders.checkout", histogram = true)
     public OrderDto createOrder(CreateOrderRequest request) {
         log.info("Creating order for current user");
+        FlightEvents.CheckoutPhase phase = FlightEvents.CheckoutPhase.start("validate");
 
         // Step 1: Get current user
         AppUser user = userService.getCurrentUser();
@@ -72,6 +96,8 @@ public class OrderServiceImpl implements OrderService {
             }
         }
 
+        phase.record(user.getId(), 0, cart.cartItems().size());
+
         // Step 5: Calculate total price
         BigDecimal totalPrice = cart.cartItems().stream()
                 .map(item -> item.product().price().multiply(BigDecimal.valueOf(item.quantity())))
@@ -87,6 +113,7 @@ public class OrderServiceImpl implements OrderService {
                 .build();
 
         // Step 7: Create order items and update stock
+        phase = FlightEvents.CheckoutPhase.start("lock");
         for (CartItemDto cartItem : cart.cartItems()) {
             Long productId = cartItem.product().id();
             Integer quantity = cartItem.quantity();
@@ -109,12 +136,21 @@ public class OrderServiceImpl implements OrderService {
             productService.updateStock(productId, -quantity);
         }
 
+        phase.record(user.getId(), 0, cart.cartItems().size());
+
         // Save order (cascades to order items)
+        phase = FlightEvents.CheckoutPhase.start("insert");
         Order savedOrder = orderRepository.save(order);
         log.info("Order created successfully with ID: {}", savedOrder.getId());
+        applicationEventPublisher.publishEvent(new OrderPlacedEvent(
+                savedOrder.getId(), user.getId(), totalPrice, savedOrder.getOrderItems().size()));
+
+        phase.record(user.getId(), savedOrder.getId(), savedOrder.getOrderItems().size());
 
         // Step 8: Clear the user's cart
+        phase = FlightEvents.CheckoutPhase.start("clear-cart");
         cartService.clearCart();
+        phase.record(user.getId(), savedOrder.getId(), savedOrder.getOrderItems().size());
         log.debug("Cart cleared for user: {}", user.getId());
 
         // Step 9: Return OrderDto
@@ -132,6 +168,15 @@ public class OrderServiceImpl implements OrderService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getOrdersForCurrentUser(String fields) {
+        AppUser user = userService.getCurrentUser();
+        return fieldsetRepository.findAll(FIELDS, FIELDS.pick(fields),
+                (root, query, cb) -> cb.equal(root.get("user").get("id"), user.getId()),
+                Sort.by(Sort.Direction.DESC, "createdAt"));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderDto getOrderById(Long id) {
@@ -180,6 +225,8 @@ public class OrderServiceImpl implements OrderService {
         // Update order status to CANCELLED
         order.setStatus(OrderStatus.CANCELLED);
         Order savedOrder = orderRepository.save(order);
+        applicationEventPublisher.publishEvent(
+                new OrderStatusChangedEvent(id, OrderStatus.PENDING, OrderStatus.CANCELLED));
         
         log.info("Order {} cancelled by user {}", id, user.getEmail());
         return orderMapper.toDto(savedOrder);
@@ -0,0 +1,173 @@
+package org.xhite.marketflex.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.xhite.marketflex.repository.CategoryRepository;
+import org.xhite.marketflex.repository.ProductRepository;
+import org.xhite.marketflex.service.FileStorageService;
+import org.xhite.marketflex.service.FileStorageService.StoredObject;
+import org.xhite.marketflex.service.OrphanedImageCollector;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mark and sweep over uploaded images. The mark phase streams every image URL from
+ * products and categories into a {@link FingerprintSet}; the sweep lists storage a
+ * page at a time and deletes what is unmarked and older than the grace period, each
+ * page in parallel before the next is fetched.
+ *
+ * <p>Objects are matched on file name, which is unique across both backends. A
+ * fingerprint collision can only keep an orphan, never delete a live image.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrphanedImageCollectorImpl implements OrphanedImageCollector {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final FileStorageService storageService;
+    private final StoredFileReferences storedFiles;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.images.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.images.gc.dry-run:true}")
+    private boolean dryRun;
+
+    @Value("${app.images.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    @Value("${app.images.gc.page-size:1000}")
+    private int pageSize;
+
+    // Each worker holds a database connection while it deletes
+    @Value("${app.images.gc.parallelism:4}")
+    private int parallelism;
+
+    private final AtomicInteger lastReferenced = new AtomicInteger();
+
+    private Counter scannedCounter;
+    private Counter orphanedCounter;
+    private Counter deletedCounter;
+    private Counter failedCounter;
+    private Timer runTimer;
+
+    @PostConstruct
+    public void init() {
+        scannedCounter = meterRegistry.counter("images.gc.scanned");
+        orphanedCounter = meterRegistry.counter("images.gc.orphaned");
+        deletedCounter = meterRegistry.counter("images.gc.deleted");
+        failedCounter = meterRegistry.counter("images.gc.failed");
+        runTimer = meterRegistry.timer("images.gc.duration");
+        meterRegistry.gauge("images.gc.referenced", lastReferenced);
+    }
+
+    @Scheduled(cron = "${app.images.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        if (enabled) {
+            collect(dryRun);
+        }
+    }
+
+    @Override
+    public Result collect(boolean dryRun) {
+        return runTimer.record(() -> run(dryRun));
+    }
+
+    private Result run(boolean dryRun) {
+        // Taken before marking: anything written after this is young enough to keep
+        Instant cutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+        FingerprintSet referenced = markReferenced();
+        lastReferenced.set(referenced.size());
+
+        AtomicLong scanned = new AtomicLong();
+        AtomicLong orphaned = new AtomicLong();
+        AtomicLong deleted = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(parallelism,
+                new CustomizableThreadFactory("image-gc-"))) {
+            storageService.listStored(pageSize, page -> {
+                scanned.addAndGet(page.size());
+                scannedCounter.increment(page.size());
+                List<StoredObject> orphans = page.stream()
+                        .filter(object -> object.lastModified().isBefore(cutoff))
+                        .filter(object -> !referenced.contains(fileName(object.key())))
+                        .toList();
+                orphaned.addAndGet(orphans.size());
+                orphanedCounter.increment(orphans.size());
+
+                if (dryRun) {
+                    orphans.forEach(object -> log.info("Dry run, would delete orphaned image {}", object.key()));
+                    return;
+                }
+                CompletableFuture.allOf(orphans.stream()
+                        .map(object -> CompletableFuture.runAsync(
+                                () -> sweep(object, cutoff, deleted, failed), workers))
+                        .toArray(CompletableFuture[]::new))
+                    .join();
+            });
+        }
+
+        Result result = new Result(referenced.size(), scanned.get(), orphaned.get(), deleted.get(), failed.get(),
+                dryRun);
+        log.info("Image garbage collection finished: {}", result);
+        return result;
+    }
+
+    private FingerprintSet markReferenced() {
+        FingerprintSet referenced = new FingerprintSet();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        // Streaming results need the connection held open for the whole read
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<String> urls = productRepository.streamImageUrls()) {
+                urls.forEach(url -> referenced.add(fileName(url)));
+            }
+            try (Stream<String> urls = categoryRepository.streamImageUrls()) {
+                urls.forEach(url -> referenced.add(fileName(url)));
+            }
+        });
+        return referenced;
+    }
+
+    private void sweep(StoredObject object, Instant cutoff, AtomicLong deleted, AtomicLong failed) {
+        try {
+            if (storedFiles.sweep(object.key(), cutoff, () -> storageService.deleteStored(object.key()))) {
+                deleted.incrementAndGet();
+                deletedCounter.increment();
+                log.info("Deleted orphaned image {}", object.key());
+            }
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            failedCounter.increment();
+            log.warn("Failed to delete orphaned image {}", object.key(), e);
+        }
+    }
+
+    private static String fileName(String urlOrKey) {
+        return urlOrKey.substring(urlOrKey.lastIndexOf('/') + 1);
+    }
+}
@@ -2,13 +2,24 @@ package org.xhite.marketflex.service.impl;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.config.Bulkhead;
+import org.xhite.marketflex.config.CacheNames;
+import org.xhite.marketflex.config.CacheReloader;
+import org.xhite.marketflex.config.FlightEvents;
 import org.xhite.marketflex.dto.ProductDto;
+import org.xhite.marketflex.event.ImageStoredEvent;
+import org.xhite.marketflex.event.ProductStockChangedEvent;
+import org.xhite.marketflex.exception.InsufficientStockException;
 import org.xhite.marketflex.exception.ResourceNotFoundException;
 import org.xhite.marketflex.mapper.ProductMapper;
 import org.xhite.marketflex.model.AppUser;
@@ -16,12 +27,15 @@ import org.xhite.marketflex.model.Category;
 import org.xhite.marketflex.model.Product;
 import org.xhite.marketflex.model.enums.Role;
 import org.xhite.marketflex.repository.CategoryRepository;
+import org.xhite.marketflex.repository.Fieldset;
+import org.xhite.marketflex.repository.FieldsetRepository;
 import org.xhite.marketflex.repository.ProductRepository;
 import org.xhite.marketflex.repository.VendorRepository;
 import org.xhite.marketflex.service.ProductService;
 import org.xhite.marketflex.service.UserService;
 import org.springframework.security.access.AccessDeniedException;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,15 +43,35 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ProductServiceImpl implements ProductService {
+public class ProductServiceImpl implements ProductService, CacheReloader {
+
+    /** The fields of {@link ProductDto}, read the way {@link #convertToDto} reads them. */
+    private static final Fieldset<Product> FIELDS = Fieldset.of(Product.class)
+            .field("name")
+            .field("description")
+            .field("price")
+            .field("stockQuantity")
+            .field("categoryId", "category.id")
+            .field("imageUrl")
+            .field("thumbnailUrl", variantOrOriginal("thumbnailUrl"))
+            .field("cardImageUrl", variantOrOriginal("cardImageUrl"))
+            .field("detailImageUrl", variantOrOriginal("detailImageUrl"))
+            .field("categoryName", "category.name")
+            .field("active")
+            .field("vendorId", "vendor.id")
+            .field("vendorStoreName", "vendor.storeName")
+            .build();
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
     private final UserService userService;
     private final VendorRepository vendorRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final FieldsetRepository fieldsetRepository;
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
     public List<ProductDto> getAllProducts() {
         List<Product> products = productRepository.findAvailableProducts();
@@ -47,6 +81,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
     public List<ProductDto> getProductsByCategory(Long categoryId) {
         List<Product> products = productRepository.findAvailableProductsByCategoryId(categoryId);
@@ -56,6 +91,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
     public Optional<ProductDto> getProductById(Long id) {
         return productRepository.findByIdAndActiveTrue(id)
@@ -63,7 +99,9 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, allEntries = true)
     public ProductDto createProduct(@Valid ProductDto productDto) {
         log.info("Creating new product: {}", productDto.name());
 
@@ -79,18 +117,23 @@ public class ProductServiceImpl implements ProductService {
         var vendor = vendors.get(0);
 
         Product product = new Product();
-        updateProductFromDto(product, productDto, category);
+        boolean imageChanged = updateProductFromDto(product, productDto, category);
         product.setVendor(vendor);
         product.setActive(true);
 
         Product savedProduct = productRepository.save(product);
         log.info("Created new product with ID: {} by vendor: {}", savedProduct.getId(), vendor.getStoreName());
+        if (imageChanged) {
+            publishImageStored(savedProduct);
+        }
 
         return convertToDto(savedProduct);
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, allEntries = true)
     public ProductDto updateProduct(Long id, @Valid ProductDto productDto) {
         log.info("Updating product with ID: {}", id);
 
@@ -107,16 +150,21 @@ public class ProductServiceImpl implements ProductService {
         Category category = categoryRepository.findById(productDto.categoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + productDto.categoryId()));
 
-        updateProductFromDto(existingProduct, productDto, category);
+        boolean imageChanged = updateProductFromDto(existingProduct, productDto, category);
         existingProduct.setActive(active);
         Product updatedProduct = productRepository.save(existingProduct);
         log.info("Updated product: {} by user: {}", updatedProduct.getName(), currentUser.getEmail());
+        if (imageChanged) {
+            publishImageStored(updatedProduct);
+        }
 
         return convertToDto(updatedProduct);
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.PRODUCTS, allEntries = true)
     public void deleteProduct(Long id) {
         AppUser currentUser = userService.getCurrentUser();
         Product product = productRepository.findById(id)
@@ -134,8 +182,26 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.PRODUCTS, sync = true)
     public List<ProductDto> getFeaturedProducts(int limit) {
+        return loadFeaturedProducts(limit);
+    }
+
+    @Override
+    public String cacheName() {
+        return CacheNames.PRODUCTS;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Object reload(Object key) {
+        // The only entries in this cache are featured lists keyed by their limit
+        return loadFeaturedProducts((Integer) key);
+    }
+
+    private List<ProductDto> loadFeaturedProducts(int limit) {
         return productRepository.findByActiveTrueOrderByCreatedAtDesc(PageRequest.of(0, limit))
                 .stream()
                 .map(this::convertToDto)
@@ -152,34 +218,59 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional
+    @Timed(value = "products.stock.update", histogram = true)
     public void updateStock(Long id, int quantity) {
+        FlightEvents.StockDecrement decrement = FlightEvents.StockDecrement.start();
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
         int newStock = product.getStockQuantity() - quantity;
         if (newStock < 0) {
-            throw new IllegalStateException("Insufficient stock for product: " + product.getName());
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
         }
 
         product.setStockQuantity(newStock);
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
         log.info("Updated stock for product: {}, new stock: {}", product.getName(), newStock);
+        decrement.record(product.getId(), quantity, newStock);
+        publishStockChanged(product);
     }
 
-    private void updateProductFromDto(Product product, ProductDto dto, Category category) {
+    /**
+     * @return true if the product got a new image whose variants still have to be generated
+     */
+    private boolean updateProductFromDto(Product product, ProductDto dto, Category category) {
         product.setName(dto.name());
         product.setDescription(dto.description());
         product.setPrice(dto.price());
         product.setStockQuantity(dto.stockQuantity());
         product.setCategory(category);
-        if (dto.imageUrl() != null && !dto.imageUrl().isEmpty()) {
+        boolean imageChanged = false;
+        if (dto.imageUrl() != null && !dto.imageUrl().isEmpty() && !dto.imageUrl().equals(product.getImageUrl())) {
             product.setImageUrl(dto.imageUrl());
+            // Variants of the previous image no longer apply; readers fall back to the original
+            product.setThumbnailUrl(null);
+            product.setCardImageUrl(null);
+            product.setDetailImageUrl(null);
+            imageChanged = true;
         }
         // Handle null active - default to keeping current value or true
         if (dto.active() != null) {
             product.setActive(dto.active());
         }
+        return imageChanged;
+    }
+
+    private void publishStockChanged(Product product) {
+        applicationEventPublisher.publishEvent(new ProductStockChangedEvent(product.getId(),
+            product.getVendor() != null ? product.getVendor().getId() : null,
+            product.getName(), product.getStockQuantity()));
+    }
+
+    private void publishImageStored(Product product) {
+        applicationEventPublisher.publishEvent(
+            new ImageStoredEvent(ImageStoredEvent.Owner.PRODUCT, product.getId(), product.getImageUrl()));
     }
 
     @Override
@@ -193,12 +284,23 @@ public class ProductServiceImpl implements ProductService {
                 .categoryId(product.getCategory().getId())
                 .categoryName(product.getCategory().getName())
                 .imageUrl(product.getImageUrl())
+                .thumbnailUrl(variantOrOriginal(product.getThumbnailUrl(), product.getImageUrl()))
+                .cardImageUrl(variantOrOriginal(product.getCardImageUrl(), product.getImageUrl()))
+                .detailImageUrl(variantOrOriginal(product.getDetailImageUrl(), product.getImageUrl()))
                 .active(product.isActive())
                 .vendorId(product.getVendor() != null ? product.getVendor().getId() : null)
                 .vendorStoreName(product.getVendor() != null ? product.getVendor().getStoreName() : null)
                 .build();
     }
 
+    private static String variantOrOriginal(String variantUrl, String originalUrl) {
+        return variantUrl != null ? variantUrl : originalUrl;
+    }
+
+    private static Fieldset.Column<Product> variantOrOriginal(String variantAttribute) {
+        return (root, cb) -> cb.coalesce(root.<String>get(variantAttribute), root.<String>get("imageUrl"));
+    }
+
     @Override
     public Product convertToEntity(ProductDto productDto) {
         Product product = new Product();
@@ -219,22 +321,27 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Timed(value = "products.stock.update", histogram = true)
     public void updateStock(Long productId, Integer quantity) {
+        FlightEvents.StockDecrement decrement = FlightEvents.StockDecrement.start();
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
         int newStock = product.getStockQuantity() - quantity;
         if (newStock < 0) {
-            throw new IllegalStateException("Insufficient stock for product: " + product.getName());
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
         }
 
         product.setStockQuantity(newStock);
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
         log.info("Updated stock for product: {}, new stock: {}", product.getName(), newStock);
+        decrement.record(product.getId(), quantity, newStock);
+        publishStockChanged(product);
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
     public List<ProductDto> getProductsByVendor(Long vendorId) {
         return productRepository.findByVendorIdAndActiveTrue(vendorId)
@@ -244,6 +351,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional(readOnly = true)
     public List<ProductDto> getMyProducts() {
         AppUser currentUser = userService.getCurrentUser();
@@ -256,22 +364,14 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
+    @Timed(value = "products.filter", histogram = true)
     public org.xhite.marketflex.dto.PagedResponse<ProductDto> filterProducts(org.xhite.marketflex.dto.ProductFilterRequest request) {
         org.springframework.data.jpa.domain.Specification<Product> spec = buildSpecification(request);
         
-        // Build sort
-        org.springframework.data.domain.Sort sort = buildSort(request.sortBy());
-        
-        // Build pageable
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(
-            request.page(), 
-            request.size(), 
-            sort
-        );
-        
         // Execute query
-        org.springframework.data.domain.Page<Product> page = productRepository.findAll(spec, pageable);
+        org.springframework.data.domain.Page<Product> page = productRepository.findAll(spec, buildPageable(request));
         
         // Convert to DTOs
         List<ProductDto> content = page.getContent().stream()
@@ -281,6 +381,52 @@ public class ProductServiceImpl implements ProductService {
         return org.xhite.marketflex.dto.PagedResponse.of(content, request.page(), request.size(), page.getTotalElements());
     }
     
+    @Override
+    @Bulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
+    @Timed(value = "products.filter", histogram = true)
+    public org.xhite.marketflex.dto.PagedResponse<Map<String, Object>> filterProducts(
+            org.xhite.marketflex.dto.ProductFilterRequest request, String fields) {
+        org.springframework.data.jpa.domain.Specification<Product> spec = buildSpecification(request);
+        List<Map<String, Object>> content = fieldsetRepository.findAll(
+                FIELDS, FIELDS.pick(fields), spec, buildPageable(request));
+        return org.xhite.marketflex.dto.PagedResponse.of(content, request.page(), request.size(), productRepository.count(spec));
+    }
+
+    @Override
+    @Bulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getProducts(Long categoryId, String fields) {
+        // Same rows as findAvailableProducts and findAvailableProductsByCategoryId
+        org.springframework.data.jpa.domain.Specification<Product> spec = (root, query, cb) -> cb.and(
+                cb.isTrue(root.get("active")),
+                cb.greaterThan(root.get("stockQuantity"), 0),
+                categoryId != null ? cb.equal(root.get("category").get("id"), categoryId) : cb.conjunction());
+        return fieldsetRepository.findAll(FIELDS, FIELDS.pick(fields), spec, org.springframework.data.domain.Sort.unsorted());
+    }
+
+    @Override
+    @Bulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getProductsByVendor(Long vendorId, String fields) {
+        org.springframework.data.jpa.domain.Specification<Product> spec = (root, query, cb) -> cb.and(
+                cb.equal(root.get("vendor").get("id"), vendorId),
+                cb.isTrue(root.get("active")));
+        return fieldsetRepository.findAll(FIELDS, FIELDS.pick(fields), spec, org.springframework.data.domain.Sort.unsorted());
+    }
+
+    @Override
+    public List<Map<String, Object>> retainFields(List<ProductDto> products, String fields) {
+        List<String> picked = FIELDS.pick(fields);
+        return products.stream()
+                .map(product -> Fieldset.retain(product, picked))
+                .toList();
+    }
+
+    private org.springframework.data.domain.Pageable buildPageable(org.xhite.marketflex.dto.ProductFilterRequest request) {
+        return org.springframework.data.domain.PageRequest.of(request.page(), request.size(), buildSort(request.sortBy()));
+    }
+    
     private org.springframework.data.jpa.domain.Specification<Product> buildSpecification(org.xhite.marketflex.dto.ProductFilterRequest request) {
         return (root, query, cb) -> {
             List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
@@ -0,0 +1,232 @@
+package org.xhite.marketflex.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.dto.TokenPair;
+import org.xhite.marketflex.exception.UnauthorizedException;
+import org.xhite.marketflex.model.AppUser;
+import org.xhite.marketflex.model.RefreshToken;
+import org.xhite.marketflex.repository.RefreshTokenRepository;
+import org.xhite.marketflex.repository.UserRepository;
+import org.xhite.marketflex.security.JwtTokenProvider;
+import org.xhite.marketflex.security.LoginAttemptTracker;
+import org.xhite.marketflex.security.RefreshTokenIndex;
+import org.xhite.marketflex.security.RefreshTokenIndex.Entry;
+import org.xhite.marketflex.security.RefreshTokenIndex.Family;
+import org.xhite.marketflex.security.RefreshTokenIndex.TokenHash;
+import org.xhite.marketflex.service.RefreshTokenService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenIndex refreshTokenIndex;
+    private final JwtTokenProvider tokenProvider;
+    private final UserRepository userRepository;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.jwt.refresh-expiration-ms}")
+    private long refreshExpirationMs;
+
+    @Value("${app.jwt.refresh-family-max-age-ms:2592000000}")
+    private long familyMaxAgeMs;
+
+    @Value("${app.jwt.refresh-cleanup-batch-size:500}")
+    private int cleanupBatchSize;
+
+    @Override
+    @Transactional
+    public String issue(AppUser user) {
+        String rawToken = newRawToken();
+        byte[] digest = digest(rawToken);
+        long now = System.currentTimeMillis();
+        long familyExpiresAt = now + Math.max(familyMaxAgeMs, refreshExpirationMs);
+        long expiresAt = now + refreshExpirationMs;
+        UUID familyId = UUID.randomUUID();
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(HexFormat.of().formatHex(digest))
+                .user(user)
+                .familyId(familyId)
+                .expiresAt(toLocalDateTime(expiresAt))
+                .familyExpiresAt(toLocalDateTime(familyExpiresAt))
+                .build());
+
+        Family family = refreshTokenIndex.family(familyId, familyExpiresAt, false);
+        refreshTokenIndex.put(TokenHash.of(digest), new Entry(user.getEmail(), family, expiresAt, false));
+        log.debug("Issued refresh token family {} for user: {}", familyId, user.getEmail());
+        return rawToken;
+    }
+
+    @Override
+    public TokenPair rotate(String rawToken) {
+        byte[] digest = digest(rawToken);
+        TokenHash hash = TokenHash.of(digest);
+        long now = System.currentTimeMillis();
+
+        Entry entry = refreshTokenIndex.get(hash);
+        if (entry == null) {
+            // Not seen by this instance (restart or issued elsewhere), fall back to the table
+            entry = loadEntry(digest);
+            refreshTokenIndex.put(hash, entry);
+        }
+
+        if (entry.isExpired(now)) {
+            throw new UnauthorizedException("Refresh token expired");
+        }
+        Family family = entry.family();
+        if (family.isRevoked()) {
+            throw new UnauthorizedException("Refresh token revoked");
+        }
+        if (entry.rotated()) {
+            revokeFamily(family.id(), entry.email());
+            throw new UnauthorizedException("Refresh token reuse detected");
+        }
+
+        if (loginAttemptTracker.isLocked(entry.email())) {
+            throw revokeForAccount(family.id(), entry.email());
+        }
+
+        String newRawToken = newRawToken();
+        byte[] newDigest = digest(newRawToken);
+        // The repository caps it the same way, so the index and the row agree
+        long expiresAt = Math.min(now + refreshExpirationMs, family.expiresAtMillis());
+
+        // One statement rotates the token and reads the user's roles and account state as they are now
+        String roles = refreshTokenRepository.rotate(
+                HexFormat.of().formatHex(digest),
+                HexFormat.of().formatHex(newDigest),
+                toLocalDateTime(expiresAt))
+                .orElse(null);
+        if (roles == null) {
+            // Only on failure is it worth a read to tell a disabled account from a lost race
+            if (userRepository.findByEmail(entry.email()).filter(AppUser::isEnabled)
+                    .filter(AppUser::isAccountNonLocked).isEmpty()) {
+                throw revokeForAccount(family.id(), entry.email());
+            }
+            // Another request or instance rotated this token first
+            revokeFamily(family.id(), entry.email());
+            throw new UnauthorizedException("Refresh token reuse detected");
+        }
+
+        refreshTokenIndex.markRotated(hash);
+        refreshTokenIndex.put(TokenHash.of(newDigest), new Entry(entry.email(), family, expiresAt, false));
+
+        return TokenPair.builder()
+                .accessToken(tokenProvider.generateToken(entry.email(), roleClaims(roles)))
+                .refreshToken(newRawToken)
+                .email(entry.email())
+                .build();
+    }
+
+    @Override
+    public void revoke(String rawToken) {
+        byte[] digest = digest(rawToken);
+        Entry entry = refreshTokenIndex.get(TokenHash.of(digest));
+        UUID familyId = entry != null
+                ? entry.family().id()
+                : refreshTokenRepository.findByTokenHashWithUser(HexFormat.of().formatHex(digest))
+                        .map(RefreshToken::getFamilyId)
+                        .orElse(null);
+        if (familyId == null) {
+            return;
+        }
+        refreshTokenRepository.revokeFamily(familyId);
+        refreshTokenIndex.revokeFamily(familyId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-interval-ms:3600000}")
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(cutoff, cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+
+        int evicted = refreshTokenIndex.evictExpired();
+        if (total > 0 || evicted > 0) {
+            log.info("Purged {} expired refresh tokens, evicted {} index entries", total, evicted);
+        }
+        return total;
+    }
+
+    private Entry loadEntry(byte[] digest) {
+        RefreshToken token = refreshTokenRepository.findByTokenHashWithUser(HexFormat.of().formatHex(digest))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        Family family = refreshTokenIndex.family(token.getFamilyId(), toEpochMillis(token.getFamilyExpiresAt()),
+                token.isRevoked());
+        return new Entry(
+                token.getUser().getEmail(),
+                family,
+                toEpochMillis(token.getExpiresAt()),
+                token.getRotatedAt() != null);
+    }
+
+    private UnauthorizedException revokeForAccount(UUID familyId, String email) {
+        log.info("Refresh for disabled or locked user: {}, revoking family {}", email, familyId);
+        refreshTokenRepository.revokeFamily(familyId);
+        refreshTokenIndex.revokeFamily(familyId);
+        return new UnauthorizedException("Account is disabled or locked");
+    }
+
+    private void revokeFamily(UUID familyId, String email) {
+        log.warn("Refresh token reuse detected for user: {}, revoking family {}", email, familyId);
+        refreshTokenRepository.revokeFamily(familyId);
+        refreshTokenIndex.revokeFamily(familyId);
+    }
+
+    private static List<String> roleClaims(String roles) {
+        return Arrays.stream(roles.split(","))
+                .filter(role -> !role.isEmpty())
+                .map(role -> "ROLE_" + role)
+                .toList();
+    }
+
+    private String newRawToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] digest(String rawToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
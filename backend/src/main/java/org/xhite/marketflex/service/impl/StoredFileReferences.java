@@ -0,0 +1,97 @@
+package org.xhite.marketflex.service.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.model.StoredFile;
+import org.xhite.marketflex.repository.StoredFileRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reference counts for content-addressed uploads, shared by the storage backends.
+ * Every successful {@code store} holds one reference and every {@code delete} gives
+ * one back; the object itself is removed with the last reference.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoredFileReferences {
+
+    private final StoredFileRepository storedFileRepository;
+
+    /**
+     * Takes a reference on content that is already stored.
+     *
+     * @return the key the content is stored under, or empty if it has to be written
+     */
+    @Transactional
+    public Optional<String> acquire(String contentHash) {
+        if (storedFileRepository.incrementReferences(contentHash) == 0) {
+            return Optional.empty();
+        }
+        return storedFileRepository.findById(contentHash).map(StoredFile::getObjectKey);
+    }
+
+    /**
+     * Records content that was just written under {@code objectKey}, holding one reference.
+     *
+     * @return the key the content is registered under; differs from {@code objectKey} when
+     *         a concurrent upload of the same bytes under another name registered first
+     */
+    @Transactional
+    public String register(String contentHash, String objectKey, String contentType, long sizeBytes) {
+        storedFileRepository.insertOrIncrement(contentHash, objectKey, contentType, sizeBytes);
+        return storedFileRepository.findById(contentHash)
+                .map(StoredFile::getObjectKey)
+                .orElse(objectKey);
+    }
+
+    /**
+     * Gives back one reference and runs {@code deleteObject} when it was the last. The
+     * delete runs while this transaction still holds the row lock, so an upload of the
+     * same content waits for it and then writes the object again rather than reusing one
+     * that is being removed. Files stored before content addressing have no row and are
+     * deleted straight away.
+     */
+    @Transactional
+    public void release(String objectKey, Runnable deleteObject) {
+        if (storedFileRepository.decrementReferences(objectKey) == 0) {
+            if (!storedFileRepository.existsByObjectKey(objectKey)) {
+                deleteObject.run();
+            }
+            return;
+        }
+        if (storedFileRepository.deleteUnreferenced(objectKey) == 1) {
+            deleteObject.run();
+        } else {
+            log.debug("{} is still referenced, keeping it", objectKey);
+        }
+    }
+
+    /**
+     * Deletes an object the garbage collector found unreferenced. Content acquired or
+     * registered after {@code cutoff} is kept, since the upload that touched it may not
+     * have saved its URL yet. As in {@link #release}, the delete runs under the row lock
+     * so a concurrent upload of the same bytes cannot pick up the object being removed.
+     *
+     * @return whether the object was deleted
+     */
+    @Transactional
+    public boolean sweep(String objectKey, Instant cutoff, Runnable deleteObject) {
+        Optional<StoredFile> row = storedFileRepository.lockByObjectKey(objectKey);
+        LocalDateTime localCutoff = LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault());
+        if (row.isPresent() && row.get().getUpdatedAt() != null && row.get().getUpdatedAt().isAfter(localCutoff)) {
+            log.debug("{} was reused after the cutoff, keeping it", objectKey);
+            return false;
+        }
+        deleteObject.run();
+        row.ifPresent(storedFileRepository::delete);
+        return true;
+    }
+}
@@ -6,13 +6,17 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.xhite.marketflex.config.Bulkhead;
 import org.xhite.marketflex.dto.CreateVendorRequest;
 import org.xhite.marketflex.dto.ProductDto;
 import org.xhite.marketflex.dto.UpdateVendorRequest;
 import org.xhite.marketflex.dto.VendorDto;
 import org.xhite.marketflex.dto.VendorOrderDto;
+import org.xhite.marketflex.event.OrderStatusChangedEvent;
 import org.xhite.marketflex.exception.ResourceNotFoundException;
 import org.xhite.marketflex.exception.BusinessException;
 import org.xhite.marketflex.model.AppUser;
@@ -20,6 +24,8 @@ import org.xhite.marketflex.model.Order;
 import org.xhite.marketflex.model.OrderItem;
 import org.xhite.marketflex.model.Vendor;
 import org.xhite.marketflex.model.enums.Role;
+import org.xhite.marketflex.repository.Fieldset;
+import org.xhite.marketflex.repository.FieldsetRepository;
 import org.xhite.marketflex.repository.OrderItemRepository;
 import org.xhite.marketflex.repository.OrderRepository;
 import org.xhite.marketflex.repository.ProductRepository;
@@ -37,14 +43,31 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class VendorServiceImpl implements VendorService {
 
+    /** The fields of {@link VendorDto}, read the way {@link #convertToDto} reads them. */
+    private static final Fieldset<Vendor> FIELDS = Fieldset.of(Vendor.class)
+            .field("storeName")
+            .field("storeDescription")
+            .field("address")
+            .field("contactEmail")
+            .field("contactPhone")
+            .field("userId", "user.id")
+            .field("userEmail", "user.email")
+            .field("userFullName", (root, cb) -> cb.concat(
+                    cb.concat(root.get("user").<String>get("firstName"), " "),
+                    root.get("user").<String>get("lastName")))
+            .build();
+
     private final VendorRepository vendorRepository;
     private final ProductRepository productRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
     private final UserService userService;
     private final ProductService productService;
+    private final FieldsetRepository fieldsetRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
     public VendorDto getVendorByStoreName(String storeName) {
         Vendor vendor = vendorRepository.findByStoreNameIgnoreCase(storeName)
@@ -53,6 +76,7 @@ public class VendorServiceImpl implements VendorService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
     public List<VendorDto> getAllVendors() {
         return vendorRepository.findAll().stream()
@@ -61,6 +85,14 @@ public class VendorServiceImpl implements VendorService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllVendors(String fields) {
+        return fieldsetRepository.findAll(FIELDS, FIELDS.pick(fields), null, Sort.unsorted());
+    }
+
+    @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional(readOnly = true)
     public List<VendorOrderDto> getVendorOrders(Long vendorId) {
         AppUser currentUser = userService.getCurrentUser();
@@ -110,6 +142,7 @@ public class VendorServiceImpl implements VendorService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional(readOnly = true)
     public List<VendorDto> getMyVendors() {
         AppUser currentUser = userService.getCurrentUser();
@@ -136,6 +169,7 @@ public class VendorServiceImpl implements VendorService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional
     public VendorDto createVendor(CreateVendorRequest request) {
         AppUser currentUser = userService.getCurrentUser();
@@ -167,6 +201,7 @@ public class VendorServiceImpl implements VendorService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional
     public VendorDto updateVendor(Long vendorId, UpdateVendorRequest request) {
         AppUser currentUser = userService.getCurrentUser();
@@ -217,6 +252,7 @@ public class VendorServiceImpl implements VendorService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional
     public VendorDto updateCurrentVendor(UpdateVendorRequest request) {
         VendorDto currentVendor = getCurrentVendor();
@@ -231,6 +267,7 @@ public class VendorServiceImpl implements VendorService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.BROWSE)
     @Transactional(readOnly = true)
     public List<ProductDto> getVendorProducts(String storeName) {
         Vendor vendor = vendorRepository.findByStoreNameIgnoreCase(storeName)
@@ -242,6 +279,15 @@ public class VendorServiceImpl implements VendorService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Bulkhead(Bulkhead.BROWSE)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getVendorProducts(String storeName, String fields) {
+        Vendor vendor = vendorRepository.findByStoreNameIgnoreCase(storeName)
+                .orElseThrow(() -> new ResourceNotFoundException("Vendor not found with store name: " + storeName));
+        return productService.getProductsByVendor(vendor.getId(), fields);
+    }
+
     @Override
     public VendorDto convertToDto(Vendor vendor) {
         return VendorDto.builder()
@@ -258,6 +304,7 @@ public class VendorServiceImpl implements VendorService {
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional
     public void updateOrderStatus(Long vendorId, Long orderId, OrderStatus status) {
         AppUser currentUser = userService.getCurrentUser();
@@ -283,13 +330,18 @@ public class VendorServiceImpl implements VendorService {
         }
         
         // Update order status
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
         orderRepository.save(order);
+        if (previousStatus != status) {
+            applicationEventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, previousStatus, status));
+        }
         
         log.info("Updated order {} status to {} by vendor {}", orderId, status, vendorId);
     }
 
     @Override
+    @Bulkhead(Bulkhead.VENDOR)
     @Transactional
     public void deleteVendor(Long vendorId) {
         AppUser currentUser = userService.getCurrentUser();
@@ -0,0 +1,11 @@
+-- Resized renditions of the uploaded image, filled in asynchronously after upload.
+-- NULL until processing finishes; readers fall back to image_url.
+ALTER TABLE products
+    ADD COLUMN thumbnail_url VARCHAR(255),
+    ADD COLUMN card_image_url VARCHAR(255),
+    ADD COLUMN detail_image_url VARCHAR(255);
+
+ALTER TABLE categories
+    ADD COLUMN thumbnail_url VARCHAR(255),
+    ADD COLUMN card_image_url VARCHAR(255),
+    ADD COLUMN detail_image_url VARCHAR(255);
@@ -0,0 +1,12 @@
+-- Uploaded files are stored under the SHA-256 of their content, so re-uploading the
+-- same photo reuses the existing object. ref_count tracks how many uploads resolved to
+-- the object; it is physically deleted only when the last reference is released.
+CREATE TABLE stored_files (
+    content_hash CHAR(64) PRIMARY KEY,
+    object_key VARCHAR(255) NOT NULL UNIQUE,
+    content_type VARCHAR(100),
+    size_bytes BIGINT NOT NULL,
+    ref_count INT NOT NULL DEFAULT 1,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,14 @@
+-- Domain events whose after-commit handler still failed after its retries, or that
+-- arrived while the event queue was full. Kept for inspection and manual replay.
+CREATE TABLE dead_letter_events (
+    id BIGSERIAL PRIMARY KEY,
+    handler VARCHAR(100) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_key VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    error VARCHAR(1000),
+    attempts INT NOT NULL,
+    failed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_dead_letter_events_failed_at ON dead_letter_events (failed_at DESC);
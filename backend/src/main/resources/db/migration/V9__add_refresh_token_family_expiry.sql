@@ -0,0 +1,6 @@
+-- Absolute lifetime of a refresh token family, fixed at login and copied to every
+-- rotated token, so refreshing in time cannot keep a family alive forever.
+-- Existing families end when their current token does.
+ALTER TABLE refresh_tokens ADD COLUMN family_expires_at TIMESTAMP;
+UPDATE refresh_tokens SET family_expires_at = expires_at;
+ALTER TABLE refresh_tokens ALTER COLUMN family_expires_at SET NOT NULL;
@@ -0,0 +1,123 @@
+package org.xhite.marketflex.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveConcurrencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private AdaptiveConcurrencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AdaptiveConcurrencyFilter(new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "initialLimit", 10);
+        ReflectionTestUtils.setField(filter, "minLimit", 4);
+        ReflectionTestUtils.setField(filter, "maxLimit", 10);
+        ReflectionTestUtils.setField(filter, "tolerance", 2.0);
+        ReflectionTestUtils.setField(filter, "smoothing", 0.2);
+        ReflectionTestUtils.setField(filter, "windowMs", 100L);
+        ReflectionTestUtils.setField(filter, "minWindowSamples", 10);
+        ReflectionTestUtils.setField(filter, "browseShare", 0.6);
+        ReflectionTestUtils.setField(filter, "defaultShare", 0.8);
+        filter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        threads.close();
+    }
+
+    @Test
+    void doFilter_AtBrowseShare_ShedsAnonymousBrowseButAdmitsCheckout() throws Exception {
+        List<Future<MockHttpServletResponse>> running = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            running.add(threads.submit(() -> run(request("GET", "/api/v1/products"), true)));
+        }
+        awaitInFlight(6);
+
+        MockHttpServletResponse browse = run(request("GET", "/api/v1/products"), false);
+        MockHttpServletResponse signedIn = run(authorized(request("GET", "/api/v1/wishlist")), false);
+        MockHttpServletResponse checkout = run(authorized(request("POST", "/api/v1/orders/checkout")), false);
+
+        assertThat(browse.getStatus()).isEqualTo(503);
+        assertThat(browse.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(browse.getContentAsString()).contains("overloaded");
+        assertThat(signedIn.getStatus()).isEqualTo(200);
+        assertThat(checkout.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.counter("http.concurrency.rejected", "priority", "browse").count()).isEqualTo(1);
+        release.countDown();
+        for (Future<MockHttpServletResponse> response : running) {
+            assertThat(response.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        }
+        assertThat(filter.inFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_AtFullLimit_ShedsEvenCheckout() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            threads.submit(() -> run(authorized(request("POST", "/api/v1/cart/items/1")), true));
+        }
+        awaitInFlight(10);
+
+        MockHttpServletResponse checkout = run(authorized(request("POST", "/api/v1/orders/checkout")), false);
+
+        assertThat(checkout.getStatus()).isEqualTo(503);
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, boolean hold) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            if (hold) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        return response;
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (filter.inFlight() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(filter.inFlight()).isEqualTo(expected);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private static MockHttpServletRequest authorized(MockHttpServletRequest request) {
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+        return request;
+    }
+}
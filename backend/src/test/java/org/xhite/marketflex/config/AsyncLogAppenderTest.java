@@ -0,0 +1,97 @@
+package org.xhite.marketflex.config;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+
+class AsyncLogAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("org.xhite.marketflex.service.impl.ProductServiceImpl");
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final CountDownLatch writing = new CountDownLatch(1);
+
+    private ListAppender<ILoggingEvent> written;
+    private AsyncLogAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        written = new ListAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.append(event);
+            }
+        };
+        written.setContext(context);
+        written.start();
+        appender = new AsyncLogAppender();
+        appender.setContext(context);
+        appender.setName("TEST");
+        appender.addAppender(written);
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        context.stop();
+    }
+
+    @Test
+    void stop_WritesEverythingQueued() {
+        appender.start();
+        released.countDown();
+
+        logger.info("Updated stock for product: {}, new stock: {}", "Mug", 41);
+        logger.info("Updated stock for product: {}, new stock: {}", "Mug", 40);
+        appender.stop();
+
+        assertThat(written.list).extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("Updated stock for product: Mug, new stock: 41", "Updated stock for product: Mug, new stock: 40");
+        assertThat(appender.getDiscardedCount()).isZero();
+        assertThat(appender.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void append_WhenWriterFallsBehind_CountsInfoDiscardedAndWarnDropped() throws InterruptedException {
+        appender.start();
+        logger.info("taken by the writer");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Queue of 4: INFO is queued while 2 or more slots are free, WARN until it is full
+        for (int i = 0; i < 4; i++) {
+            logger.info("info {}", i);
+        }
+        for (int i = 0; i < 4; i++) {
+            logger.warn("warn {}", i);
+        }
+        released.countDown();
+        appender.stop();
+
+        assertThat(appender.getDiscardedCount()).isEqualTo(1);
+        assertThat(appender.getDroppedCount()).isEqualTo(3);
+        List<String> messages = written.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertThat(messages).containsExactly("taken by the writer", "info 0", "info 1", "info 2", "warn 0");
+    }
+}
@@ -0,0 +1,100 @@
+package org.xhite.marketflex.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.xhite.marketflex.MarketFlexApplication;
+import org.xhite.marketflex.dto.CreateCategoryRequest;
+import org.xhite.marketflex.service.CategoryService;
+
+/**
+ * Runs two application contexts against one database, standing in for two backend
+ * nodes, and checks that evictions on one reach the caches of the other.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CacheInvalidationBusIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:17-alpine");
+
+    private static ConfigurableApplicationContext nodeA;
+
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void evictionOnOneNode_ClearsCacheOnTheOther() {
+        nodeB.getBean(CategoryService.class).getAllCategories();
+        assertThat(categoriesCache(nodeB).get("all")).isNotNull();
+
+        nodeA.getBean(CategoryService.class)
+            .createCategory(CreateCategoryRequest.builder().name("Coherence " + System.nanoTime()).build());
+
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertThat(categoriesCache(nodeB).get("all")).isNull());
+    }
+
+    @Test
+    void lostListenerConnection_FlushesLocalCachesOnReconnect() {
+        nodeB.getBean(CategoryService.class).getAllCategories();
+        assertThat(categoriesCache(nodeB).get("all")).isNotNull();
+
+        // Kills both nodes' listeners; anything broadcast while they are down would be lost
+        // By application name: the listener's last query is its validity check, not LISTEN
+        nodeA.getBean(JdbcTemplate.class).queryForList(
+            "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+            CacheInvalidationBus.APPLICATION_NAME);
+
+        await().atMost(Duration.ofSeconds(20))
+            .untilAsserted(() -> assertThat(categoriesCache(nodeB).get("all")).isNull());
+    }
+
+    private static Cache categoriesCache(ConfigurableApplicationContext node) {
+        return node.getBean(CacheManager.class).getCache(CacheNames.CATEGORIES);
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(MarketFlexApplication.class)
+            .properties(List.of(
+                "server.port=0",
+                // Both nodes run in this JVM, so neither may take the fixed actuator port
+                "management.server.port=0",
+                "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "spring.datasource.username=" + POSTGRES.getUsername(),
+                "spring.datasource.password=" + POSTGRES.getPassword(),
+                // Notice a dead listener quickly instead of after the production poll interval
+                "app.cache.invalidation.poll-timeout-ms=500",
+                "app.images.gc.enabled=false",
+                "app.warmup.enabled=false")
+                .toArray(String[]::new))
+            .run();
+    }
+}
@@ -0,0 +1,84 @@
+package org.xhite.marketflex.config;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class CatalogConditionalGetInterceptorTest {
+
+    private CatalogVersion catalogVersion;
+
+    private CatalogConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion(new CacheConfig()
+            .cacheManager(new StaticListableBeanFactory().getBeanProvider(CacheReloader.class)));
+        interceptor = new CatalogConditionalGetInterceptor(catalogVersion);
+    }
+
+    @Test
+    void preHandle_WhenEtagMatches_AnswersNotModifiedWithoutCallingHandler() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/categories");
+        request.addHeader("If-None-Match", catalogVersion.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response, handler("catalog"));
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo(catalogVersion.etag());
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-cache, public");
+        assertThat(response.getHeaders("Vary")).contains("Accept");
+    }
+
+    @Test
+    void preHandle_AfterCatalogChange_ProceedsWithNewValidators() throws Exception {
+        String staleEtag = catalogVersion.etag();
+        catalogVersion.changed();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/categories");
+        request.addHeader("If-None-Match", staleEtag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response, handler("catalog"));
+
+        assertThat(proceed).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isEqualTo(catalogVersion.etag()).isNotEqualTo(staleEtag);
+        assertThat(response.getDateHeader("Last-Modified")).isEqualTo(catalogVersion.lastModified());
+    }
+
+    @Test
+    void preHandle_IgnoresHandlersOutsideTheCatalog() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/cart");
+        request.addHeader("If-None-Match", catalogVersion.etag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, handler("personal"))).isTrue();
+        assertThat(response.getHeader("ETag")).isNull();
+        assertThat(response.getHeader("Cache-Control")).isNull();
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        Method method = Handlers.class.getDeclaredMethod(name);
+        return new HandlerMethod(new Handlers(), method);
+    }
+
+    static class Handlers {
+
+        @CatalogResource
+        String catalog() {
+            return "catalog";
+        }
+
+        String personal() {
+            return "personal";
+        }
+    }
+}
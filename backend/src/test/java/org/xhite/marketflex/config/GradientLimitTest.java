@@ -0,0 +1,51 @@
+package org.xhite.marketflex.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class GradientLimitTest {
+
+    private static final long WINDOW = 100_000_000L;
+
+    private static final long MS = 1_000_000L;
+
+    private final GradientLimit limit = new GradientLimit(20, 4, 200, 2.0, 0.2, WINDOW, 10, 0);
+
+    private long now;
+
+    @Test
+    void onSample_WithSteadyLatencyAndFullUse_GrowsTowardsMax() {
+        runWindows(50, 10 * MS, -1);
+
+        assertThat(limit.limit()).isGreaterThan(60).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    void onSample_WhenLatencyClimbs_Shrinks() {
+        runWindows(20, 10 * MS, -1);
+        int learned = limit.limit();
+
+        // Queueing: the same work now takes ten times as long
+        runWindows(20, 100 * MS, -1);
+
+        assertThat(learned).isGreaterThan(20);
+        assertThat(limit.limit()).isLessThan(learned / 2);
+    }
+
+    @Test
+    void onSample_WhenMostlyIdle_KeepsLimit() {
+        runWindows(50, 10 * MS, 3);
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    // A negative inFlight keeps the limit fully used
+    private void runWindows(int windows, long rtt, int inFlight) {
+        for (int w = 0; w < windows; w++) {
+            for (int i = 0; i < 10; i++) {
+                now += WINDOW / 10;
+                limit.onSample(rtt, inFlight < 0 ? limit.limit() : inFlight, now);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.xhite.marketflex.config;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.xhite.marketflex.security.JwtTokenProvider;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JitWarmupTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+
+    private final Queue<String> received = new ConcurrentLinkedQueue<>();
+
+    private HttpServer server;
+
+    private JitWarmup warmup;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(JitWarmup.TOKEN_HEADER, exchange.getRequestHeaders().getFirst(JitWarmup.TOKEN_HEADER));
+            received.add(exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                + (JitWarmup.isWarmupRequest(request) ? " warmup" : ""));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        warmup = new JitWarmup(mock(ApplicationContext.class), new DefaultResourceLoader(), tokenProvider,
+            userDetailsService, meterRegistry);
+        ReflectionTestUtils.setField(warmup, "requestsLocation", "classpath:warmup/requests.txt");
+        ReflectionTestUtils.setField(warmup, "user", "");
+        ReflectionTestUtils.setField(warmup, "concurrency", 2);
+        ReflectionTestUtils.setField(warmup, "minDurationMs", 100L);
+        ReflectionTestUtils.setField(warmup, "maxDurationMs", 300L);
+        ReflectionTestUtils.setField(warmup, "windowMs", 50L);
+        ReflectionTestUtils.setField(warmup, "stableWindows", 3);
+        ReflectionTestUtils.setField(warmup, "stableCompilations", 1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void warmUp_ReplaysAnonymousCallsAsWarmupUntilStable() throws Exception {
+        warmup.warmUp(server.getAddress().getPort());
+
+        assertThat(received).isNotEmpty()
+            .allMatch(call -> call.startsWith("GET /api/v1/") && call.endsWith(" warmup"))
+            .contains("GET /api/v1/categories warmup")
+            .noneMatch(call -> call.contains("/auth/me"));
+        assertThat(meterRegistry.counter("warmup.requests", "outcome", "success").count()).isEqualTo(received.size());
+        assertThat(meterRegistry.timer("warmup.duration", "outcome", "stable").count()).isEqualTo(1);
+        MockHttpServletRequest late = new MockHttpServletRequest();
+        late.addHeader(JitWarmup.TOKEN_HEADER, "anything");
+        assertThat(JitWarmup.isWarmupRequest(late)).isFalse();
+    }
+
+    @Test
+    void calls_WithWarmupUser_SendsItsTokenOnAuthCalls() throws IOException {
+        Path recording = Files.writeString(tempDir.resolve("requests.txt"), """
+            # comment
+            GET /api/v1/products
+            GET /api/v1/auth/me auth
+            """);
+        ReflectionTestUtils.setField(warmup, "requestsLocation", recording.toUri().toString());
+        ReflectionTestUtils.setField(warmup, "user", "warmup@marketflex.com");
+        when(userDetailsService.loadUserByUsername("warmup@marketflex.com"))
+            .thenReturn(User.withUsername("warmup@marketflex.com").password("x").roles("CUSTOMER").build());
+        when(tokenProvider.generateToken(eq("warmup@marketflex.com"), eq(List.of("ROLE_CUSTOMER")))).thenReturn("jwt");
+
+        List<HttpRequest> calls = warmup.calls(8080, "token");
+
+        assertThat(calls).hasSize(2);
+        assertThat(calls.get(0).headers().firstValue(HttpHeaders.AUTHORIZATION)).isEmpty();
+        assertThat(calls.get(1).uri()).hasToString("http://localhost:8080/api/v1/auth/me");
+        assertThat(calls.get(1).headers().firstValue(HttpHeaders.AUTHORIZATION)).hasValue("Bearer jwt");
+        assertThat(calls.get(1).headers().firstValue(JitWarmup.TOKEN_HEADER)).hasValue("token");
+    }
+
+    @Test
+    void calls_WithWriteMethod_Fails() throws IOException {
+        Path recording = Files.writeString(tempDir.resolve("requests.txt"), "POST /api/v1/cart/items/1 auth\n");
+        ReflectionTestUtils.setField(warmup, "requestsLocation", recording.toUri().toString());
+
+        assertThatThrownBy(() -> warmup.calls(8080, "token"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("only GET and HEAD");
+    }
+}
@@ -0,0 +1,148 @@
+package org.xhite.marketflex.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+class LimitingDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    private final LimitingDataSource limiter = new LimitingDataSource(pool, 2, 50);
+
+    @Test
+    void getConnection_PastLimit_RejectsAfterTimeout() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        limiter.getConnection();
+        limiter.getConnection();
+
+        assertThatThrownBy(limiter::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(limiter.inUse()).isEqualTo(2);
+        assertThat(limiter.acquiredCount()).isEqualTo(2);
+        assertThat(limiter.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void close_ReleasesPermitOnlyOnce() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        doThrow(new SQLException("broken")).when(pooled).close();
+        when(pool.getConnection()).thenReturn(pooled);
+        Connection first = limiter.getConnection();
+        limiter.getConnection();
+
+        assertThatThrownBy(first::close).hasMessage("broken");
+        assertThatThrownBy(first::close).hasMessage("broken");
+
+        assertThat(limiter.inUse()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_WhenPoolFails_GivesPermitBack() throws SQLException {
+        when(pool.getConnection(any(), any())).thenThrow(new SQLException("down"));
+
+        assertThatThrownBy(() -> limiter.getConnection("user", "secret")).hasMessage("down");
+
+        assertThat(limiter.inUse()).isZero();
+    }
+
+    @Test
+    void getConnection_InFullBulkhead_FailsFastWhileOthersProceed() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        LimitingDataSource partitioned = new LimitingDataSource(pool, 3, 1_000,
+            Map.of(Bulkhead.BROWSE, new LimitingDataSource.Partition(Bulkhead.BROWSE, 1, 0)));
+        LimitingDataSource.Partition browse = partitioned.partitions().get(Bulkhead.BROWSE);
+
+        String outer = LimitingDataSource.enterBulkhead(Bulkhead.BROWSE);
+        Connection first;
+        try {
+            first = partitioned.getConnection();
+            assertThatThrownBy(partitioned::getConnection)
+                .isInstanceOf(BulkheadFullException.class)
+                .extracting(e -> ((BulkheadFullException) e).bulkhead())
+                .isEqualTo(Bulkhead.BROWSE);
+        } finally {
+            LimitingDataSource.exitBulkhead(outer);
+        }
+        partitioned.getConnection();
+
+        assertThat(browse.rejectedCount()).isEqualTo(1);
+        assertThat(partitioned.inUse()).isEqualTo(2);
+        first.close();
+        assertThat(browse.inUse()).isZero();
+        assertThat(partitioned.inUse()).isEqualTo(1);
+    }
+
+    @Test
+    void enterBulkhead_WhenNested_KeepsOuterBulkhead() throws SQLException {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        LimitingDataSource partitioned = new LimitingDataSource(pool, 3, 1_000, Map.of(
+            Bulkhead.CHECKOUT, new LimitingDataSource.Partition(Bulkhead.CHECKOUT, 2, 0),
+            Bulkhead.BROWSE, new LimitingDataSource.Partition(Bulkhead.BROWSE, 2, 0)));
+
+        String checkout = LimitingDataSource.enterBulkhead(Bulkhead.CHECKOUT);
+        String browse = LimitingDataSource.enterBulkhead(Bulkhead.BROWSE);
+        partitioned.getConnection();
+        LimitingDataSource.exitBulkhead(browse);
+        LimitingDataSource.exitBulkhead(checkout);
+
+        assertThat(partitioned.partitions().get(Bulkhead.CHECKOUT).inUse()).isEqualTo(1);
+        assertThat(partitioned.partitions().get(Bulkhead.BROWSE).inUse()).isZero();
+    }
+
+    @Test
+    void getConnection_ConcurrentVendorCalls_AllServedWithConfiguredBulkheads() throws Exception {
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new ResourcePropertySource(new ClassPathResource("application.properties")));
+        LimitingDataSource configured = (LimitingDataSource) DatabaseConfig.dataSourceLimiter(environment)
+            .postProcessAfterInitialization(pool, "dataSource");
+
+        // Eight vendors each holding a connection for 200 ms, all arriving together
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> calls = new ArrayList<>();
+        try (ExecutorService vendors = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                calls.add(vendors.submit(() -> {
+                    start.await();
+                    String outer = LimitingDataSource.enterBulkhead(Bulkhead.VENDOR);
+                    try (Connection connection = configured.getConnection()) {
+                        Thread.sleep(200);
+                        return connection;
+                    } finally {
+                        LimitingDataSource.exitBulkhead(outer);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        }
+
+        LimitingDataSource.Partition vendor = configured.partitions().get(Bulkhead.VENDOR);
+        assertThat(vendor.rejectedCount()).isZero();
+        assertThat(vendor.inUse()).isZero();
+        assertThat(configured.partitions().get(Bulkhead.ADMIN).rejectedCount()).isZero();
+        assertThat(configured.rejectedCount()).isZero();
+    }
+}
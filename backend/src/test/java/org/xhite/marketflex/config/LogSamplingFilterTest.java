@@ -0,0 +1,75 @@
+package org.xhite.marketflex.config;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class LogSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final LogSamplingFilter filter = new LogSamplingFilter(() -> 0L);
+    private final ListAppender<ILoggingEvent> written = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        filter.setContext(context);
+        filter.setLimits("org.xhite.marketflex.service=3, org.xhite.marketflex.service.impl.ProductServiceImpl=1, broken");
+        filter.start();
+        context.addTurboFilter(filter);
+        written.setContext(context);
+        written.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(written);
+    }
+
+    @Test
+    void decide_OverTheLimit_DeniesBelowWarnOnly() {
+        Logger product = context.getLogger("org.xhite.marketflex.service.impl.ProductServiceImpl");
+
+        product.info("Updated stock for product: {}, new stock: {}", "Mug", 41);
+        product.info("Updated stock for product: {}, new stock: {}", "Mug", 40);
+        product.warn("Stock low for product: {}", "Mug");
+
+        assertThat(written.list).extracting(ILoggingEvent::getLevel).containsExactly(Level.INFO, Level.WARN);
+        assertThat(filter.getSuppressedCounts()).containsEntry("org.xhite.marketflex.service.impl.ProductServiceImpl", 1L);
+    }
+
+    @Test
+    void decide_LoggersBelowAName_ShareItsLimit_OthersUnlimited() {
+        Logger orders = context.getLogger("org.xhite.marketflex.service.impl.OrderServiceImpl");
+        Logger carts = context.getLogger("org.xhite.marketflex.service.impl.CartServiceImpl");
+        Logger security = context.getLogger("org.xhite.marketflex.security.JwtAuthenticationFilter");
+
+        for (int i = 0; i < 3; i++) {
+            orders.info("order {}", i);
+            carts.info("cart {}", i);
+            security.info("token {}", i);
+        }
+
+        assertThat(written.list).extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("order 0", "cart 0", "token 0", "order 1", "token 1", "token 2");
+        assertThat(filter.getLimits()).containsExactly(
+            Map.entry("org.xhite.marketflex.service", 3),
+            Map.entry("org.xhite.marketflex.service.impl.ProductServiceImpl", 1));
+    }
+
+    @Test
+    void decide_DisabledLevelsAndEnabledChecks_UseNoAllowance() {
+        Logger product = context.getLogger("org.xhite.marketflex.service.impl.ProductServiceImpl");
+        product.setLevel(Level.INFO);
+
+        product.debug("not enabled");
+        assertThat(product.isInfoEnabled()).isTrue();
+        product.info("kept");
+
+        assertThat(written.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly("kept");
+        assertThat(filter.getSuppressedCounts()).containsEntry("org.xhite.marketflex.service.impl.ProductServiceImpl", 0L);
+    }
+}
@@ -0,0 +1,52 @@
+package org.xhite.marketflex.config;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+/**
+ * Assertions on the statements Hibernate runs, for catching N+1 regressions. The action
+ * runs on the calling thread inside a {@link QueryCounter} recording, so the context
+ * under test must use the application's session factory configuration.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    /** Runs {@code action} and asserts it ran exactly {@code expected} statements. */
+    public static QueryCounter.Recording assertQueryCount(int expected, ThrowingCallable action) {
+        QueryCounter.Recording recording = record(action);
+        assertThat(recording.total()).as("statements run%n%s", describe(recording)).isEqualTo(expected);
+        return recording;
+    }
+
+    /** Runs {@code action} and asserts no statement ran more than {@code maxRepeats} times. */
+    public static QueryCounter.Recording assertNoRepeatedQueries(int maxRepeats, ThrowingCallable action) {
+        QueryCounter.Recording recording = record(action);
+        Map.Entry<String, Integer> repeated = recording.mostRepeated();
+        assertThat(repeated == null ? 0 : repeated.getValue())
+            .as("runs of the most repeated statement%n%s", describe(recording))
+            .isLessThanOrEqualTo(maxRepeats);
+        return recording;
+    }
+
+    private static QueryCounter.Recording record(ThrowingCallable action) {
+        try (QueryCounter.Recording recording = QueryCounter.start()) {
+            action.call();
+            return recording;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String describe(QueryCounter.Recording recording) {
+        return recording.statements().entrySet().stream()
+            .map(statement -> statement.getValue() + " x " + statement.getKey())
+            .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,73 @@
+package org.xhite.marketflex.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+class QueryCountFilterTest {
+
+    private static final String PRODUCT = "select p1_0.id from products p1_0 where p1_0.id=?";
+
+    private final QueryCounter inspector = new QueryCounter();
+
+    private QueryCountFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new QueryCountFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "headerEnabled", true);
+        ReflectionTestUtils.setField(filter, "repeatThreshold", 5);
+        filter.init();
+    }
+
+    @Test
+    void doFilter_HeaderEnabled_SendsStatementsRunBeforeCommit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/products"), response, (req, res) -> {
+            for (int i = 0; i < 6; i++) {
+                inspector.inspect(PRODUCT);
+            }
+            res.getWriter().write("[]");
+            res.flushBuffer();
+            inspector.inspect(PRODUCT);
+        });
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("6");
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    void doFilter_ResponseWithoutBody_StillSendsHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/v1/cart"), response, (req, res) -> {
+            inspector.inspect(PRODUCT);
+            ((HttpServletResponse) res).setStatus(204);
+        });
+
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    void doFilter_HeaderDisabled_CountsWithoutHeaderAndClosesRecording() throws Exception {
+        ReflectionTestUtils.setField(filter, "headerEnabled", false);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> inspector.inspect(PRODUCT);
+
+        try (QueryCounter.Recording outside = QueryCounter.start()) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/products"), response, chain);
+            inspector.inspect(PRODUCT);
+
+            assertThat(outside.total()).isEqualTo(2);
+        }
+        assertThat(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER)).isNull();
+    }
+}
@@ -0,0 +1,61 @@
+package org.xhite.marketflex.config;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import static org.xhite.marketflex.config.QueryCountAssertions.assertNoRepeatedQueries;
+import static org.xhite.marketflex.config.QueryCountAssertions.assertQueryCount;
+
+class QueryCounterTest {
+
+    private static final String CATEGORIES = "select c1_0.id from categories c1_0";
+    private static final String PRODUCT = "select p1_0.id from products p1_0 where p1_0.id=?";
+
+    private final QueryCounter inspector = new QueryCounter();
+
+    @Test
+    void inspect_NestedRecordings_CountInEveryOpenRecording() {
+        inspector.inspect(CATEGORIES);
+        try (QueryCounter.Recording outer = QueryCounter.start()) {
+            inspector.inspect(CATEGORIES);
+            try (QueryCounter.Recording inner = QueryCounter.start()) {
+                inspector.inspect(PRODUCT);
+                inspector.inspect(PRODUCT);
+                assertThat(inner.total()).isEqualTo(2);
+            }
+            inspector.inspect(PRODUCT);
+
+            assertThat(outer.total()).isEqualTo(4);
+            assertThat(outer.statements()).containsExactly(Map.entry(CATEGORIES, 1), Map.entry(PRODUCT, 3));
+            assertThat(outer.mostRepeated()).isEqualTo(Map.entry(PRODUCT, 3));
+        }
+    }
+
+    @Test
+    void assertQueryCount_WhenCountDiffers_FailsListingTheStatements() {
+        assertQueryCount(1, () -> inspector.inspect(CATEGORIES));
+
+        assertThatThrownBy(() -> assertQueryCount(1, () -> {
+            inspector.inspect(CATEGORIES);
+            inspector.inspect(PRODUCT);
+            inspector.inspect(PRODUCT);
+        }))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("1 x " + CATEGORIES)
+            .hasMessageContaining("2 x " + PRODUCT);
+    }
+
+    @Test
+    void assertNoRepeatedQueries_WhenOneStatementRunsPerRow_Fails() {
+        assertThatThrownBy(() -> assertNoRepeatedQueries(2, () -> {
+            inspector.inspect(CATEGORIES);
+            for (int i = 0; i < 3; i++) {
+                inspector.inspect(PRODUCT);
+            }
+        }))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("3 x " + PRODUCT);
+    }
+}
@@ -0,0 +1,85 @@
+package org.xhite.marketflex.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TimedInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private final List<DistributionStatisticConfig> distributions = new ArrayList<>();
+
+    private Checkout checkout;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                distributions.add(config);
+                return config;
+            }
+        });
+        ProxyFactory factory = new ProxyFactory(new Checkout());
+        factory.addAdvice(new TimedInterceptor(() -> meterRegistry));
+        checkout = (Checkout) factory.getProxy();
+    }
+
+    @Test
+    void invoke_TimedMethod_RecordsWithClassMethodAndExtraTags() {
+        checkout.place();
+        checkout.place();
+
+        Timer timer = meterRegistry.get("orders.checkout")
+            .tags("class", "Checkout", "method", "place", "exception", "none", "step", "place")
+            .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(distributions).isNotEmpty().allMatch(config -> Boolean.TRUE.equals(config.isPercentileHistogram()));
+    }
+
+    @Test
+    void invoke_WhenMethodThrows_RecordsExceptionAndRethrows() {
+        assertThatThrownBy(() -> checkout.fail()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("orders.checkout").tag("exception", "IllegalStateException").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("orders.checkout").tag("exception", "none").timer().count()).isZero();
+    }
+
+    @Test
+    void invoke_UntimedMethod_RecordsNothing() {
+        assertThat(checkout.untimed()).isEqualTo("ok");
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    static class Checkout {
+
+        @Timed(value = "orders.checkout", extraTags = {"step", "place"}, histogram = true)
+        public void place() {
+        }
+
+        @Timed("orders.checkout")
+        public void fail() {
+            throw new IllegalStateException("Insufficient stock");
+        }
+
+        public String untimed() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.xhite.marketflex.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class UploadResourceHandlerTest {
+
+    @TempDir
+    Path uploads;
+
+    private UploadResourceHandler handler;
+
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        handler = new UploadResourceHandler(uploads);
+        content = new byte[100_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(uploads.resolve("photo.jpg"), content);
+    }
+
+    @Test
+    void handleRequest_ServesFileWithImmutableCachingAndStrongEtag() throws IOException {
+        MockHttpServletResponse response = get(request());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo(UploadResourceHandler.CACHE_CONTROL);
+        assertThat(response.getHeader("ETag")).startsWith("\"").doesNotStartWith("W/");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void handleRequest_WhenEtagMatches_ReturnsNotModifiedWithoutBody() throws IOException {
+        String etag = get(request()).getHeader("ETag");
+        MockHttpServletRequest conditional = request();
+        conditional.addHeader("If-None-Match", "\"other\", " + etag);
+
+        MockHttpServletResponse response = get(conditional);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void handleRequest_WithRange_ReturnsPartialContent() throws IOException {
+        MockHttpServletRequest ranged = request();
+        ranged.addHeader("Range", "bytes=1000-1999");
+
+        MockHttpServletResponse response = get(ranged);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 1000-1999/100000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 1000, 2000));
+    }
+
+    @Test
+    void handleRequest_WithRangeBeyondEnd_ReturnsNotSatisfiable() throws IOException {
+        MockHttpServletRequest ranged = request();
+        ranged.addHeader("Range", "bytes=200000-");
+
+        MockHttpServletResponse response = get(ranged);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */100000");
+    }
+
+    @Test
+    void handleRequest_WhenSendfileIsSupported_DelegatesBodyToContainer() throws IOException {
+        MockHttpServletRequest request = request();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=-50000");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(50_000);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+            .isEqualTo(uploads.resolve("photo.jpg").toAbsolutePath().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(50_000L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(100_000L);
+    }
+
+    @Test
+    void handleRequest_WithPathOutsideUploads_ReturnsNotFound() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/../application.properties");
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "../application.properties");
+
+        assertThat(get(request).getStatus()).isEqualTo(404);
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/uploads/photo.jpg");
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,131 @@
+package org.xhite.marketflex.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.xhite.marketflex.model.DeadLetterEvent;
+import org.xhite.marketflex.repository.DeadLetterEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+class DomainEventExecutorTest {
+
+    private DeadLetterEventRepository deadLetterEventRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DomainEventExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        deadLetterEventRepository = mock(DeadLetterEventRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new DomainEventExecutor(deadLetterEventRepository, JsonMapper.builder().build(), meterRegistry,
+            mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(executor, "threads", 4);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 100);
+        ReflectionTestUtils.setField(executor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(executor, "retryBackoffMs", 1L);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_SameAggregate_RunsInPublishOrder() throws InterruptedException {
+        List<Integer> product1 = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> product2 = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 50; i++) {
+            int n = i;
+            executor.execute("test", new CartItemAddedEvent(1L, 1), () -> {
+                product1.add(n);
+                done.countDown();
+            });
+            executor.execute("test", new CartItemAddedEvent(2L, 1), () -> {
+                product2.add(n);
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        // The handler timer is recorded after the action returns
+        executor.shutdown();
+        assertThat(product1).isSorted().hasSize(50);
+        assertThat(product2).isSorted().hasSize(50);
+        assertThat(meterRegistry.timer("events.handle", "handler", "test", "outcome", "success").count()).isEqualTo(100);
+    }
+
+    @Test
+    void execute_WhenHandlerKeepsFailing_RetriesThenDeadLettersAndMovesOn() throws InterruptedException {
+        CountDownLatch next = new CountDownLatch(1);
+        int[] attempts = new int[1];
+
+        executor.execute("cart-stock", new CartItemAddedEvent(7L, 2), () -> {
+            attempts[0]++;
+            throw new IllegalStateException("Insufficient stock");
+        });
+        executor.execute("cart-stock", new CartItemAddedEvent(7L, 1), next::countDown);
+
+        assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(attempts[0]).isEqualTo(3);
+        ArgumentCaptor<DeadLetterEvent> deadLetter = ArgumentCaptor.forClass(DeadLetterEvent.class);
+        verify(deadLetterEventRepository).save(deadLetter.capture());
+        assertThat(deadLetter.getValue().getAggregateKey()).isEqualTo("product:7");
+        assertThat(deadLetter.getValue().getPayload()).contains("\"productId\":7", "\"quantity\":2");
+        assertThat(deadLetter.getValue().getError()).contains("Insufficient stock");
+        assertThat(deadLetter.getValue().getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void execute_WhenQueueFull_DeadLettersWithoutRunning() throws InterruptedException {
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute("test", new CartItemAddedEvent(1L, 1), () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CountDownLatch queuedRan = new CountDownLatch(1);
+        CountDownLatch rejectedRan = new CountDownLatch(1);
+
+        executor.execute("test", new CartItemAddedEvent(1L, 1), queuedRan::countDown);
+        executor.execute("test", new CartItemAddedEvent(2L, 1), rejectedRan::countDown);
+
+        assertThat(executor.queued()).isEqualTo(1);
+        ArgumentCaptor<DeadLetterEvent> deadLetter = ArgumentCaptor.forClass(DeadLetterEvent.class);
+        verify(deadLetterEventRepository).save(deadLetter.capture());
+        assertThat(deadLetter.getValue().getAggregateKey()).isEqualTo("product:2");
+        assertThat(deadLetter.getValue().getAttempts()).isZero();
+        assertThat(meterRegistry.counter("events.rejected").count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(queuedRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(rejectedRan.getCount()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
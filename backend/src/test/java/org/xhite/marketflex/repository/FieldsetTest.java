@@ -0,0 +1,47 @@
+package org.xhite.marketflex.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.jupiter.api.Test;
+import org.xhite.marketflex.dto.ProductDto;
+import org.xhite.marketflex.exception.BusinessException;
+import org.xhite.marketflex.model.Product;
+
+class FieldsetTest {
+
+    private final Fieldset<Product> fieldset = Fieldset.of(Product.class)
+        .field("name")
+        .field("price")
+        .field("categoryName", "category.name")
+        .build();
+
+    @Test
+    void pick_ReturnsFieldsInDeclarationOrderWithId() {
+        assertThat(fieldset.pick("categoryName, price,,name")).containsExactly("id", "name", "price", "categoryName");
+        assertThat(fieldset.pick("price,price")).containsExactly("id", "price");
+    }
+
+    @Test
+    void pick_WithUnknownField_Throws() {
+        assertThatThrownBy(() -> fieldset.pick("name,description"))
+            .isInstanceOf(BusinessException.class)
+            .hasMessageContaining("'description'");
+    }
+
+    @Test
+    void retain_KeepsOnlyPickedComponents() {
+        ProductDto product = ProductDto.builder()
+            .id(7L)
+            .name("Lamp")
+            .description("Warm light")
+            .price(BigDecimal.TEN)
+            .build();
+
+        assertThat(Fieldset.retain(product, List.of("id", "price")))
+            .containsExactly(entry("id", 7L), entry("price", BigDecimal.TEN));
+    }
+}
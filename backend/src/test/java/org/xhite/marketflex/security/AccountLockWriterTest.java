@@ -0,0 +1,34 @@
+package org.xhite.marketflex.security;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.xhite.marketflex.model.AppUser;
+import org.xhite.marketflex.repository.UserRepository;
+
+class AccountLockWriterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final AccountLockWriter writer = new AccountLockWriter(userRepository);
+
+    @Test
+    void lock_FlushesSoVersionConflictIsHandledHere() {
+        AppUser user = AppUser.builder().email("shopper@example.com").build();
+        when(userRepository.findByEmail("shopper@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(any(AppUser.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(AppUser.class, 1L));
+
+        assertThatCode(() -> writer.lock("shopper@example.com", 5)).doesNotThrowAnyException();
+
+        verify(userRepository).saveAndFlush(user);
+        assertThat(user.isAccountNonLocked()).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package org.xhite.marketflex.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(resolver, "trustedProxies", "169.254.0.0/16, 35.191.0.0/16");
+        resolver.init();
+    }
+
+    @Test
+    void resolve_FromTrustedProxy_TakesRightmostUntrustedHop() {
+        MockHttpServletRequest request = request("169.254.1.1");
+        // The client made up the first hop; the load balancer appended the real one and itself
+        request.addHeader(ClientIpResolver.FORWARDED_FOR, "1.2.3.4, 203.0.113.7, 35.191.3.9");
+
+        assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void resolve_FromUntrustedPeer_IgnoresForwardedFor() {
+        MockHttpServletRequest request = request("198.51.100.20");
+        request.addHeader(ClientIpResolver.FORWARDED_FOR, "203.0.113.7");
+
+        assertThat(resolver.resolve(request)).isEqualTo("198.51.100.20");
+    }
+
+    @Test
+    void resolve_MalformedOrMissingHops_NeverTrustedOrResolved() {
+        MockHttpServletRequest malformed = request("169.254.1.1");
+        malformed.addHeader(ClientIpResolver.FORWARDED_FOR, "203.0.113.7, evil.example.com");
+        MockHttpServletRequest direct = request("169.254.1.1");
+
+        assertThat(resolver.resolve(malformed)).isEqualTo("evil.example.com");
+        assertThat(resolver.resolve(direct)).isEqualTo("169.254.1.1");
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
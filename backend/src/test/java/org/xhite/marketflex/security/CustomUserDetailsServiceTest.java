@@ -1,5 +1,6 @@
 package org.xhite.marketflex.security;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
 
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +26,12 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Mock
+    private AccountLockWriter accountLockWriter;
+
     @InjectMocks
     private CustomUserDetailsService userDetailsService;
 
@@ -65,4 +73,29 @@ class CustomUserDetailsServiceTest {
             .isInstanceOf(UsernameNotFoundException.class)
             .hasMessageContaining("User not found");
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadUserByUsername_WhenLockedInMemory_ReturnsLockedUser() {
+        when(userRepository.findByEmail("test@example.com"))
+            .thenReturn(Optional.of(testUser));
+        when(loginAttemptTracker.isLocked("test@example.com")).thenReturn(true);
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername("test@example.com");
+
+        assertThat(userDetails.isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void loadUserByUsername_WhenPersistedLockExpired_UnlocksAsynchronously() {
+        testUser.setAccountNonLocked(false);
+        testUser.setLockTime(LocalDateTime.now().minusHours(1));
+        when(userRepository.findByEmail("test@example.com"))
+            .thenReturn(Optional.of(testUser));
+        when(loginAttemptTracker.getLockDurationMs()).thenReturn(900_000L);
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername("test@example.com");
+
+        assertThat(userDetails.isAccountNonLocked()).isTrue();
+        verify(accountLockWriter).unlock("test@example.com");
+    }
+}
@@ -0,0 +1,63 @@
+package org.xhite.marketflex.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LoginAttemptTrackerTest {
+
+    private static final String IP = "203.0.113.7";
+    private static final long WINDOW_MS = 1_000;
+
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LoginAttemptTracker();
+        ReflectionTestUtils.setField(tracker, "maxFailuresPerEmail", 3);
+        ReflectionTestUtils.setField(tracker, "maxFailuresPerIp", 3);
+        ReflectionTestUtils.setField(tracker, "failureWindowMs", WINDOW_MS);
+        ReflectionTestUtils.setField(tracker, "lockDurationMs", 60_000L);
+        ReflectionTestUtils.setField(tracker, "maxTrackedKeys", 100L);
+        tracker.init();
+    }
+
+    @Test
+    void recordFailure_AtLimit_LocksEmailAndBlocksIp() {
+        assertThat(tracker.recordFailure("Shopper@Example.com", IP)).isZero();
+        assertThat(tracker.recordFailure("shopper@example.com", IP)).isZero();
+
+        assertThat(tracker.recordFailure("shopper@example.com ", IP)).isEqualTo(3);
+
+        assertThat(tracker.isLocked("shopper@example.com")).isTrue();
+        assertThat(tracker.blockedForMs("other@example.com", IP)).isPositive();
+    }
+
+    @Test
+    void recordFailure_AfterFirstFailureAgesOut_KeepsLaterFailuresInWindow() throws InterruptedException {
+        tracker.recordFailure("a@example.com", IP);
+        Thread.sleep(600);
+        tracker.recordFailure("b@example.com", IP);
+        tracker.recordFailure("c@example.com", IP);
+        Thread.sleep(600);
+
+        // The first failure has left the window, the two later ones are still in it
+        assertThat(tracker.blockedForMs("d@example.com", IP)).isZero();
+        tracker.recordFailure("d@example.com", IP);
+
+        assertThat(tracker.blockedForMs("e@example.com", IP)).isPositive();
+    }
+
+    @Test
+    void recordSuccess_ClearsEmailFailuresAndLock() {
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure("shopper@example.com", IP);
+        }
+
+        tracker.recordSuccess("shopper@example.com");
+
+        assertThat(tracker.isLocked("shopper@example.com")).isFalse();
+        assertThat(tracker.recordFailure("shopper@example.com", null)).isZero();
+    }
+}
@@ -0,0 +1,82 @@
+package org.xhite.marketflex.security;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private UserRateLimitFilter userFilter;
+
+    @BeforeEach
+    void setUp() {
+        ClientIpResolver clientIpResolver = new ClientIpResolver();
+        ReflectionTestUtils.setField(clientIpResolver, "trustedProxies", "169.254.0.0/16");
+        clientIpResolver.init();
+        filter = new RateLimitFilter(new ObjectMapper(), clientIpResolver);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxClients", 100L);
+        for (String route : new String[] {"auth", "search", "orders"}) {
+            ReflectionTestUtils.setField(filter, route + "Capacity", 2);
+            ReflectionTestUtils.setField(filter, route + "RefillPerMinute", 1);
+        }
+        filter.init();
+        userFilter = new UserRateLimitFilter(filter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void acquire_ForwardedClientsBehindOneProxy_GetSeparateBuckets() {
+        assertThat(filter.acquire(login("203.0.113.7"))).isZero();
+        assertThat(filter.acquire(login("203.0.113.7"))).isZero();
+        assertThat(filter.acquire(login("203.0.113.7"))).isPositive();
+
+        assertThat(filter.acquire(login("198.51.100.20"))).isZero();
+        assertThat(filter.acquire(login("198.51.100.20"))).isZero();
+    }
+
+    @Test
+    void userFilter_KeysByVerifiedSubject_NotByToken() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken("customer1@test.com", null, List.of()));
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(order("token-" + i).getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse limited = order("token-fresh");
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isNotNull();
+    }
+
+    private static MockHttpServletRequest login(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr("169.254.1.1");
+        request.addHeader(ClientIpResolver.FORWARDED_FOR, client);
+        return request;
+    }
+
+    private MockHttpServletResponse order(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        request.addHeader(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        userFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
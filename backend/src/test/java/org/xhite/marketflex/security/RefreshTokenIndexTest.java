@@ -0,0 +1,48 @@
+package org.xhite.marketflex.security;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.xhite.marketflex.security.RefreshTokenIndex.Entry;
+import org.xhite.marketflex.security.RefreshTokenIndex.Family;
+import org.xhite.marketflex.security.RefreshTokenIndex.TokenHash;
+
+class RefreshTokenIndexTest {
+
+    private final RefreshTokenIndex index = new RefreshTokenIndex(3);
+
+    @Test
+    void revokeFamily_FlagsEveryIndexedTokenOfThatFamilyOnly() {
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        UUID familyId = UUID.randomUUID();
+        Family family = index.family(familyId, expiresAt, false);
+        Family other = index.family(UUID.randomUUID(), expiresAt, false);
+        index.put(hash(1), new Entry("a@test.com", family, expiresAt, true));
+        index.put(hash(2), new Entry("a@test.com", family, expiresAt, false));
+        index.put(hash(3), new Entry("b@test.com", other, expiresAt, false));
+
+        index.revokeFamily(familyId);
+
+        assertThat(index.get(hash(2)).family().isRevoked()).isTrue();
+        assertThat(index.get(hash(3)).family().isRevoked()).isFalse();
+        assertThat(index.family(familyId, expiresAt, false)).isSameAs(family);
+    }
+
+    @Test
+    void put_BeyondMaxSizeOrPastExpiry_EvictsEntries() {
+        long now = System.currentTimeMillis();
+        Family family = index.family(UUID.randomUUID(), now + 60_000, false);
+        index.put(hash(1), new Entry("a@test.com", family, now - 1, false));
+        for (int i = 2; i <= 6; i++) {
+            index.put(hash(i), new Entry("a@test.com", family, now + 60_000, false));
+        }
+
+        assertThat(index.get(hash(1))).isNull();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    private static TokenHash hash(long value) {
+        return new TokenHash(value, 0, 0, 0);
+    }
+}
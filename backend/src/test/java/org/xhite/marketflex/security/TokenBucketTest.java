@@ -0,0 +1,56 @@
+package org.xhite.marketflex.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    @Test
+    void tryAcquire_WhenBurstExhausted_ReturnsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(3, 60, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+
+        // 60 per minute refills one token per second
+        assertThat(bucket.tryAcquire(0)).isEqualTo(1000);
+        assertThat(bucket.tryAcquire(400)).isEqualTo(600);
+        assertThat(bucket.tryAcquire(1000)).isZero();
+    }
+
+    @Test
+    void tryAcquire_WhenCalledFasterThanRefill_CarriesFractionalRefill() {
+        TokenBucket bucket = new TokenBucket(1, 10, 0);
+        assertThat(bucket.tryAcquire(0)).isZero();
+
+        // One token every 6 seconds; polling every 100 ms must not lose the partial refill
+        long granted = -1;
+        for (long now = 100; now <= 6000; now += 100) {
+            if (bucket.tryAcquire(now) == 0) {
+                granted = now;
+                break;
+            }
+        }
+        assertThat(granted).isEqualTo(6000);
+    }
+
+    @Test
+    void tryAcquire_AfterLongIdle_RefillsOnlyToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 60, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        long later = 3_600_000;
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void constructor_WhenCapacityDoesNotFitPackedState_Throws() {
+        assertThatThrownBy(() -> new TokenBucket(10_000, 60, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
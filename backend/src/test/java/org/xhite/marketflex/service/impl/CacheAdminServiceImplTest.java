@@ -0,0 +1,80 @@
+package org.xhite.marketflex.service.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.xhite.marketflex.config.CacheConfig;
+import org.xhite.marketflex.config.CacheNames;
+import org.xhite.marketflex.config.CacheReloader;
+import org.xhite.marketflex.dto.CacheStatsDto;
+import org.xhite.marketflex.exception.ResourceNotFoundException;
+
+class CacheAdminServiceImplTest {
+
+    private CacheManager cacheManager;
+
+    private CacheAdminServiceImpl cacheAdminService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager(new StaticListableBeanFactory().getBeanProvider(CacheReloader.class));
+        cacheAdminService = new CacheAdminServiceImpl(cacheManager);
+    }
+
+    @Test
+    void cacheManager_OnlyProvidesDeclaredCaches() {
+        assertThat(cacheManager.getCacheNames())
+            .containsExactlyInAnyOrder(CacheNames.CATEGORIES, CacheNames.PRODUCTS, CacheNames.RESPONSES);
+        assertThat(cacheManager.getCache("navbarCategories")).isNull();
+    }
+
+    @Test
+    void getCache_ReportsHitsMissesAndWeight() {
+        Cache products = cacheManager.getCache(CacheNames.PRODUCTS);
+        products.get(8, () -> Collections.nCopies(8, "product"));
+        products.get(8, () -> List.of());
+
+        CacheStatsDto stats = cacheAdminService.getCache(CacheNames.PRODUCTS);
+
+        assertThat(stats.async()).isTrue();
+        assertThat(stats.estimatedSize()).isEqualTo(1);
+        assertThat(stats.weightedSize()).isEqualTo(8);
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void clearCache_DropsEntriesOfThatCacheOnly() {
+        cacheManager.getCache(CacheNames.PRODUCTS).put(6, List.of("product"));
+        cacheManager.getCache(CacheNames.CATEGORIES).put("all", List.of("category"));
+
+        cacheAdminService.clearCache(CacheNames.PRODUCTS);
+
+        assertThat(cacheManager.getCache(CacheNames.PRODUCTS).get(6)).isNull();
+        assertThat(cacheManager.getCache(CacheNames.CATEGORIES).get("all")).isNotNull();
+        assertThatThrownBy(() -> cacheAdminService.clearCache("unknown"))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void clearCache_ClearsThroughSpringCacheSoOtherNodesAreTold() {
+        CacheManager manager = mock(CacheManager.class);
+        CaffeineCache products = mock(CaffeineCache.class);
+        when(manager.getCache(CacheNames.PRODUCTS)).thenReturn(products);
+
+        new CacheAdminServiceImpl(manager).clearCache(CacheNames.PRODUCTS);
+
+        verify(products).clear();
+    }
+}
@@ -0,0 +1,56 @@
+package org.xhite.marketflex.service.impl;
+
+import static org.xhite.marketflex.config.QueryCountAssertions.assertQueryCount;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.xhite.marketflex.MarketFlexApplication;
+import org.xhite.marketflex.config.CacheNames;
+import org.xhite.marketflex.service.CategoryService;
+
+/**
+ * Guards the statement count of category listing against the demo data, where several
+ * categories hold products: counting them must not load them one category at a time.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class CategoryServiceImplIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:17-alpine");
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(MarketFlexApplication.class)
+            .run("--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "--spring.datasource.username=" + POSTGRES.getUsername(),
+                "--spring.datasource.password=" + POSTGRES.getPassword(),
+                "--app.warmup.enabled=false",
+                "--app.images.gc.enabled=false");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void getAllCategories_CountsProductsInOneStatement_ThenServesFromCache() {
+        CategoryService categoryService = context.getBean(CategoryService.class);
+        context.getBean(CacheManager.class).getCache(CacheNames.CATEGORIES).clear();
+
+        assertQueryCount(2, categoryService::getAllCategories);
+        assertQueryCount(0, categoryService::getAllCategories);
+    }
+}
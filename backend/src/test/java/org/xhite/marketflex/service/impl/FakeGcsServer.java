@@ -0,0 +1,379 @@
+package org.xhite.marketflex.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the GCS JSON API. Covers what the storage client needs for
+ * resumable and multipart uploads, object metadata reads, listings and deletes, so
+ * storage code can be exercised over real HTTP without credentials or a network.
+ */
+final class FakeGcsServer implements AutoCloseable {
+
+    private static final String UPLOAD_PREFIX = "/upload/storage/v1/b/";
+    private static final String OBJECT_PREFIX = "/storage/v1/b/";
+
+    // Request bodies are drained through this so the server itself allocates little
+    private static final ThreadLocal<byte[]> READ_BUFFER = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger resumableChunks = new AtomicInteger();
+    private final AtomicInteger multipartUploads = new AtomicInteger();
+    private final AtomicLong generations = new AtomicLong();
+
+    private volatile boolean retainContent = true;
+    private volatile boolean corruptChecksums;
+
+    private FakeGcsServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        executor = Executors.newFixedThreadPool(4);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    static FakeGcsServer start() throws IOException {
+        FakeGcsServer fake = new FakeGcsServer();
+        fake.server.start();
+        return fake;
+    }
+
+    String endpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /** Keep only size and checksum of uploaded objects, e.g. when measuring client allocation. */
+    void retainContent(boolean retainContent) {
+        this.retainContent = retainContent;
+    }
+
+    /** Report a checksum that does not match the bytes received, as if the object was damaged. */
+    void corruptChecksums(boolean corruptChecksums) {
+        this.corruptChecksums = corruptChecksums;
+    }
+
+    byte[] content(String bucket, String name) {
+        StoredObject object = objects.get(bucket + "/" + name);
+        return object == null ? null : object.content();
+    }
+
+    boolean exists(String bucket, String name) {
+        return objects.containsKey(bucket + "/" + name);
+    }
+
+    /** Moves the object's update time into the past, as if it was written {@code age} ago. */
+    void backdate(String bucket, String name, Duration age) {
+        objects.computeIfPresent(bucket + "/" + name, (key, object) -> new StoredObject(object.bucket(),
+            object.name(), object.contentType(), object.content(), object.size(), object.crc32c(),
+            object.generation(), object.updated().minus(age)));
+    }
+
+    int objectCount() {
+        return objects.size();
+    }
+
+    int resumableChunks() {
+        return resumableChunks.get();
+    }
+
+    int multipartUploads() {
+        return multipartUploads.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getRawPath();
+            String method = exchange.getRequestMethod();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            if (path.startsWith(UPLOAD_PREFIX)) {
+                String bucket = path.substring(UPLOAD_PREFIX.length(), path.indexOf('/', UPLOAD_PREFIX.length()));
+                if ("PUT".equals(method) && query.containsKey("upload_id")) {
+                    putChunk(exchange, query.get("upload_id"));
+                } else if ("POST".equals(method) && "resumable".equals(query.get("uploadType"))) {
+                    startSession(exchange, bucket);
+                } else if ("POST".equals(method) && "multipart".equals(query.get("uploadType"))) {
+                    multipartUpload(exchange, bucket);
+                } else {
+                    sendError(exchange, 400, "Unsupported upload request");
+                }
+            } else if (path.startsWith(OBJECT_PREFIX) && path.endsWith("/o") && "GET".equals(method)) {
+                list(exchange, path.substring(OBJECT_PREFIX.length(), path.length() - 2), query);
+            } else if (path.startsWith(OBJECT_PREFIX) && path.contains("/o/")) {
+                String bucket = path.substring(OBJECT_PREFIX.length(), path.indexOf("/o/"));
+                String name = URLDecoder.decode(path.substring(path.indexOf("/o/") + 3), StandardCharsets.UTF_8);
+                StoredObject object = objects.get(bucket + "/" + name);
+                if (object == null) {
+                    sendError(exchange, 404, "No such object: " + bucket + "/" + name);
+                } else if ("GET".equals(method)) {
+                    sendJson(exchange, 200, object);
+                } else if ("DELETE".equals(method)) {
+                    objects.remove(bucket + "/" + name);
+                    exchange.sendResponseHeaders(204, -1);
+                } else {
+                    sendError(exchange, 405, "Method not allowed");
+                }
+            } else {
+                sendError(exchange, 404, "Not found");
+            }
+        }
+    }
+
+    private void startSession(HttpExchange exchange, String bucket) throws IOException {
+        JsonNode metadata = objectMapper.readTree(requestBody(exchange));
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, new Session(bucket, metadata.path("name").asText(), metadata.path("contentType").asText(null)));
+
+        exchange.getResponseHeaders().add("Location",
+            endpoint() + UPLOAD_PREFIX + bucket + "/o?uploadType=resumable&upload_id=" + id);
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void putChunk(HttpExchange exchange, String uploadId) throws IOException {
+        Session session = sessions.get(uploadId);
+        if (session == null) {
+            sendError(exchange, 404, "No such upload session");
+            return;
+        }
+        resumableChunks.incrementAndGet();
+
+        // "bytes first-last/total", "bytes first-last/*", "bytes */total" or "bytes */*"
+        String range = exchange.getRequestHeaders().getFirst("Content-Range");
+        String spec = range == null ? "*/*" : range.substring(range.indexOf(' ') + 1);
+        String totalSpec = spec.substring(spec.indexOf('/') + 1);
+
+        try (InputStream body = requestBody(exchange)) {
+            session.append(body, retainContent);
+        }
+
+        if (!"*".equals(totalSpec) && session.received == Long.parseLong(totalSpec)) {
+            sessions.remove(uploadId);
+            StoredObject object = store(session.bucket, session.name, session.contentType,
+                session.content(), session.received, session.crc32c.getValue());
+            sendJson(exchange, 200, object);
+            return;
+        }
+        if (session.received > 0) {
+            exchange.getResponseHeaders().add("Range", "bytes=0-" + (session.received - 1));
+        }
+        exchange.sendResponseHeaders(308, -1);
+    }
+
+    private void multipartUpload(HttpExchange exchange, String bucket) throws IOException {
+        multipartUploads.incrementAndGet();
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String boundary = contentType.substring(contentType.indexOf("boundary=") + 9).replace("\"", "");
+        byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        byte[] headerEnd = "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+        byte[] body;
+        try (InputStream in = requestBody(exchange)) {
+            body = in.readAllBytes();
+        }
+
+        // Part one is the JSON metadata, part two the media
+        int firstPart = indexOf(body, delimiter, 0);
+        int metadataStart = indexOf(body, headerEnd, firstPart) + headerEnd.length;
+        int secondPart = indexOf(body, delimiter, metadataStart);
+        int mediaStart = indexOf(body, headerEnd, secondPart) + headerEnd.length;
+        int mediaEnd = indexOf(body, delimiter, mediaStart) - 2;
+
+        JsonNode metadata = objectMapper.readTree(body, metadataStart, secondPart - metadataStart);
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(body, mediaStart, mediaEnd - mediaStart);
+        byte[] content = retainContent ? Arrays.copyOfRange(body, mediaStart, mediaEnd) : null;
+
+        StoredObject object = store(bucket, metadata.path("name").asText(), metadata.path("contentType").asText(null),
+            content, mediaEnd - mediaStart, crc32c.getValue());
+        sendJson(exchange, 200, object);
+    }
+
+    private void list(HttpExchange exchange, String bucket, Map<String, String> query) throws IOException {
+        String prefix = bucket + "/" + query.getOrDefault("prefix", "");
+        String after = query.containsKey("pageToken") ? bucket + "/" + query.get("pageToken") : "";
+        int maxResults = Integer.parseInt(query.getOrDefault("maxResults", "1000"));
+
+        List<String> keys = objects.keySet().stream()
+            .filter(key -> key.startsWith(prefix) && key.compareTo(after) > 0)
+            .sorted()
+            .toList();
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (String key : keys.subList(0, Math.min(maxResults, keys.size()))) {
+            StoredObject object = objects.get(key);
+            if (object != null) {
+                items.add(objectJson(object));
+            }
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("kind", "storage#objects");
+        json.put("items", items);
+        if (keys.size() > maxResults) {
+            json.put("nextPageToken", keys.get(maxResults - 1).substring(bucket.length() + 1));
+        }
+        sendJson(exchange, 200, json);
+    }
+
+    private StoredObject store(String bucket, String name, String contentType, byte[] content, long size, long crc) {
+        if (corruptChecksums) {
+            crc ^= 1;
+        }
+        StoredObject object = new StoredObject(bucket, name, contentType, content, size,
+            encodeCrc32c(crc), generations.incrementAndGet(), Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        objects.put(bucket + "/" + name, object);
+        return object;
+    }
+
+    private static InputStream requestBody(HttpExchange exchange) throws IOException {
+        InputStream body = exchange.getRequestBody();
+        return "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))
+            ? new GZIPInputStream(body) : body;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, StoredObject object) throws IOException {
+        sendJson(exchange, status, objectJson(object));
+    }
+
+    private static Map<String, Object> objectJson(StoredObject object) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("kind", "storage#object");
+        json.put("id", object.bucket() + "/" + object.name() + "/" + object.generation());
+        json.put("bucket", object.bucket());
+        json.put("name", object.name());
+        json.put("generation", Long.toString(object.generation()));
+        json.put("metageneration", "1");
+        if (object.contentType() != null) {
+            json.put("contentType", object.contentType());
+        }
+        json.put("size", Long.toString(object.size()));
+        json.put("crc32c", object.crc32c());
+        json.put("updated", object.updated().toString());
+        return json;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Map<String, Object> json) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(json);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(
+            Map.of("error", Map.of("code", status, "message", message)));
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle, int from) {
+        outer:
+        for (int i = from; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalArgumentException("Malformed multipart body");
+    }
+
+    static String encodeCrc32c(long crc) {
+        int value = (int) crc;
+        return Base64.getEncoder().encodeToString(
+            new byte[] { (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value });
+    }
+
+    private record StoredObject(String bucket, String name, String contentType, byte[] content, long size,
+                                String crc32c, long generation, Instant updated) {
+    }
+
+    private static final class Session {
+        private final String bucket;
+        private final String name;
+        private final String contentType;
+        private final CRC32C crc32c = new CRC32C();
+        private ByteArrayOutputStream content;
+        private long received;
+
+        private Session(String bucket, String name, String contentType) {
+            this.bucket = bucket;
+            this.name = name;
+            this.contentType = contentType;
+        }
+
+        private synchronized void append(InputStream body, boolean retain) throws IOException {
+            if (retain && content == null) {
+                content = new ByteArrayOutputStream();
+            }
+            byte[] buffer = READ_BUFFER.get();
+            int read;
+            while ((read = body.read(buffer)) > 0) {
+                crc32c.update(buffer, 0, read);
+                if (content != null) {
+                    content.write(buffer, 0, read);
+                }
+                received += read;
+            }
+        }
+
+        private byte[] content() {
+            return content == null ? null : content.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.xhite.marketflex.service.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.xhite.marketflex.config.FlightEvents;
+import org.xhite.marketflex.dto.FlightRecordingDto;
+import org.xhite.marketflex.exception.BusinessException;
+import org.xhite.marketflex.exception.ResourceNotFoundException;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecordingServiceImplTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FlightRecordingServiceImpl flightRecordingService;
+
+    @BeforeEach
+    void setUp() {
+        flightRecordingService = new FlightRecordingServiceImpl(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(flightRecordingService, "baseSettings", "default");
+        ReflectionTestUtils.setField(flightRecordingService, "eventsSettings", "classpath:jfr/marketflex.jfc");
+        ReflectionTestUtils.setField(flightRecordingService, "maxDurationMinutes", 30);
+        ReflectionTestUtils.setField(flightRecordingService, "maxSizeMb", 250L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecordingService.close();
+    }
+
+    @Test
+    void start_CapsDurationAndRejectsSecondRecording() {
+        FlightRecordingDto started = flightRecordingService.start(120);
+
+        assertThat(started.state()).isEqualTo("RUNNING");
+        assertThat(started.maxDurationSeconds()).isEqualTo(30 * 60);
+        assertThat(started.maxSizeBytes()).isEqualTo(250L * 1024 * 1024);
+        assertThatThrownBy(() -> flightRecordingService.start(5))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void writeTo_ContainsBusinessEventsRecordedMeanwhile() throws Exception {
+        flightRecordingService.start(5);
+        FlightEvents.StockDecrement.start().record(7, 3, 42);
+        FlightEvents.CheckoutPhase.start("validate").record(12, 0, 2);
+        flightRecordingService.stop();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        flightRecordingService.writeTo(out);
+        Path file = Files.write(tempDir.resolve("recording.jfr"), out.toByteArray());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().startsWith("marketflex."))
+            .toList();
+
+        assertThat(events).extracting(event -> event.getEventType().getName())
+            .contains("marketflex.StockDecrement", "marketflex.CheckoutPhase");
+        RecordedEvent decrement = events.stream()
+            .filter(event -> event.getEventType().getName().equals("marketflex.StockDecrement"))
+            .findFirst().orElseThrow();
+        assertThat(decrement.getLong("productId")).isEqualTo(7);
+        assertThat(decrement.getInt("newStock")).isEqualTo(42);
+    }
+
+    @Test
+    void discard_LeavesNoRecording() {
+        flightRecordingService.start(null);
+
+        flightRecordingService.discard();
+
+        assertThatThrownBy(flightRecordingService::getCurrent)
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(flightRecordingService::discard)
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,167 @@
+package org.xhite.marketflex.service.impl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.xhite.marketflex.exception.StorageBusyException;
+import org.xhite.marketflex.exception.StorageException;
+
+class GcsStorageServiceTest {
+
+    private static final String BUCKET = "test-bucket";
+
+    private FakeGcsServer gcs;
+
+    private InMemoryStoredFileReferences storedFiles;
+
+    private GcsStorageService storageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gcs = FakeGcsServer.start();
+        storedFiles = new InMemoryStoredFileReferences();
+        storageService = newStorageService(gcs, storedFiles, 2, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gcs.close();
+    }
+
+    static GcsStorageService newStorageService(FakeGcsServer gcs, StoredFileReferences storedFiles,
+                                               int maxConcurrent, long acquireTimeoutMs) {
+        GcsStorageService service = new GcsStorageService(storedFiles);
+        ReflectionTestUtils.setField(service, "bucketName", BUCKET);
+        ReflectionTestUtils.setField(service, "projectId", "test-project");
+        ReflectionTestUtils.setField(service, "endpoint", gcs.endpoint());
+        ReflectionTestUtils.setField(service, "chunkSize", 256 * 1024);
+        ReflectionTestUtils.setField(service, "maxConcurrentUploads", maxConcurrent);
+        ReflectionTestUtils.setField(service, "acquireTimeoutMs", acquireTimeoutMs);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void store_WhenFileSpansSeveralChunks_StreamsItThroughResumableUpload() {
+        byte[] content = randomBytes(3 * 256 * 1024 + 1234);
+
+        String url = storageService.store(new MockMultipartFile("imageFile", "photo.jpg", "image/jpeg", content));
+
+        String prefix = gcs.endpoint() + "/" + BUCKET + "/";
+        assertThat(url).startsWith(prefix + "products/").endsWith(".jpg");
+        assertThat(gcs.content(BUCKET, url.substring(prefix.length()))).isEqualTo(content);
+        assertThat(gcs.resumableChunks()).isGreaterThanOrEqualTo(4);
+        assertThat(gcs.multipartUploads()).isZero();
+    }
+
+    @Test
+    void store_WhenFileIsExactMultipleOfChunk_CompletesUpload() {
+        byte[] content = randomBytes(2 * 256 * 1024);
+
+        String url = storageService.store(new MockMultipartFile("imageFile", "photo.png", "image/png", content));
+
+        String name = url.substring((gcs.endpoint() + "/" + BUCKET + "/").length());
+        assertThat(gcs.content(BUCKET, name)).isEqualTo(content);
+    }
+
+    @Test
+    void store_WhenStoredChecksumDiffers_DeletesObjectAndFails() {
+        gcs.corruptChecksums(true);
+
+        assertThatThrownBy(() -> storageService.store(
+                new MockMultipartFile("imageFile", "photo.jpg", "image/jpeg", randomBytes(10_000))))
+            .isInstanceOf(StorageException.class)
+            .hasMessageContaining("checksum");
+        assertThat(gcs.objectCount()).isZero();
+    }
+
+    @Test
+    void store_WhenAllUploadSlotsAreBusy_FailsFast() throws Exception {
+        GcsStorageService singleSlot = newStorageService(gcs, storedFiles, 1, 50);
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockMultipartFile slow = new MockMultipartFile("imageFile", "slow.jpg", "image/jpeg", randomBytes(1_000)) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        reading.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return super.read(b, off, len);
+                    }
+                };
+            }
+        };
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleSlot.store(slow));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> singleSlot.store(
+                new MockMultipartFile("imageFile", "other.jpg", "image/jpeg", randomBytes(1_000))))
+            .isInstanceOf(StorageBusyException.class);
+
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).endsWith(".jpg");
+        // The slot is returned once the first upload completes
+        assertThat(singleSlot.store(new MockMultipartFile("imageFile", "next.jpg", "image/jpeg", randomBytes(1_000))))
+            .endsWith(".jpg");
+    }
+
+    @Test
+    void store_WhenContentWasUploadedBefore_ReusesObjectWithoutUploading() {
+        byte[] content = randomBytes(300 * 1024);
+        String first = storageService.store(new MockMultipartFile("imageFile", "a.jpg", "image/jpeg", content));
+        int chunksAfterFirst = gcs.resumableChunks();
+
+        String second = storageService.store(new MockMultipartFile("imageFile", "b.JPG", "image/jpeg", content));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(gcs.resumableChunks()).isEqualTo(chunksAfterFirst);
+        assertThat(gcs.objectCount()).isEqualTo(1);
+    }
+
+    @Test
+    void delete_WhenContentIsStillReferenced_KeepsObjectUntilLastRelease() {
+        byte[] content = randomBytes(1_000);
+        String url = storageService.store(new MockMultipartFile("imageFile", "a.jpg", "image/jpeg", content));
+        storageService.store(new MockMultipartFile("imageFile", "b.jpg", "image/jpeg", content));
+
+        storageService.delete(url);
+        assertThat(gcs.objectCount()).isEqualTo(1);
+
+        storageService.delete(url);
+        assertThat(gcs.objectCount()).isZero();
+    }
+
+    @Test
+    void delete_RemovesObjectBehindPublicUrl() {
+        String url = storageService.store(new MockMultipartFile("imageFile", "photo.jpg", "image/jpeg", randomBytes(100)));
+
+        storageService.delete(url);
+
+        assertThat(gcs.objectCount()).isZero();
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
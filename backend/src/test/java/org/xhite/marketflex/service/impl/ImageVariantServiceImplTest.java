@@ -0,0 +1,106 @@
+package org.xhite.marketflex.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.xhite.marketflex.model.enums.ImageVariant;
+import org.xhite.marketflex.service.FileStorageService;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantServiceImplTest {
+
+    private static final String IMAGE_URL = "/uploads/photo.png";
+
+    @Mock
+    private FileStorageService storageService;
+
+    private ImageVariantServiceImpl imageVariantService;
+
+    private final Map<ImageVariant, BufferedImage> stored = new EnumMap<>(ImageVariant.class);
+
+    @BeforeEach
+    void setUp() {
+        imageVariantService = new ImageVariantServiceImpl(storageService);
+        ReflectionTestUtils.setField(imageVariantService, "jpegQuality", 0.82f);
+        ReflectionTestUtils.setField(imageVariantService, "maxPixels", 50_000_000L);
+    }
+
+    @Test
+    void createVariants_WhenImageIsLarge_ScalesEachVariantKeepingAspectRatio() throws IOException {
+        givenStoredImage(png(3000, 1500));
+
+        Map<ImageVariant, String> urls = imageVariantService.createVariants(IMAGE_URL);
+
+        assertThat(urls).containsEntry(ImageVariant.THUMB, "/uploads/photo-thumb.jpg")
+            .containsKeys(ImageVariant.CARD, ImageVariant.DETAIL);
+        assertThat(dimensions(ImageVariant.DETAIL)).containsExactly(1200, 600);
+        assertThat(dimensions(ImageVariant.CARD)).containsExactly(480, 240);
+        assertThat(dimensions(ImageVariant.THUMB)).containsExactly(200, 100);
+    }
+
+    @Test
+    void createVariants_WhenImageIsSmall_NeverUpscales() throws IOException {
+        givenStoredImage(png(300, 400));
+
+        imageVariantService.createVariants(IMAGE_URL);
+
+        assertThat(dimensions(ImageVariant.DETAIL)).containsExactly(300, 400);
+        assertThat(dimensions(ImageVariant.CARD)).containsExactly(300, 400);
+        assertThat(dimensions(ImageVariant.THUMB)).containsExactly(150, 200);
+    }
+
+    @Test
+    void createVariants_WhenFormatIsNotDecodable_ReturnsNoVariants() {
+        when(storageService.load(IMAGE_URL)).thenReturn(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }));
+
+        assertThat(imageVariantService.createVariants(IMAGE_URL)).isEmpty();
+        verify(storageService, never()).storeVariant(anyString(), any(), any(), anyString());
+    }
+
+    private void givenStoredImage(byte[] image) {
+        when(storageService.load(IMAGE_URL)).thenReturn(new ByteArrayInputStream(image));
+        when(storageService.storeVariant(eq(IMAGE_URL), any(), any(), eq("image/jpeg"))).thenAnswer(invocation -> {
+            ImageVariant variant = invocation.getArgument(1);
+            stored.put(variant, ImageIO.read(new ByteArrayInputStream(invocation.<byte[]>getArgument(2))));
+            return FileStorageService.variantName(IMAGE_URL, variant);
+        });
+    }
+
+    private int[] dimensions(ImageVariant variant) {
+        BufferedImage image = stored.get(variant);
+        return new int[] { image.getWidth(), image.getHeight() };
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        // Transparent background to exercise flattening onto white
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillOval(width / 4, height / 4, width / 2, height / 2);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
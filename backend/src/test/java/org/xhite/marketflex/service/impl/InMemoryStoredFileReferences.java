@@ -0,0 +1,61 @@
+package org.xhite.marketflex.service.impl;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link StoredFileReferences} without a database, for exercising storage backends.
+ */
+class InMemoryStoredFileReferences extends StoredFileReferences {
+
+    private final Map<String, String> keysByHash = new ConcurrentHashMap<>();
+    private final Map<String, Integer> referencesByKey = new ConcurrentHashMap<>();
+
+    InMemoryStoredFileReferences() {
+        super(null);
+    }
+
+    @Override
+    public synchronized Optional<String> acquire(String contentHash) {
+        String key = keysByHash.get(contentHash);
+        if (key != null) {
+            referencesByKey.merge(key, 1, Integer::sum);
+        }
+        return Optional.ofNullable(key);
+    }
+
+    @Override
+    public synchronized String register(String contentHash, String objectKey, String contentType, long sizeBytes) {
+        String key = keysByHash.computeIfAbsent(contentHash, h -> objectKey);
+        referencesByKey.merge(key, 1, Integer::sum);
+        return key;
+    }
+
+    @Override
+    public synchronized void release(String objectKey, Runnable deleteObject) {
+        Integer references = referencesByKey.get(objectKey);
+        if (references == null) {
+            deleteObject.run();
+        } else if (references == 1) {
+            referencesByKey.remove(objectKey);
+            keysByHash.values().remove(objectKey);
+            deleteObject.run();
+        } else {
+            referencesByKey.put(objectKey, references - 1);
+        }
+    }
+
+    @Override
+    public synchronized boolean sweep(String objectKey, Instant cutoff, Runnable deleteObject) {
+        deleteObject.run();
+        referencesByKey.remove(objectKey);
+        keysByHash.values().remove(objectKey);
+        return true;
+    }
+
+    int references(String objectKey) {
+        return referencesByKey.getOrDefault(objectKey, 0);
+    }
+}
@@ -0,0 +1,113 @@
+package org.xhite.marketflex.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.xhite.marketflex.model.enums.ImageVariant;
+import org.xhite.marketflex.repository.CategoryRepository;
+import org.xhite.marketflex.repository.ProductRepository;
+import org.xhite.marketflex.service.OrphanedImageCollector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrphanedImageCollectorImplTest {
+
+    private static final String BUCKET = "test-bucket";
+
+    private FakeGcsServer gcs;
+
+    private GcsStorageService storageService;
+
+    private ProductRepository productRepository;
+
+    private CategoryRepository categoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OrphanedImageCollectorImpl collector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gcs = FakeGcsServer.start();
+        InMemoryStoredFileReferences storedFiles = new InMemoryStoredFileReferences();
+        storageService = GcsStorageServiceTest.newStorageService(gcs, storedFiles, 2, 5_000);
+        productRepository = mock(ProductRepository.class);
+        categoryRepository = mock(CategoryRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        collector = new OrphanedImageCollectorImpl(productRepository, categoryRepository, storageService,
+                storedFiles, mock(PlatformTransactionManager.class), meterRegistry);
+        ReflectionTestUtils.setField(collector, "gracePeriodHours", 24L);
+        // Smaller than the object count so the sweep spans several listing pages
+        ReflectionTestUtils.setField(collector, "pageSize", 2);
+        ReflectionTestUtils.setField(collector, "parallelism", 2);
+        collector.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gcs.close();
+    }
+
+    @Test
+    void collect_DeletesOnlyUnreferencedImagesOlderThanGracePeriod() {
+        String live = store("live.jpg", 1);
+        String liveThumb = storageService.storeVariant(live, ImageVariant.THUMB, new byte[] {1}, "image/jpeg");
+        String orphan = store("orphan.jpg", 2);
+        String orphanThumb = storageService.storeVariant(orphan, ImageVariant.THUMB, new byte[] {2}, "image/jpeg");
+        String recent = store("recent.jpg", 3);
+        for (String url : new String[] {live, liveThumb, orphan, orphanThumb}) {
+            gcs.backdate(BUCKET, blobName(url), Duration.ofDays(2));
+        }
+        when(productRepository.streamImageUrls()).thenAnswer(invocation -> Stream.of(live, liveThumb));
+        when(categoryRepository.streamImageUrls())
+            .thenAnswer(invocation -> Stream.of("https://images.example.com/banner.jpg"));
+
+        OrphanedImageCollector.Result result = collector.collect(false);
+
+        assertThat(result.scanned()).isEqualTo(5);
+        assertThat(result.orphaned()).isEqualTo(2);
+        assertThat(result.deleted()).isEqualTo(2);
+        assertThat(gcs.exists(BUCKET, blobName(orphan))).isFalse();
+        assertThat(gcs.exists(BUCKET, blobName(orphanThumb))).isFalse();
+        assertThat(gcs.exists(BUCKET, blobName(live))).isTrue();
+        assertThat(gcs.exists(BUCKET, blobName(liveThumb))).isTrue();
+        assertThat(gcs.exists(BUCKET, blobName(recent))).isTrue();
+        assertThat(meterRegistry.counter("images.gc.deleted").count()).isEqualTo(2);
+    }
+
+    @Test
+    void collect_InDryRun_KeepsOrphans() {
+        String orphan = store("orphan.jpg", 4);
+        gcs.backdate(BUCKET, blobName(orphan), Duration.ofDays(2));
+        when(productRepository.streamImageUrls()).thenAnswer(invocation -> Stream.empty());
+        when(categoryRepository.streamImageUrls()).thenAnswer(invocation -> Stream.empty());
+
+        OrphanedImageCollector.Result result = collector.collect(true);
+
+        assertThat(result.orphaned()).isEqualTo(1);
+        assertThat(result.deleted()).isZero();
+        assertThat(gcs.exists(BUCKET, blobName(orphan))).isTrue();
+    }
+
+    private String store(String filename, int seed) {
+        byte[] content = new byte[1_000];
+        new Random(seed).nextBytes(content);
+        return storageService.store(new MockMultipartFile("imageFile", filename, "image/jpeg", content));
+    }
+
+    private String blobName(String url) {
+        return url.substring((gcs.endpoint() + "/" + BUCKET + "/").length());
+    }
+}
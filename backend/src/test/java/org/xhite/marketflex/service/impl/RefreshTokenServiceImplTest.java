@@ -0,0 +1,165 @@
+package org.xhite.marketflex.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.xhite.marketflex.dto.TokenPair;
+import org.xhite.marketflex.exception.UnauthorizedException;
+import org.xhite.marketflex.model.AppUser;
+import org.xhite.marketflex.model.RefreshToken;
+import org.xhite.marketflex.model.enums.Role;
+import org.xhite.marketflex.repository.RefreshTokenRepository;
+import org.xhite.marketflex.repository.UserRepository;
+import org.xhite.marketflex.security.JwtTokenProvider;
+import org.xhite.marketflex.security.LoginAttemptTracker;
+import org.xhite.marketflex.security.RefreshTokenIndex;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
+
+    private RefreshTokenIndex refreshTokenIndex;
+
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    private AppUser testUser;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenIndex = new RefreshTokenIndex(1_000);
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, refreshTokenIndex, tokenProvider,
+            userRepository, loginAttemptTracker);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 60_000L);
+        ReflectionTestUtils.setField(refreshTokenService, "familyMaxAgeMs", 600_000L);
+        ReflectionTestUtils.setField(refreshTokenService, "cleanupBatchSize", 500);
+
+        testUser = AppUser.builder()
+            .email("test@example.com")
+            .password("encodedPassword")
+            .roles(Set.of(Role.CUSTOMER))
+            .build();
+    }
+
+    @Test
+    void rotate_WhenTokenIsCurrent_ReturnsNewPairFromIndex() {
+        String issued = refreshTokenService.issue(testUser);
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any())).thenReturn(Optional.of("CUSTOMER"));
+        when(tokenProvider.generateToken(eq("test@example.com"), any())).thenReturn("access");
+
+        TokenPair pair = refreshTokenService.rotate(issued);
+
+        assertThat(pair.accessToken()).isEqualTo("access");
+        assertThat(pair.refreshToken()).isNotEqualTo(issued);
+        assertThat(pair.email()).isEqualTo("test@example.com");
+        assertThat(refreshTokenIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rotate_WhenRotatedTokenIsReplayed_RevokesFamily() {
+        String issued = refreshTokenService.issue(testUser);
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any())).thenReturn(Optional.of("CUSTOMER"));
+        when(tokenProvider.generateToken(eq("test@example.com"), any())).thenReturn("access");
+        TokenPair pair = refreshTokenService.rotate(issued);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(issued))
+            .isInstanceOf(UnauthorizedException.class)
+            .hasMessageContaining("reuse");
+        verify(refreshTokenRepository).revokeFamily(any());
+
+        // The successor belongs to the revoked family and is no longer usable
+        assertThatThrownBy(() -> refreshTokenService.rotate(pair.refreshToken()))
+            .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void rotate_WhenDatabaseRejectsRotation_TreatsAsReuse() {
+        String issued = refreshTokenService.issue(testUser);
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any())).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(issued))
+            .isInstanceOf(UnauthorizedException.class);
+        verify(refreshTokenRepository).revokeFamily(any());
+    }
+
+    @Test
+    void rotate_SignsAccessTokenWithRolesReturnedByRotation() {
+        String issued = refreshTokenService.issue(testUser);
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any())).thenReturn(Optional.of("MANAGER,VENDOR"));
+        when(tokenProvider.generateToken(eq("test@example.com"), any())).thenReturn("access");
+
+        refreshTokenService.rotate(issued);
+
+        verify(tokenProvider).generateToken("test@example.com", List.of("ROLE_MANAGER", "ROLE_VENDOR"));
+        // Roles and account state come back from the rotation statement itself
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rotate_WhenUserDisabledOrLocked_RevokesFamily() {
+        String disabled = refreshTokenService.issue(testUser);
+        testUser.setEnabled(false);
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any())).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(disabled))
+            .isInstanceOf(UnauthorizedException.class)
+            .hasMessageContaining("disabled or locked");
+        verify(refreshTokenRepository).revokeFamily(any());
+
+        testUser.setEnabled(true);
+        String locked = refreshTokenService.issue(testUser);
+        when(loginAttemptTracker.isLocked("test@example.com")).thenReturn(true);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(locked))
+            .isInstanceOf(UnauthorizedException.class);
+        // Revoked families are refused from the index without asking the table again
+        assertThatThrownBy(() -> refreshTokenService.rotate(disabled))
+            .isInstanceOf(UnauthorizedException.class)
+            .hasMessageContaining("revoked");
+    }
+
+    @Test
+    void rotate_NeverExtendsPastFamilyExpiry() {
+        ReflectionTestUtils.setField(refreshTokenService, "familyMaxAgeMs", 60_000L);
+        String issued = refreshTokenService.issue(testUser);
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        when(refreshTokenRepository.rotate(anyString(), anyString(), any())).thenReturn(Optional.of("CUSTOMER"));
+        when(tokenProvider.generateToken(eq("test@example.com"), any())).thenReturn("access");
+
+        refreshTokenService.rotate(issued);
+
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(refreshTokenRepository).rotate(anyString(), anyString(), expiresAt.capture());
+        assertThat(expiresAt.getValue()).isEqualTo(saved.getValue().getFamilyExpiresAt());
+    }
+}
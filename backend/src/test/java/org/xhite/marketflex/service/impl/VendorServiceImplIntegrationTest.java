@@ -0,0 +1,93 @@
+package org.xhite.marketflex.service.impl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.xhite.marketflex.MarketFlexApplication;
+import static org.xhite.marketflex.config.QueryCountAssertions.assertQueryCount;
+import org.xhite.marketflex.service.VendorService;
+
+/**
+ * Guards the statement count of a vendor's order list against the demo data: the items'
+ * orders, customers and products must come with the items, not one row at a time.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class VendorServiceImplIntegrationTest {
+
+    private static final String VENDOR_EMAIL = "techguru@vendor.com";
+
+    @Container
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:17-alpine");
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() {
+        context = new SpringApplicationBuilder(MarketFlexApplication.class)
+            .run("--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "--spring.datasource.username=" + POSTGRES.getUsername(),
+                "--spring.datasource.password=" + POSTGRES.getPassword(),
+                "--app.warmup.enabled=false",
+                "--app.images.gc.enabled=false");
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getVendorOrders_LoadsOrdersCustomersAndProductsWithTheItems() {
+        VendorService vendorService = context.getBean(VendorService.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Long vendorId = jdbc.queryForObject(
+            "SELECT v.id FROM vendors v JOIN app_users u ON u.id = v.user_id WHERE u.email = ? ORDER BY v.id LIMIT 1",
+            Long.class, VENDOR_EMAIL);
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(VENDOR_EMAIL, null, List.of()));
+
+        placeOrder(jdbc, vendorId, "customer1@test.com");
+        assertQueryCount(4, () -> assertThat(vendorService.getVendorOrders(vendorId)).hasSize(1));
+
+        // More orders from more customers must not add statements
+        placeOrder(jdbc, vendorId, "customer2@test.com");
+        placeOrder(jdbc, vendorId, "customer3@test.com");
+        assertQueryCount(4, () -> assertThat(vendorService.getVendorOrders(vendorId))
+            .hasSize(3)
+            .allSatisfy(order -> assertThat(order.items()).hasSize(2)));
+    }
+
+    /** Places a paid order from {@code customerEmail} for two of the vendor's products. */
+    private static void placeOrder(JdbcTemplate jdbc, Long vendorId, String customerEmail) {
+        Long orderId = jdbc.queryForObject("""
+                INSERT INTO orders (user_id, status, total_price, shipping_address, payment_method, created_at)
+                SELECT id, 'PAID', 100.00, '1 Test Street', 'CREDIT_CARD', now() FROM app_users WHERE email = ?
+                RETURNING id
+                """, Long.class, customerEmail);
+        jdbc.update("""
+                INSERT INTO order_items (order_id, product_id, vendor_id, quantity, price, created_at)
+                SELECT ?, id, vendor_id, 1, 50.00, now() FROM products WHERE vendor_id = ? ORDER BY id LIMIT 2
+                """, orderId, vendorId);
+    }
+}
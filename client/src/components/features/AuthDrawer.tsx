@@ -29,6 +29,7 @@ type RegisterFormData = z.infer<typeof registerSchema>;
 
 interface AuthResponse {
   token: string;
+  refreshToken: string;
   email: string;
   firstName: string;
   lastName: string;
@@ -56,8 +57,8 @@ export function AuthDrawer() {
     setError(null);
     try {
       const response = await api.post<AuthResponse>('/auth/login', data);
-      const { token, email, firstName, lastName, role } = response.data;
-      login({ email, firstName, lastName, role }, token);
+      const { token, refreshToken, email, firstName, lastName, role } = response.data;
+      login({ email, firstName, lastName, role }, token, refreshToken);
       closeAuthDrawer();
       loginForm.reset();
     } catch {
@@ -69,8 +70,8 @@ export function AuthDrawer() {
     setError(null);
     try {
       const response = await api.post<AuthResponse>('/auth/register', data);
-      const { token, email, firstName, lastName, role } = response.data;
-      login({ email, firstName, lastName, role }, token);
+      const { token, refreshToken, email, firstName, lastName, role } = response.data;
+      login({ email, firstName, lastName, role }, token, refreshToken);
       closeAuthDrawer();
       registerForm.reset();
     } catch {
@@ -31,7 +31,7 @@ export function ProductCard({ product, variant = 'default' }: ProductCardProps)
       id: String(product.id),
       name: product.name,
       price: product.price,
-      image: getImageUrl(product.imageUrl),
+      image: getImageUrl(product.thumbnailUrl ?? product.imageUrl),
       vendor: product.vendorStoreName || 'MarketFlex',
     });
     openCartDrawer();
@@ -50,7 +50,7 @@ export function ProductCard({ product, variant = 'default' }: ProductCardProps)
         <Link to={`/product/${product.id}`} className="flex-shrink-0">
           <div className="w-20 h-20 rounded-lg overflow-hidden bg-slate-800">
             <img
-              src={getImageUrl(product.imageUrl)}
+              src={getImageUrl(product.thumbnailUrl ?? product.imageUrl)}
               alt={product.name}
               className="w-full h-full object-cover group-hover:scale-105 transition-transform"
             />
@@ -84,7 +84,7 @@ export function ProductCard({ product, variant = 'default' }: ProductCardProps)
       {/* Image */}
       <Link to={`/product/${product.id}`} className="block relative aspect-square overflow-hidden">
         <img
-          src={getImageUrl(product.imageUrl)}
+          src={getImageUrl(product.cardImageUrl ?? product.imageUrl)}
           alt={product.name}
           className="w-full h-full object-cover group-hover:scale-105 transition-transform duration-500"
         />
@@ -11,6 +11,10 @@ export interface Product {
   categoryId: number;
   categoryName: string;
   imageUrl: string;
+  // Resized variants; the backend falls back to imageUrl until they are generated
+  thumbnailUrl?: string;
+  cardImageUrl?: string;
+  detailImageUrl?: string;
   active: boolean;
   vendorId?: number;
   vendorStoreName?: string;
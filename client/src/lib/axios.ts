@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { useAuthStore } from '../store/authStore';
 
 const api = axios.create({
   baseURL: import.meta.env.VITE_API_URL || 'http://localhost:8080/api/v1',
@@ -26,13 +27,44 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+// Refresh tokens rotate on every use, so concurrent 401s must share one refresh call;
+// a second call with the same token would be treated as reuse and revoke the session.
+let refreshPromise: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!refreshPromise) {
+    const { refreshToken, setTokens } = useAuthStore.getState();
+    refreshPromise = axios
+      .post(`${api.defaults.baseURL}/auth/refresh`, { refreshToken })
+      .then((response) => {
+        setTokens(response.data.token, response.data.refreshToken);
+        return response.data.token as string;
+      })
+      .finally(() => {
+        refreshPromise = null;
+      });
+  }
+  return refreshPromise;
+};
+
 // Response interceptor for handling auth errors
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
-    // Only clear auth on 401 if there was a token sent (actual auth failure)
+  async (error) => {
+    const original = error.config;
+    // Only handle 401 if there was a token sent (actual auth failure)
     // Don't trigger redirect - let components handle auth state
-    if (error.response?.status === 401 && error.config?.headers?.Authorization) {
+    if (error.response?.status === 401 && original?.headers?.Authorization) {
+      if (!original._retry && useAuthStore.getState().refreshToken) {
+        original._retry = true;
+        try {
+          const token = await refreshAccessToken();
+          original.headers.Authorization = `Bearer ${token}`;
+          return api(original);
+        } catch {
+          // Refresh token expired or revoked, fall through to logout
+        }
+      }
       localStorage.removeItem('auth-storage');
       // Reload to reflect logged out state (only if auth was actually attempted)
       window.location.reload();
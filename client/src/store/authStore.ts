@@ -1,6 +1,7 @@
 import { create } from 'zustand';
 import { persist } from 'zustand/middleware';
 import { useCartStore } from './cartStore';
+import api from '../lib/axios';
 
 export interface User {
   email: string;
@@ -18,36 +19,49 @@ export interface User {
 export interface AuthState {
   user: User | null;
   token: string | null;
+  refreshToken: string | null;
   isAuthenticated: boolean;
-  login: (user: User, token: string) => void;
+  login: (user: User, token: string, refreshToken: string) => void;
   logout: () => void;
+  setTokens: (token: string, refreshToken: string) => void;
   updateUser: (user: User) => void;
 }
 
 export const useAuthStore = create<AuthState>()(
   persist(
-    (set) => ({
+    (set, get) => ({
       user: null,
       token: null,
+      refreshToken: null,
       isAuthenticated: false,
-      login: (user, token) => {
+      login: (user, token, refreshToken) => {
         set({
           user,
           token,
+          refreshToken,
           isAuthenticated: true,
         });
         // Sync cart on login - pushes local items first, then fetches merged cart
         useCartStore.getState().syncCartOnLogin();
       },
       logout: () => {
+        // Revoke the refresh token family server-side; local state is cleared regardless
+        const { refreshToken } = get();
+        if (refreshToken) {
+          api.post('/auth/logout', { refreshToken }).catch(() => {});
+        }
         // Clear cart on logout
         useCartStore.getState().clearCart();
         set({
           user: null,
           token: null,
+          refreshToken: null,
           isAuthenticated: false,
         });
       },
+      setTokens: (token, refreshToken) => {
+        set({ token, refreshToken });
+      },
       updateUser: (user) => {
         set({ user });
       },